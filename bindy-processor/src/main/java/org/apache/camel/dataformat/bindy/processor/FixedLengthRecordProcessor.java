@@ -0,0 +1,634 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.camel.dataformat.bindy.processor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+import org.apache.camel.dataformat.bindy.FixedLengthRecordParser;
+import org.apache.camel.dataformat.bindy.annotation.BindyConstructor;
+import org.apache.camel.dataformat.bindy.annotation.BindyConverter;
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+import org.apache.camel.dataformat.bindy.annotation.FixedLengthRecord;
+import org.apache.camel.dataformat.bindy.annotation.Link;
+import org.apache.camel.dataformat.bindy.annotation.OneToMany;
+import org.apache.camel.dataformat.bindy.processor.RecordModel.FieldModel;
+import org.apache.camel.dataformat.bindy.processor.RecordModel.LinkModel;
+
+/**
+ * Generates a {@link FixedLengthRecordParser} for each {@code @FixedLengthRecord} class, which binds the records
+ * with straight-line code: no reflection is left when parsing.
+ * <p>
+ * The layout of the record is validated: overlapping or duplicate {@code @DataField} positions, fields ending beyond
+ * the {@code length} of the record and {@code lengthPos} values which do not match a field are compile errors.
+ * <p>
+ * A parser can only be generated when the model classes, their constructors without parameters and their fields (or
+ * setters) are accessible from the package of the record class; otherwise a warning is reported and the records are
+ * bound with reflection, as without the processor.
+ */
+@SupportedAnnotationTypes("org.apache.camel.dataformat.bindy.annotation.FixedLengthRecord")
+public class FixedLengthRecordProcessor extends AbstractProcessor {
+
+    private static final Modifier[] FIELD_MODIFIERS = {
+        Modifier.PUBLIC, Modifier.PROTECTED, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL, Modifier.TRANSIENT, Modifier.VOLATILE
+    };
+
+    private final Set<String> generated = new HashSet<>();
+
+    private Elements elements;
+    private Types types;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+
+        for(final Element element : roundEnv.getElementsAnnotatedWith(FixedLengthRecord.class)) {
+            if(element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            final TypeElement type = (TypeElement)element;
+            if( !generated.add(type.getQualifiedName().toString())) {
+                continue;
+            }
+
+            try {
+                final RecordModel model = analyze(type);
+                if(model != null) {
+                    new ParserWriter(model).write(processingEnv.getFiler());
+                }
+            }
+            catch(final UnsupportedModelException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "No parser generated for " + type + ", its records are bound with reflection: " + e.getMessage(), e.element);
+            }
+            catch(final IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write the parser of " + type + ": " + e, type);
+            }
+        }
+
+        // other processors may handle the annotation as well
+        return false;
+    }
+
+    /**
+     * @return the model, or <code>null</code> if it is invalid (errors have been reported)
+     */
+    private RecordModel analyze(final TypeElement type) throws UnsupportedModelException {
+        final FixedLengthRecord record = type.getAnnotation(FixedLengthRecord.class);
+        final PackageElement pkg = elements.getPackageOf(type);
+        final String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        final String binaryName = elements.getBinaryName(type).toString();
+        final String simpleName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1).replace('$', '_');
+
+        final RecordModel model = new RecordModel(type, packageName, simpleName + FixedLengthRecordParser.SUFFIX,
+                record.paddingChar(), record.ignoreTrailingChars());
+        collectModels(type, model.models);
+
+        // fields in the order of their position, as bound at runtime
+        final Map<Integer, VariableElement> dataFields = new TreeMap<>();
+        final Map<Integer, TypeElement> owners = new TreeMap<>();
+        final List<VariableElement> linkFields = new ArrayList<>();
+        boolean valid = true;
+
+        for(final TypeElement cl : model.models) {
+            if(cl != type && cl.getAnnotation(FixedLengthRecord.class) != null) {
+                throw new UnsupportedModelException(cl, "the linked class " + cl + " is annotated with @FixedLengthRecord too");
+            }
+
+            for(final VariableElement field : ElementFilter.fieldsIn(cl.getEnclosedElements())) {
+                final DataField dataField = field.getAnnotation(DataField.class);
+                if(dataField != null) {
+                    final VariableElement other = dataFields.put(dataField.pos(), field);
+                    owners.put(dataField.pos(), cl);
+                    if(other != null) {
+                        error(field, "@DataField position " + dataField.pos() + " is already used by " + other.getEnclosingElement() + "." + other);
+                        valid = false;
+                    }
+                }
+                if(field.getAnnotation(Link.class) != null) {
+                    linkFields.add(field);
+                }
+            }
+        }
+
+        valid &= validateLayout(record, dataFields);
+        if( !valid) {
+            return null;
+        }
+
+        for(final TypeElement cl : model.models) {
+            checkInstantiable(cl, pkg);
+        }
+
+        final Map<Integer, FieldModel> fields = new TreeMap<>();
+        for(final Map.Entry<Integer, VariableElement> entry : dataFields.entrySet()) {
+            final FieldModel field = fieldModel(entry.getValue(), owners.get(entry.getKey()), record, pkg);
+            fields.put(entry.getKey(), field);
+            model.fields.add(field);
+        }
+        for(final FieldModel field : model.fields) {
+            if(field.length == 0 && field.lengthPos != 0) {
+                field.lengthField = fields.get(field.lengthPos);
+                if(field.lengthField.read == null) {
+                    throw new UnsupportedModelException(dataFields.get(field.lengthPos), "the length field " + field.lengthField.description
+                            + " is not accessible and has no getter");
+                }
+            }
+        }
+
+        for(final VariableElement field : linkFields) {
+            model.links.add(linkModel(field, pkg));
+        }
+
+        return model;
+    }
+
+    /**
+     * Adds the class and the classes linked to it with {@code @Link}.
+     */
+    private void collectModels(final TypeElement type, final List<TypeElement> models) throws UnsupportedModelException {
+        if(models.contains(type)) {
+            return;
+        }
+        models.add(type);
+
+        for(final VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if(field.getAnnotation(OneToMany.class) != null) {
+                throw new UnsupportedModelException(field, "@OneToMany is not supported");
+            }
+            if(field.getAnnotation(Link.class) != null) {
+                if(field.asType().getKind() != TypeKind.DECLARED) {
+                    throw new UnsupportedModelException(field, "the @Link field " + field + " is not a class");
+                }
+                collectModels((TypeElement)((DeclaredType)field.asType()).asElement(), models);
+            }
+        }
+    }
+
+    /**
+     * Reports overlapping positions, fields beyond the length of the record and unknown <code>lengthPos</code>.
+     *
+     * @return false if errors have been reported
+     */
+    private boolean validateLayout(final FixedLengthRecord record, final Map<Integer, VariableElement> dataFields) {
+        boolean valid = true;
+
+        // end of the previous field, 0 if its length is only known at runtime
+        int previousEnd = 0;
+        VariableElement previous = null;
+
+        for(final Map.Entry<Integer, VariableElement> entry : dataFields.entrySet()) {
+            final VariableElement field = entry.getValue();
+            final DataField dataField = field.getAnnotation(DataField.class);
+            final int pos = entry.getKey();
+
+            if(pos < 1) {
+                error(field, "@DataField position " + pos + " must be at least 1");
+                valid = false;
+            }
+            if(previousEnd >= pos) {
+                error(field, "@DataField at position " + pos + " overlaps " + previous + ", which ends at position " + previousEnd);
+                valid = false;
+            }
+
+            final int length = dataField.length();
+            if(length > 0 && record.length() > 0 && pos + length - 1 > record.length()) {
+                error(field, "@DataField at position " + pos + " with length " + length + " ends at position " + (pos + length - 1)
+                        + ", beyond the length of the record: " + record.length());
+                valid = false;
+            }
+            if(length == 0 && dataField.lengthPos() != 0 && !dataFields.containsKey(dataField.lengthPos())) {
+                error(field, "@DataField lengthPos " + dataField.lengthPos() + " does not match the position of a field");
+                valid = false;
+            }
+
+            previousEnd = length > 0 ? pos + length - 1 : 0;
+            previous = field;
+        }
+
+        return valid;
+    }
+
+    private void checkInstantiable(final TypeElement type, final PackageElement pkg) throws UnsupportedModelException {
+        if(type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedModelException(type, type + " is abstract");
+        }
+        if(type.getNestingKind() != NestingKind.TOP_LEVEL && !type.getModifiers().contains(Modifier.STATIC)) {
+            throw new UnsupportedModelException(type, type + " is an inner class");
+        }
+        for(final ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if(constructor.getAnnotation(BindyConstructor.class) != null) {
+                throw new UnsupportedModelException(type, type + " is created by its @BindyConstructor");
+            }
+        }
+        if( !hasConstructor(type, pkg)) {
+            throw new UnsupportedModelException(type, type + " has no accessible constructor without parameters");
+        }
+    }
+
+    private boolean hasConstructor(final TypeElement type, final PackageElement pkg) {
+        for(final ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if(constructor.getParameters().isEmpty() && isAccessible(constructor, pkg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private FieldModel fieldModel(final VariableElement field, final TypeElement owner, final FixedLengthRecord record, final PackageElement pkg)
+            throws UnsupportedModelException {
+
+        final DataField dataField = field.getAnnotation(DataField.class);
+        final FieldModel model = new FieldModel();
+        model.owner = owner;
+        model.description = description(field, owner);
+
+        model.pos = dataField.pos();
+        model.length = dataField.length();
+        model.lengthPos = dataField.lengthPos();
+        model.delimiter = dataField.delimiter();
+        model.required = dataField.required();
+        model.defaultValue = dataField.defaultValue();
+
+        if(dataField.trim()) {
+            model.trimLeft = !"L".equals(dataField.align());
+            model.trimRight = !"R".equals(dataField.align());
+        }
+        model.paddingChar = dataField.paddingChar() == 0 ? record.paddingChar() : dataField.paddingChar();
+
+        final TypeMirror type = field.asType();
+        if(type.getKind() == TypeKind.TYPEVAR) {
+            throw new UnsupportedModelException(field, "the type of the field " + field + " is a type variable");
+        }
+        final TypeMirror erased = types.erasure(type);
+        if( !isAccessible(erased, pkg)) {
+            throw new UnsupportedModelException(field, "the type of the field " + field + " is not accessible");
+        }
+        model.classLiteral = erased + ".class";
+        model.castType = type.getKind().isPrimitive() ? types.boxedClass(types.getPrimitiveType(type.getKind())).getQualifiedName().toString()
+                : erased.toString();
+        model.primitiveDefault = primitiveDefault(erased);
+        model.parseMethod = parseMethod(type.getKind());
+
+        model.pattern = dataField.pattern();
+        model.timezone = dataField.timezone();
+        model.precision = dataField.precision();
+        model.rounding = dataField.rounding();
+        model.impliedDecimalSeparator = dataField.impliedDecimalSeparator();
+        model.decimalSeparator = dataField.decimalSeparator();
+        model.groupingSeparator = dataField.groupingSeparator();
+
+        final TypeElement converter = converter(field);
+        if(converter != null) {
+            if( !hasConstructor(converter, pkg) || converter.getModifiers().contains(Modifier.ABSTRACT)) {
+                throw new UnsupportedModelException(field, "the converter " + converter + " has no accessible constructor without parameters");
+            }
+            model.converter = converter.getQualifiedName().toString();
+        }
+
+        if( !dataField.method().isEmpty()) {
+            model.method = method(field, dataField.method(), model.castType, pkg);
+        }
+
+        if(field.getModifiers().contains(Modifier.STATIC)) {
+            throw new UnsupportedModelException(field, "the field " + field + " is static");
+        }
+        if(isAccessible(field, pkg)) {
+            model.read = "." + field.getSimpleName();
+        }
+        else {
+            final ExecutableElement getter = getter(owner, field, pkg);
+            model.read = getter == null ? null : "." + getter.getSimpleName() + "()";
+        }
+        accessor(field, owner, pkg, model);
+
+        return model;
+    }
+
+    private LinkModel linkModel(final VariableElement field, final PackageElement pkg) throws UnsupportedModelException {
+        final LinkModel link = new LinkModel();
+        link.owner = (TypeElement)field.getEnclosingElement();
+        link.target = (TypeElement)((DeclaredType)field.asType()).asElement();
+
+        final FieldModel accessor = new FieldModel();
+        accessor(field, link.owner, pkg, accessor);
+        link.write = accessor.write;
+        link.setter = accessor.setter;
+        return link;
+    }
+
+    /**
+     * Sets how the field is assigned: directly, or through its setter.
+     */
+    private void accessor(final VariableElement field, final TypeElement owner, final PackageElement pkg, final FieldModel model)
+            throws UnsupportedModelException {
+
+        if(isAccessible(field, pkg) && !field.getModifiers().contains(Modifier.FINAL)) {
+            model.write = field.getSimpleName().toString();
+            model.setter = false;
+            return;
+        }
+
+        final String name = "set" + capitalize(field.getSimpleName().toString());
+        for(final ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(owner))) {
+            if(method.getSimpleName().contentEquals(name) && method.getParameters().size() == 1
+                    && types.isSameType(method.getParameters().get(0).asType(), field.asType())
+                    && !method.getModifiers().contains(Modifier.STATIC) && isAccessible(method, pkg)) {
+                model.write = name;
+                model.setter = true;
+                return;
+            }
+        }
+        throw new UnsupportedModelException(field, "the field " + owner + "." + field + " is not accessible and has no setter");
+    }
+
+    private ExecutableElement getter(final TypeElement owner, final VariableElement field, final PackageElement pkg) {
+        final String name = capitalize(field.getSimpleName().toString());
+        for(final ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(owner))) {
+            if((method.getSimpleName().contentEquals("get" + name) || method.getSimpleName().contentEquals("is" + name))
+                    && method.getParameters().isEmpty() && !method.getModifiers().contains(Modifier.STATIC)
+                    && types.isSameType(method.getReturnType(), field.asType()) && isAccessible(method, pkg)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private TypeElement converter(final VariableElement field) {
+        for(final AnnotationMirror annotation : field.getAnnotationMirrors()) {
+            if(((TypeElement)annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(BindyConverter.class.getName())) {
+                for(final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+                    if(entry.getKey().getSimpleName().contentEquals("value")) {
+                        return (TypeElement)types.asElement((TypeMirror)entry.getValue().getValue());
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves the post-processing method like the reflective binding does: a method of the field type receiving
+     * the value, or else a method without parameter called on the value.
+     *
+     * @return the expression computing the new <code>value</code>
+     */
+    private String method(final VariableElement field, final String method, final String castType, final PackageElement pkg)
+            throws UnsupportedModelException {
+
+        final TypeMirror type = types.erasure(field.asType());
+        if(type.getKind() != TypeKind.DECLARED) {
+            throw new UnsupportedModelException(field, "the method " + method + " cannot be called on a value of type " + type);
+        }
+        final TypeElement clazz = (TypeElement)types.asElement(type);
+        final String name = method.substring(method.lastIndexOf(".") + 1, method.length());
+
+        ExecutableElement m = findMethod(clazz, name, type);
+        if(m != null) {
+            if( !m.getModifiers().contains(Modifier.STATIC)) {
+                throw new UnsupportedModelException(field, "the method " + method + " receiving the value must be static");
+            }
+        }
+        else {
+            m = findMethod(clazz, name, null);
+            if(m == null) {
+                throw new UnsupportedModelException(field, "the method " + method + " does not exist");
+            }
+        }
+        if( !isAccessible(m, pkg)) {
+            throw new UnsupportedModelException(field, "the method " + method + " is not accessible");
+        }
+        if(m.getReturnType().getKind() == TypeKind.VOID) {
+            throw new UnsupportedModelException(field, "the method " + method + " returns void");
+        }
+
+        final String declaring = ((TypeElement)m.getEnclosingElement()).getQualifiedName().toString();
+        if( !m.getParameters().isEmpty()) {
+            return declaring + "." + name + "((" + castType + ")value)";
+        }
+        if(m.getModifiers().contains(Modifier.STATIC)) {
+            return declaring + "." + name + "()";
+        }
+        return "((" + castType + ")value)." + name + "()";
+    }
+
+    /**
+     * Same search as <code>ReflectionHelper.findMethod</code>.
+     *
+     * @param parameter type of the only parameter, or <code>null</code> for a method without parameter
+     */
+    private ExecutableElement findMethod(final TypeElement clazz, final String name, final TypeMirror parameter) {
+        TypeElement searchType = clazz;
+        while(searchType != null) {
+            final List<ExecutableElement> methods = searchType.getKind().isInterface()
+                    ? publicMethods(searchType)
+                    : ElementFilter.methodsIn(searchType.getEnclosedElements());
+            for(final ExecutableElement method : methods) {
+                if(method.getSimpleName().contentEquals(name) && matches(method, parameter)) {
+                    return method;
+                }
+            }
+            final TypeMirror superclass = searchType.getKind().isInterface() ? null : searchType.getSuperclass();
+            searchType = superclass != null && superclass.getKind() == TypeKind.DECLARED ? (TypeElement)types.asElement(superclass) : null;
+        }
+        return null;
+    }
+
+    private List<ExecutableElement> publicMethods(final TypeElement type) {
+        final List<ExecutableElement> methods = new ArrayList<>();
+        for(final ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if(method.getModifiers().contains(Modifier.PUBLIC)) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    private boolean matches(final ExecutableElement method, final TypeMirror parameter) {
+        if(parameter == null) {
+            return method.getParameters().isEmpty();
+        }
+        return method.getParameters().size() == 1 && types.isSameType(types.erasure(method.getParameters().get(0).asType()), parameter);
+    }
+
+    /**
+     * @return true if the element and the types enclosing it can be used from the package
+     */
+    private boolean isAccessible(final Element element, final PackageElement pkg) {
+        for(Element e = element; e != null && e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            final Set<Modifier> modifiers = e.getModifiers();
+            if(modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if( !modifiers.contains(Modifier.PUBLIC) && !elements.getPackageOf(e).equals(pkg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the type, or the component type of an array, can be named in the package
+     */
+    private boolean isAccessible(final TypeMirror type, final PackageElement pkg) {
+        switch(type.getKind()) {
+            case ARRAY:
+                return isAccessible(((javax.lang.model.type.ArrayType)type).getComponentType(), pkg);
+            case DECLARED:
+                return isAccessible(((DeclaredType)type).asElement(), pkg);
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * @return the same description as {@link java.lang.reflect.Field#toString()}, used in error messages
+     */
+    private String description(final VariableElement field, final TypeElement owner) {
+        final StringBuilder sb = new StringBuilder();
+        for(final Modifier modifier : FIELD_MODIFIERS) {
+            if(field.getModifiers().contains(modifier)) {
+                sb.append(modifier).append(' ');
+            }
+        }
+        return sb.append(typeName(field.asType())).append(' ')
+                .append(elements.getBinaryName(owner)).append('.').append(field.getSimpleName())
+                .toString();
+    }
+
+    /**
+     * @return the name of the type as {@link Class#getTypeName()}
+     */
+    private String typeName(final TypeMirror type) {
+        switch(type.getKind()) {
+            case ARRAY:
+                return typeName(((javax.lang.model.type.ArrayType)type).getComponentType()) + "[]";
+            case DECLARED:
+                return elements.getBinaryName((TypeElement)((DeclaredType)type).asElement()).toString();
+            case TYPEVAR:
+                return typeName(types.erasure(type));
+            default:
+                return type.toString();
+        }
+    }
+
+    /**
+     * @return the {@link org.apache.camel.dataformat.bindy.FixedLengthRecordParser} helper parsing the primitive type
+     *         without boxing, or <code>null</code>
+     */
+    private static String parseMethod(final TypeKind kind) {
+        switch(kind) {
+            case INT:
+                return "parseInt";
+            case SHORT:
+                return "parseShort";
+            case BYTE:
+                return "parseByte";
+            case LONG:
+                return "parseLong";
+            case DOUBLE:
+                return "parseDouble";
+            case FLOAT:
+                return "parseFloat";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return the expression of the value used for an empty field without default value
+     */
+    private static String primitiveDefault(final TypeMirror type) {
+        switch(type.getKind()) {
+            case BYTE:
+                return "java.lang.Byte.MIN_VALUE";
+            case SHORT:
+                return "java.lang.Short.MIN_VALUE";
+            case INT:
+                return "java.lang.Integer.MIN_VALUE";
+            case LONG:
+                return "java.lang.Long.MIN_VALUE";
+            case FLOAT:
+                return "java.lang.Float.MIN_VALUE";
+            case DOUBLE:
+                return "java.lang.Double.MIN_VALUE";
+            case CHAR:
+                return "java.lang.Character.MIN_VALUE";
+            case BOOLEAN:
+                return "false";
+            default:
+                return "java.lang.String".equals(type.toString()) ? "\"\"" : "null";
+        }
+    }
+
+    private static String capitalize(final String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private void error(final Element element, final String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * The model is valid, but no parser can be generated for it.
+     */
+    private static final class UnsupportedModelException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        final transient Element element;
+
+        UnsupportedModelException(final Element element, final String message) {
+            super(message);
+            this.element = element;
+        }
+    }
+
+}
@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.camel.dataformat.bindy.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.TypeElement;
+
+import org.apache.camel.dataformat.bindy.FixedLengthRecordParser;
+import org.apache.camel.dataformat.bindy.processor.RecordModel.FieldModel;
+import org.apache.camel.dataformat.bindy.processor.RecordModel.LinkModel;
+
+/**
+ * Writes the source of the {@link FixedLengthRecordParser} of a record.
+ * <p>
+ * The fields are bound in the order of their position, one block of code each. As long as the preceding fields all
+ * have a fixed length the offset of a field is known at compile time and is written as a constant; a local
+ * <code>offset</code> variable is only introduced from the first delimited field or field with a <code>lengthPos</code>.
+ */
+final class ParserWriter {
+
+    private static final String INDENT = "        ";
+
+    private final RecordModel model;
+
+    ParserWriter(final RecordModel model) {
+        this.model = model;
+    }
+
+    void write(final Filer filer) throws IOException {
+        final String name = model.packageName.isEmpty() ? model.parserName : model.packageName + "." + model.parserName;
+        try(Writer writer = filer.createSourceFile(name, model.models.toArray(new TypeElement[0])).openWriter();
+                PrintWriter out = new PrintWriter(writer)) {
+            write(out);
+        }
+    }
+
+    private void write(final PrintWriter out) {
+        if( !model.packageName.isEmpty()) {
+            out.println("package " + model.packageName + ";");
+            out.println();
+        }
+        out.println("/**");
+        out.println(" * Parser of {@link " + model.type.getQualifiedName() + "}, generated by " + FixedLengthRecordProcessor.class.getName() + ".");
+        out.println(" */");
+        out.println("@SuppressWarnings({ \"unchecked\", \"rawtypes\" })");
+        out.println("public final class " + model.parserName + " extends " + FixedLengthRecordParser.class.getName() + " {");
+        out.println();
+
+        for(int i = 0; i < model.fields.size(); i++) {
+            if(model.fields.get(i).converter == null) {
+                out.println("    private Object format" + i + ";");
+            }
+        }
+        out.println();
+
+        writeInit(out);
+        writeFactory(out);
+        writeBind(out);
+        writeLink(out);
+
+        out.println("}");
+    }
+
+    private void writeInit(final PrintWriter out) {
+        out.println("    @Override");
+        out.println("    public void init(final org.apache.camel.dataformat.bindy.FormatFactory formatFactory, final String locale) {");
+        for(int i = 0; i < model.fields.size(); i++) {
+            final FieldModel field = model.fields.get(i);
+            if(field.converter != null) {
+                continue;
+            }
+            out.println(INDENT + "format" + i + " = format(formatFactory, new org.apache.camel.dataformat.bindy.FormattingOptions()");
+            out.println(INDENT + "        .forClazz(" + field.classLiteral + ")");
+            out.println(INDENT + "        .withPattern(" + literal(field.pattern) + ")");
+            out.println(INDENT + "        .withLocale(locale)");
+            out.println(INDENT + "        .withTimezone(" + literal(field.timezone) + ")");
+            out.println(INDENT + "        .withPrecision(" + field.precision + ")");
+            out.println(INDENT + "        .withRounding(" + literal(field.rounding) + ")");
+            out.println(INDENT + "        .withImpliedDecimalSeparator(" + field.impliedDecimalSeparator + ")");
+            out.println(INDENT + "        .withDecimalSeparator(" + literal(field.decimalSeparator) + ")");
+            out.println(INDENT + "        .withGroupingSeparator(" + literal(field.groupingSeparator) + "));");
+        }
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeFactory(final PrintWriter out) {
+        out.println("    @Override");
+        out.println("    public Object[] factory() {");
+        out.println(INDENT + "return new Object[] {");
+        for(final TypeElement type : model.models) {
+            out.println(INDENT + "    new " + type.getQualifiedName() + "(),");
+        }
+        out.println(INDENT + "};");
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeBind(final PrintWriter out) {
+        out.println("    @Override");
+        out.println("    public void bind(final CharSequence record, final Object[] model, final int line) throws Exception {");
+        for(int i = 0; i < model.models.size(); i++) {
+            final TypeElement type = model.models.get(i);
+            out.println(INDENT + "final " + type.getQualifiedName() + " model" + i + " = (" + type.getQualifiedName() + ")model[" + i + "];");
+        }
+        if( !model.fields.isEmpty()) {
+            out.println(INDENT + "int start;");
+            out.println(INDENT + "int end;");
+            out.println(INDENT + "Object value;");
+        }
+
+        // offset of the next field while it is known at compile time, 0 once it is held by the offset variable
+        int offset = 1;
+
+        for(int i = 0; i < model.fields.size(); i++) {
+            final FieldModel field = model.fields.get(i);
+            out.println();
+            out.println(INDENT + "// " + field.description.replace('\n', ' '));
+
+            if(offset > 0 && field.pos > offset) {
+                offset = field.pos;
+            }
+            else if(offset == 0) {
+                out.println(INDENT + "if(offset < " + field.pos + ") {");
+                out.println(INDENT + "    offset = " + field.pos + ";");
+                out.println(INDENT + "}");
+            }
+
+            if(field.length > 0) {
+                out.println(INDENT + "start = start(record, " + offset(offset) + ");");
+                out.println(INDENT + "end = end(record, " + offset(offset) + ", " + field.length + ");");
+                if(offset > 0) {
+                    offset += field.length;
+                }
+                else {
+                    out.println(INDENT + "offset += " + field.length + ";");
+                }
+            }
+            else if(field.lengthField != null || !field.delimiter.isEmpty()) {
+                if(offset > 0) {
+                    out.println(INDENT + "int offset = " + offset + ";");
+                    offset = 0;
+                }
+                if(field.lengthField != null) {
+                    final String length = "length" + i;
+                    out.println(INDENT + "final int " + length + " = " + modelVariable(field.lengthField.owner) + field.lengthField.read + ";");
+                    out.println(INDENT + "if(" + length + " > 0) {");
+                    out.println(INDENT + "    start = start(record, offset);");
+                    out.println(INDENT + "    end = end(record, offset, " + length + ");");
+                    out.println(INDENT + "    offset += " + length + ";");
+                    out.println(INDENT + "}");
+                    out.println(INDENT + "else {");
+                    writeDelimited(out, field, INDENT + "    ");
+                    out.println(INDENT + "}");
+                }
+                else {
+                    writeDelimited(out, field, INDENT);
+                }
+            }
+            else {
+                // defined as a zero-length field
+                writeEmpty(out, INDENT);
+            }
+
+            if(field.trimLeft) {
+                out.println(INDENT + "start = trimStart(record, start, end, " + literal(field.paddingChar) + ");");
+            }
+            if(field.trimRight) {
+                out.println(INDENT + "end = trimEnd(record, start, end, " + literal(field.paddingChar) + ");");
+            }
+            if(field.required) {
+                out.println(INDENT + "checkMandatory(start, end, " + (i + 1) + ", line);");
+            }
+
+            final String format = field.converter != null ? "new " + field.converter + "()" : "format" + i;
+            final String target = modelVariable(field.owner) + ".";
+            if(field.parseMethod != null && field.method == null) {
+                // primitives are assigned without boxing
+                final String parse = field.parseMethod + "(" + format + ", record, start, end, " + literal(field.defaultValue) + ", "
+                        + field.primitiveDefault + ", " + literal(field.description) + ", " + field.pos + ", line)";
+                if(field.setter) {
+                    out.println(INDENT + target + field.write + "(" + parse + ");");
+                }
+                else {
+                    out.println(INDENT + target + field.write + " = " + parse + ";");
+                }
+                continue;
+            }
+
+            out.println(INDENT + "value = parse(" + format + ", record, start, end, " + literal(field.defaultValue) + ", " + field.primitiveDefault + ", "
+                    + literal(field.description) + ", " + field.pos + ", line);");
+            if(field.method != null) {
+                out.println(INDENT + "if(value != null) {");
+                out.println(INDENT + "    value = " + field.method + ";");
+                out.println(INDENT + "}");
+            }
+
+            if(field.setter) {
+                out.println(INDENT + target + field.write + "((" + field.castType + ")value);");
+            }
+            else {
+                out.println(INDENT + target + field.write + " = (" + field.castType + ")value;");
+            }
+        }
+
+        if( !model.ignoreTrailingChars) {
+            out.println();
+            out.println(INDENT + "checkTrailing(record, " + offset(offset) + ", line);");
+        }
+        out.println("    }");
+        out.println();
+    }
+
+    private static void writeDelimited(final PrintWriter out, final FieldModel field, final String indent) {
+        if(field.delimiter.isEmpty()) {
+            writeEmpty(out, indent);
+        }
+        else {
+            out.println(indent + "start = offset - 1;");
+            out.println(indent + "end = delimiter(record, start, " + literal(field.delimiter) + ");");
+            // include the delimiter in the offset calculation
+            out.println(indent + "offset = end + 2;");
+        }
+    }
+
+    private static void writeEmpty(final PrintWriter out, final String indent) {
+        out.println(indent + "start = 0;");
+        out.println(indent + "end = 0;");
+    }
+
+    private void writeLink(final PrintWriter out) {
+        out.println("    @Override");
+        out.println("    public void link(final Object[] model) {");
+        if( !model.links.isEmpty()) {
+            out.println(INDENT + "Object to;");
+        }
+        for(final LinkModel link : model.links) {
+            out.println(INDENT + "to = model[" + model.models.indexOf(link.target) + "];");
+            out.println(INDENT + "org.apache.camel.util.ObjectHelper.notNull(to, \"No @link annotation has been defined for the object to link\");");
+            final String from = "((" + link.owner.getQualifiedName() + ")model[" + model.models.indexOf(link.owner) + "])";
+            final String to = "(" + link.target.getQualifiedName() + ")to";
+            if(link.setter) {
+                out.println(INDENT + from + "." + link.write + "(" + to + ");");
+            }
+            else {
+                out.println(INDENT + from + "." + link.write + " = " + to + ";");
+            }
+        }
+        out.println("    }");
+        out.println();
+    }
+
+    private String modelVariable(final TypeElement type) {
+        return "model" + model.models.indexOf(type);
+    }
+
+    private static String offset(final int offset) {
+        return offset > 0 ? String.valueOf(offset) : "offset";
+    }
+
+    private static String literal(final char c) {
+        return "'" + (c == '\'' ? "\\'" : escape(c)) + "'";
+    }
+
+    private static String literal(final String s) {
+        final StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for(int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            sb.append(c == '"' ? "\\\"" : escape(c));
+        }
+        return sb.append('"').toString();
+    }
+
+    private static String escape(final char c) {
+        switch(c) {
+            case '\\':
+                return "\\\\";
+            case '\n':
+                return "\\n";
+            case '\r':
+                return "\\r";
+            case '\t':
+                return "\\t";
+            default:
+                return c < ' ' || c > '~' ? String.format("\\u%04x", (int)c) : String.valueOf(c);
+        }
+    }
+
+}
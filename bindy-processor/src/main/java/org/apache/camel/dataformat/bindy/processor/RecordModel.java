@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.camel.dataformat.bindy.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.lang.model.element.TypeElement;
+
+/**
+ * What the processor has collected about a {@code @FixedLengthRecord} class, resolved to the source fragments the
+ * {@link ParserWriter} needs.
+ */
+final class RecordModel {
+
+    final TypeElement type;
+    final String packageName;
+    final String parserName;
+
+    /** padding char of the record, used by the fields which do not define their own */
+    final char paddingChar;
+    final boolean ignoreTrailingChars;
+
+    /** the record class and the classes linked to it; instantiated in this order */
+    final List<TypeElement> models = new ArrayList<>();
+    /** sorted by position */
+    final List<FieldModel> fields = new ArrayList<>();
+    final List<LinkModel> links = new ArrayList<>();
+
+    RecordModel(final TypeElement type, final String packageName, final String parserName, final char paddingChar,
+            final boolean ignoreTrailingChars) {
+        this.type = type;
+        this.packageName = packageName;
+        this.parserName = parserName;
+        this.paddingChar = paddingChar;
+        this.ignoreTrailingChars = ignoreTrailingChars;
+    }
+
+    /**
+     * A {@code @DataField}.
+     */
+    static final class FieldModel {
+
+        /** model class declaring the field */
+        TypeElement owner;
+        /** description of the field in the format of {@link java.lang.reflect.Field#toString()} */
+        String description;
+
+        int pos;
+        int length;
+        int lengthPos;
+        /** the field holding the length, when {@link #lengthPos} is set */
+        FieldModel lengthField;
+        String delimiter;
+        boolean required;
+        String defaultValue;
+
+        boolean trimLeft;
+        boolean trimRight;
+        char paddingChar;
+
+        /** class literal of the field type */
+        String classLiteral;
+        /** type the parsed value is cast to: the erased field type, or the wrapper of a primitive */
+        String castType;
+        /** value used when the token is empty */
+        String primitiveDefault;
+        /** helper parsing the primitive type of the field without boxing (e.g. <code>parseInt</code>), or <code>null</code> */
+        String parseMethod;
+        /** class of the {@code @BindyConverter}, or <code>null</code> */
+        String converter;
+
+        String pattern;
+        String timezone;
+        int precision;
+        String rounding;
+        boolean impliedDecimalSeparator;
+        String decimalSeparator;
+        String groupingSeparator;
+
+        /** expression post-processing <code>value</code> with the {@code @DataField} method, or <code>null</code> */
+        String method;
+
+        /** appended to the model object to read the field: field access or getter call */
+        String read;
+        /** name of the field, or of its setter when {@link #setter} is set */
+        String write;
+        boolean setter;
+    }
+
+    /**
+     * A {@code @Link} field.
+     */
+    static final class LinkModel {
+
+        TypeElement owner;
+        TypeElement target;
+        String write;
+        boolean setter;
+    }
+
+}
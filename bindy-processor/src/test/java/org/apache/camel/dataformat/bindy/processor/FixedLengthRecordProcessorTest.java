@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.camel.dataformat.bindy.FixedLengthRecordParser;
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+import org.apache.camel.dataformat.bindy.fixed.BindyFixedLengthDataFormat;
+import org.apache.camel.util.ObjectHelper;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+/**
+ * Compiles model classes with and without the processor, and compares the records bound by the generated parsers
+ * with the records bound by reflection.
+ */
+public class FixedLengthRecordProcessorTest {
+
+    private static final String RECORD = String.join("\n",
+            "package p;",
+            "import org.apache.camel.dataformat.bindy.annotation.*;",
+            "@FixedLengthRecord(crlf = \"UNIX\", ignoreTrailingChars = true)",
+            "public class Rec {",
+            "    @DataField(pos = 1, length = 3) public int count;",
+            "    @DataField(pos = 4, length = 5, align = \"L\", paddingChar = '0', defaultValue = \"7\") Integer num;",
+            "    @DataField(pos = 10, delimiter = \"|\") private String name;",
+            "    @DataField(pos = 11, length = 2) int len;",
+            "    @DataField(pos = 13, lengthPos = 11) String var;",
+            "    @DataField(pos = 14, length = 4, method = \"toUpperCase\", required = true) String up;",
+            "    @Link Other other;",
+            "    public boolean viaSetter;",
+            "    public void setName(String name) { this.name = name; viaSetter = true; }",
+            "    public String toString() { return count + \"|\" + num + \"|\" + name + \"|\" + len + \"|\" + var + \"|\" + up + \"|\" + other; }",
+            "}");
+
+    private static final String OTHER = String.join("\n",
+            "package p;",
+            "import org.apache.camel.dataformat.bindy.annotation.*;",
+            "@Link",
+            "public class Other {",
+            "    @DataField(pos = 30, length = 4, precision = 1) java.math.BigDecimal dec;",
+            "    public String toString() { return \"Other(\" + dec + \")\"; }",
+            "}");
+
+    private static final String LINES = String.join("\n",
+            "01200005Xbob|05hellowxyz     12.5",
+            "01000000Xal|03abcwxyz        -0.5",
+            "00100042X|00wxyz            0007");
+
+    @Test
+    public void shouldBindLikeReflection() throws Exception {
+        final Map<String, String> sources = sources("p.Rec", RECORD, "p.Other", OTHER);
+
+        final Compilation generated = compile(sources, true);
+        assertThat(generated.success).isTrue();
+        assertThat(Files.exists(generated.sources.resolve("p/Rec" + FixedLengthRecordParser.SUFFIX + ".java"))).isTrue();
+
+        final Compilation reflection = compile(sources, false);
+        assertThat(reflection.success).isTrue();
+
+        final List<Object> expected = unmarshal(reflection, "p.Rec");
+        final List<Object> actual = unmarshal(generated, "p.Rec");
+
+        assertThat(actual.stream().map(String::valueOf).collect(Collectors.toList()))
+                .isEqualTo(expected.stream().map(String::valueOf).collect(Collectors.toList()));
+        assertThat(expected.stream().map(String::valueOf).collect(Collectors.toList())).containsExactly(
+                "12|5|bob|5|hello|WXYZ|Other(12.5)",
+                "10|0|al|3|abc|WXYZ|Other(-0.5)",
+                "1|42||0||XYZ |Other(7.0)");
+
+        // the private field is assigned through its setter by the generated parser only
+        for(int i = 0; i < expected.size(); i++) {
+            assertThat(expected.get(i).getClass().getField("viaSetter").get(expected.get(i))).isEqualTo(false);
+            assertThat(actual.get(i).getClass().getField("viaSetter").get(actual.get(i))).isEqualTo(true);
+        }
+    }
+
+    @Test
+    public void shouldReportOverlappingPositions() throws Exception {
+        final Compilation compilation = compile(record("@DataField(pos = 1, length = 3) String a;", "@DataField(pos = 3, length = 2) String b;"), true);
+
+        assertThat(compilation.success).isFalse();
+        assertThat(compilation.errors()).contains("@DataField at position 3 overlaps a, which ends at position 3");
+    }
+
+    @Test
+    public void shouldReportDuplicatePositions() throws Exception {
+        final Compilation compilation = compile(record("@DataField(pos = 1, length = 3) String a;", "@DataField(pos = 1, length = 2) String b;"), true);
+
+        assertThat(compilation.success).isFalse();
+        assertThat(compilation.errors()).contains("@DataField position 1 is already used by p.Rec.a");
+    }
+
+    @Test
+    public void shouldReportPositionsOutOfRange() throws Exception {
+        final Compilation beyond = compile(record("@DataField(pos = 1, length = 3) String a;", "@DataField(pos = 9, length = 3) String b;"), true);
+
+        assertThat(beyond.success).isFalse();
+        assertThat(beyond.errors()).contains("@DataField at position 9 with length 3 ends at position 11, beyond the length of the record: 10");
+
+        final Compilation zero = compile(record("@DataField(pos = 0, length = 3) String a;"), true);
+
+        assertThat(zero.success).isFalse();
+        assertThat(zero.errors()).contains("@DataField position 0 must be at least 1");
+    }
+
+    @Test
+    public void shouldReportUnknownLengthPos() throws Exception {
+        final Compilation compilation = compile(record("@DataField(pos = 1, length = 2) int len;", "@DataField(pos = 3, lengthPos = 2) String a;"), true);
+
+        assertThat(compilation.success).isFalse();
+        assertThat(compilation.errors()).contains("@DataField lengthPos 2 does not match the position of a field");
+    }
+
+    @Test
+    public void shouldBindWithReflectionWhenTheFieldTypeIsNotAccessible() throws Exception {
+        final Compilation compilation = compile(record("private enum Kind { A, B }", "@DataField(pos = 1, length = 1) Kind kind;"), true);
+
+        assertThat(compilation.success).isTrue();
+        assertThat(compilation.warnings()).contains("No parser generated for p.Rec, its records are bound with reflection: "
+                + "the type of the field kind is not accessible");
+        assertThat(Files.exists(compilation.sources.resolve("p/Rec" + FixedLengthRecordParser.SUFFIX + ".java"))).isFalse();
+    }
+
+    private static Map<String, String> record(final String... members) {
+        return sources("p.Rec", String.join("\n",
+                "package p;",
+                "import org.apache.camel.dataformat.bindy.annotation.*;",
+                "@FixedLengthRecord(length = 10)",
+                "public class Rec {",
+                String.join("\n", members),
+                "}"));
+    }
+
+    private static Map<String, String> sources(final String... namesAndSources) {
+        final Map<String, String> sources = new LinkedHashMap<>();
+        for(int i = 0; i < namesAndSources.length; i += 2) {
+            sources.put(namesAndSources[i], namesAndSources[i + 1]);
+        }
+        return sources;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> unmarshal(final Compilation compilation, final String type) throws Exception {
+        try(URLClassLoader loader = new URLClassLoader(new URL[] { compilation.classes.toUri().toURL() },
+                FixedLengthRecordProcessorTest.class.getClassLoader())) {
+            final Class<Object> entryType = (Class<Object>)loader.loadClass(type);
+            final BindyFixedLengthDataFormat<Object, Void, Void> format = new BindyFixedLengthDataFormat<>(entryType, Void.class, Void.class);
+            return format.unmarshal(new ByteArrayInputStream(LINES.getBytes(StandardCharsets.UTF_8))).getEntries();
+        }
+    }
+
+    private static Compilation compile(final Map<String, String> sources, final boolean process) throws IOException, URISyntaxException {
+        final Path dir = Files.createTempDirectory("bindy-processor");
+        final Compilation compilation = new Compilation(dir);
+
+        final List<File> files = new ArrayList<>();
+        for(final Map.Entry<String, String> source : sources.entrySet()) {
+            final Path file = dir.resolve("src").resolve(source.getKey().replace('.', '/') + ".java");
+            Files.createDirectories(file.getParent());
+            Files.write(file, source.getValue().getBytes(StandardCharsets.UTF_8));
+            files.add(file.toFile());
+        }
+        Files.createDirectories(compilation.classes);
+        Files.createDirectories(compilation.sources);
+
+        final List<String> options = new ArrayList<>(Arrays.asList("-d", compilation.classes.toString(), "-s", compilation.sources.toString(),
+                "-classpath", classpath(DataField.class, ObjectHelper.class, Logger.class)));
+        if( !process) {
+            options.add("-proc:none");
+        }
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try(StandardJavaFileManager fileManager = compiler.getStandardFileManager(compilation.diagnostics, null, StandardCharsets.UTF_8)) {
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, compilation.diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(files));
+            if(process) {
+                task.setProcessors(Collections.singletonList(new FixedLengthRecordProcessor()));
+            }
+            compilation.success = task.call();
+        }
+        return compilation;
+    }
+
+    private static String classpath(final Class<?>... classes) throws URISyntaxException {
+        final List<String> entries = new ArrayList<>();
+        for(final Class<?> cl : classes) {
+            final String entry = Paths.get(cl.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+            if( !entries.contains(entry)) {
+                entries.add(entry);
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static final class Compilation {
+
+        final Path classes;
+        final Path sources;
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        boolean success;
+
+        Compilation(final Path dir) {
+            this.classes = dir.resolve("classes");
+            this.sources = dir.resolve("generated");
+        }
+
+        List<String> errors() {
+            return messages(Diagnostic.Kind.ERROR);
+        }
+
+        List<String> warnings() {
+            return messages(Diagnostic.Kind.WARNING);
+        }
+
+        private List<String> messages(final Diagnostic.Kind kind) {
+            final Stream<Diagnostic<? extends JavaFileObject>> stream = diagnostics.getDiagnostics().stream();
+            return stream.filter(d -> d.getKind() == kind).map(d -> d.getMessage(null)).collect(Collectors.toList());
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+/**
+ * How {@link BindyFixedLengthFactory} binds the records of a class which has no parser generated by the
+ * <code>bindy-processor</code> module (such a parser is always used when it exists).
+ */
+public enum BindingStrategy {
+
+    /**
+     * The precompiled binding plan, which sets the fields through method handles or reflection.
+     */
+    REFLECTION,
+
+    /**
+     * A binder class generated at runtime for the record class, when the factory is first used: the offsets,
+     * lengths and trimming of the fields are inlined and the fields are assigned directly. Requires Java 9 or later
+     * and records whose fields all have a fixed length; {@link #REFLECTION} is used otherwise.
+     */
+    BYTECODE
+
+}
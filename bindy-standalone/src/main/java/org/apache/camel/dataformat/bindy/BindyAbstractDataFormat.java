@@ -16,10 +16,7 @@
  */
 package org.apache.camel.dataformat.bindy;
 
-import static java.util.Objects.requireNonNull;
-
 import java.lang.reflect.Field;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -142,23 +139,4 @@ public abstract class BindyAbstractDataFormat<TypeEntry, TypeHeader, TypeFooter>
 
     protected abstract BindyAbstractFactory createModelFactory(FormatFactory formatFactory) throws Exception;
 
-    protected BindyExchange<TypeEntry, TypeHeader, TypeFooter> extractUnmarshalResult(final List<Map<String, Object>> models,
-            final BindyExchangeImpl<TypeEntry, TypeHeader, TypeFooter> exchange) {
-
-        requireNonNull(entryType);
-
-        // we expect to findForFormattingOptions this type in the models, and grab only that type
-        final List<TypeEntry> answer = new ArrayList<>();
-        for(final Map<String, Object> entry : models) {
-            @SuppressWarnings("unchecked")
-            final TypeEntry data = (TypeEntry)entry.get(entryType.getName());
-            if(data != null) {
-                answer.add(data);
-            }
-        }
-
-        exchange.entries(answer);
-        return exchange;
-    }
-
 }
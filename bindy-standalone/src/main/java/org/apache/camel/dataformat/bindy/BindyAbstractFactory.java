@@ -20,6 +20,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.text.NumberFormat;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -27,9 +28,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.camel.dataformat.bindy.accessor.Accessors;
+import org.apache.camel.dataformat.bindy.accessor.FieldSetter;
+import org.apache.camel.dataformat.bindy.accessor.Instantiator;
+import org.apache.camel.dataformat.bindy.annotation.BindyConstructor;
 import org.apache.camel.dataformat.bindy.annotation.Link;
 import org.apache.camel.dataformat.bindy.annotation.OneToMany;
-import org.apache.camel.support.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +53,14 @@ public abstract class BindyAbstractFactory implements BindyFactory {
     private String locale;
     private final Class<?> type;
 
+    /** slot number of each model class in the object graph of a record; the root class has slot 0 */
+    private final Map<Class<?>, Integer> slots = new HashMap<>();
+    private Instantiator[] instantiators;
+    /** creates the model objects of the slots holding arguments, <code>null</code> for the other slots */
+    private ModelConstructor[] constructors;
+    private boolean hasConstructors;
+    private volatile LinkSetter[] linkSetters;
+
     public BindyAbstractFactory(final Class<?> type) throws Exception {
         this.type = type;
 
@@ -72,6 +84,57 @@ public abstract class BindyAbstractFactory implements BindyFactory {
         modelClassNames = new HashSet<>();
 
         loadModels(type);
+
+        slots.clear();
+        instantiators = new Instantiator[models.size()];
+        constructors = new ModelConstructor[models.size()];
+        hasConstructors = false;
+        addSlot(type);
+        for (final Class<?> cl : models) {
+            if (!slots.containsKey(cl)) {
+                addSlot(cl);
+            }
+        }
+    }
+
+    private void addSlot(final Class<?> cl) {
+        final int slot = slots.size();
+        slots.put(cl, slot);
+        constructors[slot] = ModelConstructor.of(cl);
+        if (constructors[slot] != null) {
+            hasConstructors = true;
+        } else {
+            instantiators[slot] = Accessors.instantiator(cl);
+        }
+    }
+
+    /**
+     * @return the index of the instance of the model class in the object graph of a record, see {@link #factory()}
+     */
+    protected int slot(final Class<?> cl) {
+        final Integer slot = slots.get(cl);
+        if (slot == null) {
+            throw new IllegalArgumentException("Not a class of the model: " + cl.getName());
+        }
+        return slot;
+    }
+
+    /**
+     * @return the index of the constructor argument receiving the value of the field, -1 if the field is set on the
+     *         instance of its class (see {@link BindyConstructor})
+     */
+    protected int argument(final Field field) {
+        final ModelConstructor constructor = constructors[slot(field.getDeclaringClass())];
+        return constructor != null ? constructor.argument(field) : -1;
+    }
+
+    /**
+     * @return the setter of the field, applied to the object of its class in the object graph of a record: this is
+     *         the array of the constructor arguments if the class is created by a {@link BindyConstructor}
+     */
+    protected FieldSetter setter(final Field field) {
+        final int argument = argument(field);
+        return argument < 0 ? Accessors.setter(field) : Accessors.argumentSetter(argument);
     }
 
     /**
@@ -124,49 +187,79 @@ public abstract class BindyAbstractFactory implements BindyFactory {
     public abstract void initAnnotatedFields() throws Exception;
 
     /**
-     * Link objects together
+     * Creates the objects of the classes with a {@link BindyConstructor} from their bound arguments, then links
+     * objects together
      */
-    public void link(final Map<String, Object> model) throws Exception {
+    public void link(final Object[] model) throws Exception {
 
-        // Iterate class by class
-        for (final String link : annotatedLinkFields.keySet()) {
-            final List<Field> linkFields = annotatedLinkFields.get(link);
+        if (hasConstructors) {
+            for (int i = 0; i < constructors.length; i++) {
+                if (constructors[i] != null) {
+                    model[i] = constructors[i].newInstance((Object[]) model[i]);
+                }
+            }
+        }
 
-            // Iterate through Link fields list
-            for (final Field field : linkFields) {
+        for (final LinkSetter link : linkSetters()) {
 
-                // Change protection for private field
-                field.setAccessible(true);
+            // Retrieve linked object
+            final Object to = model[link.toSlot];
 
-                // Retrieve linked object
-                final String toClassName = field.getType().getName();
-                final Object to = model.get(toClassName);
+            org.apache.camel.util.ObjectHelper.notNull(to, "No @link annotation has been defined for the object to link");
+            link.setter.set(model[link.fromSlot], to);
+        }
+    }
 
-                org.apache.camel.util.ObjectHelper.notNull(to, "No @link annotation has been defined for the object to link");
-                field.set(model.get(field.getDeclaringClass().getName()), to);
+    /**
+     * The setters of the @Link fields, built on first use as the fields are only known once
+     * {@link #initAnnotatedFields()} has run.
+     */
+    private LinkSetter[] linkSetters() {
+        LinkSetter[] setters = linkSetters;
+        if (setters == null) {
+            final List<LinkSetter> list = new ArrayList<>();
+
+            // Iterate class by class
+            for (final List<Field> linkFields : annotatedLinkFields.values()) {
+                // Iterate through Link fields list
+                for (final Field field : linkFields) {
+                    list.add(new LinkSetter(field, slot(field.getDeclaringClass()), slot(field.getType())));
+                }
             }
+            setters = list.toArray(new LinkSetter[0]);
+            linkSetters = setters;
+        }
+        return setters;
+    }
+
+    private static final class LinkSetter {
+        final FieldSetter setter;
+        final int fromSlot;
+        final int toSlot;
+
+        LinkSetter(final Field field, final int fromSlot, final int toSlot) {
+            this.setter = Accessors.setter(field);
+            this.fromSlot = fromSlot;
+            this.toSlot = toSlot;
         }
     }
 
     /**
-     * Factory method generating new instances of the model and adding them to a
-     * HashMap
+     * Factory method generating new instances of the model, one per slot (see
+     * {@link #slot(Class)}): the instance of the root class is at index 0. The slot of a class created by a
+     * {@link BindyConstructor} holds the array of its arguments until {@link #link(Object[])}
      *
-     * @return Map is a collection of the objects used to bind data from
-     *         records, messages
+     * @return the objects used to bind data from records, messages
      * @throws Exception can be thrown
      */
-    public Map<String, Object> factory() throws Exception {
-        final Map<String, Object> mapModel = new HashMap<>();
-
-        for (final Class<?> cl : models) {
-            final Object obj = ObjectHelper.newInstance(cl);
+    public Object[] factory() throws Exception {
+        final Object[] model = new Object[instantiators.length];
 
-            // Add instance of the class to the Map Model
-            mapModel.put(obj.getClass().getName(), obj);
+        for (int i = 0; i < instantiators.length; i++) {
+            model[i] = constructors[i] != null ? new Object[constructors[i].parameterCount] : instantiators[i].newInstance();
         }
 
-        return mapModel;
+        return model;
     }
 
     /**
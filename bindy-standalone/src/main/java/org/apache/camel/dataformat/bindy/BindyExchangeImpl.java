@@ -17,7 +17,6 @@
 package org.apache.camel.dataformat.bindy;
 
 import java.util.List;
-import java.util.Map;
 
 public class BindyExchangeImpl<TypeEntry, TypeHeader, TypeFooter> implements BindyExchange<TypeEntry, TypeHeader, TypeFooter> {
 
@@ -51,14 +50,18 @@ public class BindyExchangeImpl<TypeEntry, TypeHeader, TypeFooter> implements Bin
         return footer;
     }
 
-    @SuppressWarnings("unchecked")
-    public void header(final Map<String, Object> headerObjMap) {
-        header = (TypeHeader)headerObjMap.get(headerClass.getName());
+    /**
+     * @param headerModel the object graph of the header record, see {@link BindyAbstractFactory#factory()}
+     */
+    public void header(final Object[] headerModel) {
+        header = headerClass.isInstance(headerModel[0]) ? headerClass.cast(headerModel[0]) : null;
     }
 
-    @SuppressWarnings("unchecked")
-    public void footer(final Map<String, Object> footerObjMap) {
-        footer = (TypeFooter)footerObjMap.get(footerClass.getName());
+    /**
+     * @param footerModel the object graph of the footer record, see {@link BindyAbstractFactory#factory()}
+     */
+    public void footer(final Object[] footerModel) {
+        footer = footerClass.isInstance(footerModel[0]) ? footerClass.cast(footerModel[0]) : null;
     }
 
     public void entries(final List<TypeEntry> entries) {
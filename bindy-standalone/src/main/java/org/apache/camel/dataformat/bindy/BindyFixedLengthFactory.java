@@ -17,22 +17,21 @@
 package org.apache.camel.dataformat.bindy;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
-import org.apache.camel.dataformat.bindy.annotation.BindyConverter;
+import org.apache.camel.dataformat.bindy.accessor.Accessors;
+import org.apache.camel.dataformat.bindy.accessor.Instantiator;
 import org.apache.camel.dataformat.bindy.annotation.DataField;
 import org.apache.camel.dataformat.bindy.annotation.FixedLengthRecord;
 import org.apache.camel.dataformat.bindy.annotation.Link;
-import org.apache.camel.dataformat.bindy.format.FormatException;
-import org.apache.camel.dataformat.bindy.util.ConverterUtils;
-import org.apache.camel.support.ObjectHelper;
-import org.apache.camel.util.ReflectionHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,6 +49,25 @@ public class BindyFixedLengthFactory extends BindyAbstractFactory implements Bin
 
     private final Map<Integer, DataField> dataFields = new TreeMap<>();
     private final Map<Integer, Field> annotatedFields = new TreeMap<>();
+    private volatile FixedLengthFieldBinder[] binders;
+
+    private final Class<?> type;
+    /** creates the generated parser of the record class, <code>null</code> if there is none */
+    private final Instantiator parserInstantiator;
+    private BindingStrategy bindingStrategy = BindingStrategy.REFLECTION;
+    /** binds the records instead of the binding plan, once resolved (see {@link #parserResolved}) */
+    private volatile FixedLengthRecordParser parser;
+    private volatile boolean parserResolved;
+
+    /** positions of the fields which are bound, <code>null</code> to bind all of them */
+    private Set<Integer> projection;
+    private boolean validateUnprojectedFields = true;
+    /** size of the value caches of the fields without {@link DataField#cacheSize()} */
+    private int valueCacheSize;
+    /** size of the value caches of the String fields without {@link DataField#cacheSize()}, if greater than 0 */
+    private int stringPoolSize;
+    /** true if a {@link DataField#cacheSize()} enables a value cache */
+    private boolean cachedFields;
 
     private int numberOptionalFields;
     private int numberMandatoryFields;
@@ -71,12 +89,89 @@ public class BindyFixedLengthFactory extends BindyAbstractFactory implements Bin
 
     public BindyFixedLengthFactory(final Class<?> type) throws Exception {
         super(type);
+        this.type = type;
 
         header = void.class;
         footer = void.class;
 
         // initialize specific parameters of the fixed length model
         initFixedLengthModel();
+
+        parserInstantiator = generatedParser(type);
+    }
+
+    /**
+     * @return the instantiator of the parser generated for the type by the annotation processor, if any
+     */
+    private static Instantiator generatedParser(final Class<?> type) {
+        final Class<?> parserClass;
+        try {
+            parserClass = Class.forName(FixedLengthRecordParser.parserClassName(type), false, type.getClassLoader());
+        }
+        catch(final ClassNotFoundException e) {
+            return null;
+        }
+        if( !FixedLengthRecordParser.class.isAssignableFrom(parserClass)) {
+            return null;
+        }
+
+        LOG.debug("Generated parser found: {}", parserClass.getName());
+        return Accessors.instantiator(parserClass);
+    }
+
+    /**
+     * @return the parser generated by the annotation processor, else the binder generated at runtime with
+     *         {@link BindingStrategy#BYTECODE}, or <code>null</code> if the records are bound with the binding plan
+     */
+    private FixedLengthRecordParser parser() {
+        if(parserResolved) {
+            return parser;
+        }
+        FixedLengthRecordParser p = null;
+        if(hasGeneratedParser()) {
+            p = (FixedLengthRecordParser)parserInstantiator.newInstance();
+            p.init(formatFactory, getLocale());
+        }
+        else if(bindingStrategy == BindingStrategy.BYTECODE) {
+            p = FixedLengthBinderGenerator.generate(this, type, binders());
+        }
+        parser = p;
+        parserResolved = true;
+        return p;
+    }
+
+    Object[] reflectiveFactory() throws Exception {
+        return super.factory();
+    }
+
+    void reflectiveLink(final Object[] model) throws Exception {
+        super.link(model);
+    }
+
+    /**
+     * @return true if the records are bound by the parser generated by the annotation processor, which binds all the
+     *         fields without value caches: it is not used with a projection or caches
+     */
+    private boolean hasGeneratedParser() {
+        return parserInstantiator != null && projection == null && valueCacheSize == 0 && stringPoolSize == 0 && !cachedFields;
+    }
+
+    @Override
+    public Object[] factory() throws Exception {
+        if(hasGeneratedParser()) {
+            return parser().factory();
+        }
+        return super.factory();
+    }
+
+    @Override
+    public void link(final Object[] model) throws Exception {
+        if(hasGeneratedParser()) {
+            parser().link(model);
+        }
+        else {
+            super.link(model);
+        }
     }
 
     /**
@@ -122,6 +217,7 @@ public class BindyFixedLengthFactory extends BindyAbstractFactory implements Bin
 
                     dataFields.put(dataField.pos(), dataField);
                     annotatedFields.put(dataField.pos(), field);
+                    cachedFields |= dataField.cacheSize() > 0;
                 }
 
                 final Link linkField = field.getAnnotation(Link.class);
@@ -150,167 +246,110 @@ public class BindyFixedLengthFactory extends BindyAbstractFactory implements Bin
         }
     }
 
-    public void bind(final String record, final Map<String, Object> model, final int line) throws Exception {
+    /**
+     * Binds a record to the model. The record is accepted as a {@link CharSequence} so that byte oriented readers
+     * can pass a view over the raw input. The fields are parsed from their range in the record ({@link Format#parse(CharSequence, int, int)}),
+     * so only the values of String fields and formats without range support are copied into Strings.
+     * <p>
+     * Records are bound by the generated parser of the record class when there is one, or else according to the
+     * {@link BindingStrategy}.
+     */
+    public void bind(final CharSequence record, final Object[] model, final int line) throws Exception {
+
+        final FixedLengthRecordParser p = parser();
+        if(p != null) {
+            p.bind(record, model, line);
+            return;
+        }
 
         int pos = 1;
         int counterMandatoryFields = 0;
-        DataField dataField;
-        String token;
+        int start;
+        int end;
         int offset = 1;
         int length;
-        String delimiter;
-        Field field;
 
-        // Iterate through the list of positions
+        // the plan lists the fields in the order of their position
         // defined in the @DataField
-        // and grab the data from the line
-        final Collection<DataField> c = dataFields.values();
-        final Iterator<DataField> itr = c.iterator();
-
-        // this iterator is for a link list that was built using items in order
-        while(itr.hasNext()) {
-            dataField = itr.next();
-            length = dataField.length();
-            delimiter = dataField.delimiter();
-
-            if(length == 0 && dataField.lengthPos() != 0) {
-                final Field lengthField = annotatedFields.get(dataField.lengthPos());
-                lengthField.setAccessible(true);
-                final Object modelObj = model.get(lengthField.getDeclaringClass().getName());
-                final Object lengthObj = lengthField.get(modelObj);
-                length = ((Integer)lengthObj).intValue();
+        for(final FixedLengthFieldBinder binder : binders()) {
+            length = binder.length;
+
+            if(length == 0 && binder.dataField.lengthPos() != 0) {
+                length = binder.length(model);
             }
-            if(length < 1 && delimiter == null && dataField.lengthPos() == 0) {
-                throw new IllegalArgumentException("Either length or delimiter must be specified for the field : " + dataField.toString());
+            if(length < 1 && binder.delimiter == null && binder.dataField.lengthPos() == 0) {
+                throw new IllegalArgumentException("Either length or delimiter must be specified for the field : " + binder.dataField.toString());
             }
             if(offset - 1 <= -1) {
-                throw new IllegalArgumentException("Offset/Position of the field " + dataField.toString()
+                throw new IllegalArgumentException("Offset/Position of the field " + binder.dataField.toString()
                         + " cannot be negative");
             }
 
             // skip ahead if the expected position is greater than the offset
-            if(dataField.pos() > offset) {
-                LOG.debug("skipping ahead [{}] chars.", dataField.pos() - offset);
-                offset = dataField.pos();
+            if(binder.pos > offset) {
+                LOG.debug("skipping ahead [{}] chars.", binder.pos - offset);
+                offset = binder.pos;
             }
 
+            // the chars of the field are only addressed by their range in the record
             if(length > 0) {
-                if(record.length() < offset) {
-                    token = "";
-                }
-                else {
-                    int endIndex = offset + length - 1;
-                    if(endIndex > record.length()) {
-                        endIndex = record.length();
-                    }
-                    token = record.substring(offset - 1, endIndex);
-                }
+                start = FixedLengthRecordParser.start(record, offset);
+                end = FixedLengthRecordParser.end(record, offset, length);
                 offset += length;
             }
-            else if( !"".equals(delimiter)) {
-                final String tempToken = record.substring(offset - 1, record.length());
-                token = tempToken.substring(0, tempToken.indexOf(delimiter));
+            else if( !"".equals(binder.delimiter)) {
+                start = offset - 1;
+                end = FixedLengthRecordParser.delimiter(record, start, binder.delimiter);
                 // include the delimiter in the offset calculation
-                offset += token.length() + 1;
+                offset = end + 2;
             }
             else {
                 // defined as a zero-length field
-                token = "";
+                start = 0;
+                end = 0;
             }
 
-            if(dataField.trim()) {
-                token = trim(token, dataField, paddingChar);
-                //token = token.trim();
+            // the chars of a field outside of the projection are only looked at to check it is present
+            final boolean check = binder.required && (binder.projected || validateUnprojectedFields);
+            if(binder.projected || check) {
+                if(binder.trimLeft) {
+                    start = FixedLengthRecordParser.trimStart(record, start, end, binder.paddingChar);
+                }
+                if(binder.trimRight) {
+                    end = FixedLengthRecordParser.trimEnd(record, start, end, binder.paddingChar);
+                }
             }
 
             // Check mandatory field
-            if(dataField.required()) {
+            if(binder.required) {
 
                 // Increment counter of mandatory fields
                 ++counterMandatoryFields;
 
                 // Check if content of the field is empty
-                // This is not possible for mandatory fields
-                if(token.equals("")) {
-                    throw new IllegalArgumentException("The mandatory field defined at the position " + pos
-                            + " is empty for the line: " + (line - 1));
+                if(check) {
+                    FixedLengthRecordParser.checkMandatory(start, end, pos, line);
                 }
             }
 
-            // Get Field to be set
-            field = annotatedFields.get(dataField.pos());
-            field.setAccessible(true);
-
-            if(LOG.isDebugEnabled()) {
-                LOG.debug("Pos/Offset: {}, Data: {}, Field type: {}", offset, token, field.getType());
-            }
-
-            // Create format object to format the field
-            final FormattingOptions formattingOptions = ConverterUtils.convert(dataField,
-                    field.getType(),
-                    field.getAnnotation(BindyConverter.class),
-                    getLocale());
-            final Format<?> format = formatFactory.getFormat(formattingOptions);
-
-            // field object to be set
-            final Object modelField = model.get(field.getDeclaringClass().getName());
-
-            // format the data received
-            Object value = null;
-
-            if("".equals(token)) {
-                token = dataField.defaultValue();
-            }
-            if( !"".equals(token)) {
-                try {
-                    value = format.parse(token);
-                }
-                catch(final FormatException ie) {
-                    throw new IllegalArgumentException(ie.getMessage() +
-                            ", field(" + annotatedFields.get(dataField.pos()) + ") position: " + dataField.pos() + ", line: " + (line - 1),
-                            ie);
-                }
-                catch(final Exception e) {
-                    throw new IllegalArgumentException(
-                            "Parsing error detected for field (" + annotatedFields.get(dataField.pos()) + ") defined at the position/offset: " +
-                                    dataField.pos() + ", line: " + (line - 1),
-                            e);
-                }
+            if( !binder.projected) {
+                ++pos;
+                continue;
             }
-            else {
-                value = getDefaultValueForPrimitive(field.getType());
-            }
-
-            if(value != null && !dataField.method().isEmpty()) {
-                final Class<?> clazz = field.getType();
-
-                final String methodName = dataField.method().substring(dataField.method().lastIndexOf(".") + 1,
-                        dataField.method().length());
 
-                Method m = ReflectionHelper.findMethod(clazz, methodName, field.getType());
-                if(m != null) {
-                    // this method must be static and return type
-                    // must be the same as the datafield and
-                    // must receive only the datafield value
-                    // as the method argument
-                    value = ObjectHelper.invokeMethod(m, null, value);
-                }
-                else {
-                    // fallback to method without parameter, that is on the value itself
-                    m = ReflectionHelper.findMethod(clazz, methodName);
-                    value = ObjectHelper.invokeMethod(m, value);
-                }
+            if(LOG.isDebugEnabled()) {
+                LOG.debug("Pos/Offset: {}, Data: {}, Field type: {}", offset, record.subSequence(start, end), binder.field.getType());
             }
 
-            field.set(modelField, value);
+            binder.set(model, record, start, end, line);
 
             ++pos;
 
         }
 
         // check for unmapped non-whitespace data at the end of the line
-        if(offset <= record.length() && !(record.substring(offset - 1, record.length())).trim().equals("") && !isIgnoreTrailingChars()) {
-            throw new IllegalArgumentException("Unexpected / unmapped characters found at the end of the fixed-length record at line : " + (line - 1));
+        if( !isIgnoreTrailingChars()) {
+            FixedLengthRecordParser.checkTrailing(record, offset, line);
         }
 
         LOG.debug("Counter mandatory fields: {}", counterMandatoryFields);
@@ -325,41 +364,224 @@ public class BindyFixedLengthFactory extends BindyAbstractFactory implements Bin
 
     }
 
-    private String trim(String token, final DataField dataField, final char paddingChar) {
-        char myPaddingChar = dataField.paddingChar();
-        if(dataField.paddingChar() == 0) {
-            myPaddingChar = paddingChar;
+    /**
+     * The binding plan of the record: one compiled step per {@link DataField}, in the order of their position.
+     * It is built on first use, as the format factory and the locale are only set once the factory has been
+     * created, and is then shared by all threads.
+     */
+    private FixedLengthFieldBinder[] binders() {
+        final FixedLengthFieldBinder[] plan = binders;
+        return plan != null ? plan : buildBinders();
+    }
+
+    /**
+     * Builds the plan once: the chunks of a parallel unmarshal may all start with it, and must share the value caches
+     * of its fields.
+     */
+    private synchronized FixedLengthFieldBinder[] buildBinders() {
+        FixedLengthFieldBinder[] plan = binders;
+        if(plan == null) {
+            plan = new FixedLengthFieldBinder[dataFields.size()];
+            int i = 0;
+            // the length fields are needed to find the following fields, they are always bound
+            final Set<Integer> lengthPositions = new HashSet<>();
+            for(final DataField dataField : dataFields.values()) {
+                lengthPositions.add(dataField.lengthPos());
+            }
+            for(final DataField dataField : dataFields.values()) {
+                final Field field = annotatedFields.get(dataField.pos());
+                final Field lengthField = dataField.lengthPos() != 0 ? annotatedFields.get(dataField.lengthPos()) : null;
+                plan[i++] = new FixedLengthFieldBinder(this,
+                        dataField,
+                        field,
+                        projection == null || projection.contains(dataField.pos()) || lengthPositions.contains(dataField.pos()),
+                        lengthField,
+                        paddingChar,
+                        formatFactory,
+                        getLocale(),
+                        field.getType() == String.class && stringPoolSize > 0 ? stringPoolSize : valueCacheSize);
+            }
+            binders = plan;
+        }
+        return plan;
+    }
+
+    @Override
+    public void setLocale(final String locale) {
+        super.setLocale(locale);
+        binders = null;
+        parserResolved = false;
+    }
+
+    @Override
+    public void setFormatFactory(final FormatFactory formatFactory) {
+        super.setFormatFactory(formatFactory);
+        binders = null;
+        parserResolved = false;
+    }
+
+    public BindingStrategy getBindingStrategy() {
+        return bindingStrategy;
+    }
+
+    /**
+     * Sets how the records are bound when the record class has no parser generated by the annotation processor,
+     * {@link BindingStrategy#REFLECTION} by default.
+     */
+    public void setBindingStrategy(final BindingStrategy bindingStrategy) {
+        org.apache.camel.util.ObjectHelper.notNull(bindingStrategy, "bindingStrategy");
+        this.bindingStrategy = bindingStrategy;
+        parserResolved = false;
+    }
+
+    /**
+     * @return the position of the {@code @DataField} with the name in the model classes
+     * @throws IllegalArgumentException if there is no such field
+     */
+    public int position(final String fieldName) {
+        for(final Map.Entry<Integer, Field> field : annotatedFields.entrySet()) {
+            if(field.getValue().getName().equals(fieldName)) {
+                return field.getKey();
+            }
         }
-        if("R".equals(dataField.align())) {
-            return leftTrim(token, myPaddingChar);
+        throw new IllegalArgumentException("No @DataField named " + fieldName + " in the model of " + type.getName());
+    }
+
+    /**
+     * @return the 1-based offset of the field at the position in every record, which is known as long as the fields
+     *         before it all have a fixed length
+     * @throws IllegalArgumentException if there is no field at the position or its offset depends on the record
+     */
+    public int fixedOffset(final int pos) {
+        if( !dataFields.containsKey(pos)) {
+            throw new IllegalArgumentException("No @DataField at the position " + pos + " in the model of " + type.getName());
         }
-        else if("L".equals(dataField.align())) {
-            return rightTrim(token, myPaddingChar);
+        int offset = 1;
+        for(final DataField dataField : dataFields.values()) {
+            if(dataField.pos() > offset) {
+                offset = dataField.pos();
+            }
+            if(dataField.pos() == pos) {
+                return offset;
+            }
+            if(dataField.length() < 1) {
+                throw new IllegalArgumentException("The offset of the @DataField at the position " + pos
+                        + " is not fixed: it follows the field " + annotatedFields.get(dataField.pos()));
+            }
+            offset += dataField.length();
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * @return the length of the field at the position, 0 if it is not fixed
+     */
+    public int fixedLength(final int pos) {
+        final DataField dataField = dataFields.get(pos);
+        if(dataField == null) {
+            throw new IllegalArgumentException("No @DataField at the position " + pos + " in the model of " + type.getName());
+        }
+        return dataField.lengthPos() == 0 ? Math.max(dataField.length(), 0) : 0;
+    }
+
+    /**
+     * Restricts the binding to some fields: the format, the post-processing method and the assignment of the other
+     * fields are skipped, so they keep the value of a new model object (or the default value of the type, for a
+     * constructor parameter). Their chars are still used to find the position of the following fields, and the
+     * fields holding the length of another one are always bound.
+     *
+     * @param fieldNames names of the fields of the model classes, may be <code>null</code>
+     * @param positions positions of the fields (see {@link DataField#pos()}), may be <code>null</code>
+     * @throws IllegalArgumentException if a field name or a position is not one of the model
+     */
+    public void setProjection(final Collection<String> fieldNames, final Collection<Integer> positions) {
+        if(fieldNames == null && positions == null) {
+            projection = null;
         }
         else {
-            token = leftTrim(token, myPaddingChar);
-            return rightTrim(token, myPaddingChar);
+            final Set<Integer> projected = new HashSet<>();
+            if(fieldNames != null) {
+                final Set<String> unknown = new HashSet<>(fieldNames);
+                for(final Map.Entry<Integer, Field> field : annotatedFields.entrySet()) {
+                    if(fieldNames.contains(field.getValue().getName())) {
+                        projected.add(field.getKey());
+                        unknown.remove(field.getValue().getName());
+                    }
+                }
+                if( !unknown.isEmpty()) {
+                    throw new IllegalArgumentException("No @DataField named " + unknown + " in the model of " + type.getName());
+                }
+            }
+            if(positions != null) {
+                for(final Integer pos : positions) {
+                    if( !dataFields.containsKey(pos)) {
+                        throw new IllegalArgumentException("No @DataField at the position " + pos + " in the model of " + type.getName());
+                    }
+                    projected.add(pos);
+                }
+            }
+            projection = projected;
         }
+        binders = null;
+        parserResolved = false;
+    }
+
+    /**
+     * @return true if the required fields outside of the projection are checked (see
+     *         {@link #setProjection(Collection, Collection)}), as well as the length of the records
+     */
+    public boolean isValidateUnprojectedFields() {
+        return validateUnprojectedFields || projection == null;
     }
 
-    private String rightTrim(final String token, final char myPaddingChar) {
-        final StringBuilder sb = new StringBuilder(token);
+    /**
+     * Sets whether the fields outside of the projection are still checked to be present when they are required,
+     * and the length of the records against {@link #recordLength()}; true by default.
+     */
+    public void setValidateUnprojectedFields(final boolean validateUnprojectedFields) {
+        this.validateUnprojectedFields = validateUnprojectedFields;
+        parserResolved = false;
+    }
 
-        while(sb.length() > 0 && myPaddingChar == sb.charAt(sb.length() - 1)) {
-            sb.deleteCharAt(sb.length() - 1);
-        }
+    public int getValueCacheSize() {
+        return valueCacheSize;
+    }
 
-        return sb.toString();
+    /**
+     * Sets the size of the {@link ValueCache} of the fields of an immutable type whose {@link DataField#cacheSize()}
+     * is not set; 0, the default, disables them.
+     */
+    public void setValueCacheSize(final int valueCacheSize) {
+        this.valueCacheSize = valueCacheSize;
+        binders = null;
+        parserResolved = false;
     }
 
-    private String leftTrim(final String token, final char myPaddingChar) {
-        final StringBuilder sb = new StringBuilder(token);
+    public int getStringPoolSize() {
+        return stringPoolSize;
+    }
 
-        while(sb.length() > 0 && myPaddingChar == (sb.charAt(0))) {
-            sb.deleteCharAt(0);
-        }
+    /**
+     * Sets the size of the {@link ValueCache} of the String fields whose {@link DataField#cacheSize()} is not set,
+     * which then share the instances of repeated values; 0, the default, uses {@link #setValueCacheSize(int)}.
+     */
+    public void setStringPoolSize(final int stringPoolSize) {
+        this.stringPoolSize = stringPoolSize;
+        binders = null;
+        parserResolved = false;
+    }
 
-        return sb.toString();
+    /**
+     * @return the value caches of the fields by field name, with their hit and miss counters
+     */
+    public Map<String, ValueCache> getValueCaches() {
+        final Map<String, ValueCache> caches = new LinkedHashMap<>();
+        for(final FixedLengthFieldBinder binder : binders()) {
+            if(binder.cache != null) {
+                caches.put(binder.field.getName(), binder.cache);
+            }
+        }
+        return Collections.unmodifiableMap(caches);
     }
 
     /**
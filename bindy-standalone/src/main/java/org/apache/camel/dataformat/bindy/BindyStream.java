@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streaming counterpart of {@link BindyExchange}: entries are read and bound one at a time, as the caller
+ * iterates, so memory use stays constant regardless of the length of the input.
+ * <p>
+ * The header is available as soon as the stream has been opened. The footer is only known once the last entry
+ * has been read, i.e. after {@link #hasNext()} returned <code>false</code>.
+ * <p>
+ * Checked exceptions raised while binding a record are rethrown as {@link WrappedException}.
+ */
+public interface BindyStream<TypeEntry, TypeHeader, TypeFooter> extends Iterator<TypeEntry>, Closeable {
+
+    TypeHeader getHeader();
+
+    TypeFooter getFooter();
+
+    /**
+     * @return line number (1-based) of the entry last returned by {@link #next()}
+     */
+    int getLineNumber();
+
+    /**
+     * @return the remaining entries as a sequential {@link Stream}; closing it closes this instance
+     */
+    Stream<TypeEntry> stream();
+
+    @Override
+    void close();
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+import java.nio.CharBuffer;
+import java.util.function.Predicate;
+
+/**
+ * Builds the {@link RecordFilter} testing the raw chars of a field, e.g.
+ * <code>RecordFilter.field("status").equalTo("A")</code>. The chars are taken at the offset of the field, cut at the
+ * end of the record, and are not trimmed.
+ */
+public final class FieldCondition {
+
+    private final String fieldName;
+    private final int pos;
+
+    FieldCondition(final String fieldName, final int pos) {
+        this.fieldName = fieldName;
+        this.pos = pos;
+    }
+
+    /**
+     * Accepts the records in which the chars of the field are the value.
+     */
+    public RecordFilter equalTo(final String value) {
+        return filter((record, start, end) -> end - start == value.length() && regionMatches(record, start, value));
+    }
+
+    /**
+     * Accepts the records in which the chars of the field start with the prefix.
+     */
+    public RecordFilter startsWith(final String prefix) {
+        return filter((record, start, end) -> end - start >= prefix.length() && regionMatches(record, start, prefix));
+    }
+
+    /**
+     * Accepts the records in which the chars of the field match the predicate. It receives a view over the record,
+     * which must not be kept.
+     */
+    public RecordFilter matches(final Predicate<CharSequence> predicate) {
+        return filter((record, start, end) -> predicate.test(CharBuffer.wrap(record, start, end)));
+    }
+
+    private RecordFilter filter(final RangePredicate predicate) {
+        return new RecordFilter() {
+            @Override
+            public boolean accept(final CharSequence record) {
+                throw new IllegalStateException("The filter on the field " + (fieldName != null ? fieldName : "at the position " + pos)
+                        + " has not been resolved");
+            }
+
+            @Override
+            public RecordFilter resolve(final BindyFixedLengthFactory factory) {
+                final int position = fieldName != null ? factory.position(fieldName) : pos;
+                final int length = factory.fixedLength(position);
+                if(length < 1) {
+                    throw new IllegalArgumentException("The @DataField at the position " + position + " has no fixed length");
+                }
+                final int offset = factory.fixedOffset(position);
+                return record -> predicate.test(record, FixedLengthRecordParser.start(record, offset),
+                        FixedLengthRecordParser.end(record, offset, length));
+            }
+        };
+    }
+
+    private static boolean regionMatches(final CharSequence record, final int start, final String value) {
+        for(int i = 0; i < value.length(); i++) {
+            if(record.charAt(start + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @FunctionalInterface
+    private interface RangePredicate {
+        boolean test(CharSequence record, int start, int end);
+    }
+
+}
@@ -0,0 +1,590 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates a {@link FixedLengthRecordBinder} for a binding plan at runtime (see {@link BindingStrategy#BYTECODE}),
+ * for record classes which cannot go through the <code>bindy-processor</code> module, e.g. classes of third-party jars.
+ * <p>
+ * The generated <code>bind</code> method is straight-line code: the offsets and lengths of the fields, their padding
+ * and trimming and the positions used in error messages are constants, the shared binding rules of
+ * {@link FixedLengthRecordParser} are called statically and the fields are assigned with <code>putfield</code>. As it
+ * has no branches, the class file needs no stack map frames. The class is defined in the package of the record class
+ * with <code>MethodHandles.Lookup.defineClass</code>, so that package-private fields can be assigned as well; both
+ * are looked up reflectively as they only exist since Java 9.
+ * <p>
+ * Only records whose fields all have a fixed length are supported: with delimited fields or a <code>lengthPos</code>
+ * the offsets are only known while binding. <code>null</code> is returned for them, or when the class cannot be
+ * defined, and the factory keeps using the binding plan.
+ */
+final class FixedLengthBinderGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FixedLengthBinderGenerator.class);
+
+    /** the binders of a record class are generated once per factory, the names must not collide */
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private static final String PARSER = internalName(FixedLengthRecordParser.class);
+    private static final String BINDER = internalName(FixedLengthRecordBinder.class);
+
+    private static final String START = "(Ljava/lang/CharSequence;I)I";
+    private static final String END = "(Ljava/lang/CharSequence;II)I";
+    private static final String TRIM = "(Ljava/lang/CharSequence;IIC)I";
+    private static final String CHECK_MANDATORY = "(IIII)V";
+    private static final String PARSE = "(Ljava/lang/Object;Ljava/lang/CharSequence;IILjava/lang/String;Ljava/lang/Object;Ljava/lang/String;II)Ljava/lang/Object;";
+    /** primitive types converted without boxing by the parse method named after them, e.g. parseInt */
+    private static final Set<Class<?>> UNBOXED = new HashSet<>(Arrays.asList(int.class, short.class, byte.class, long.class, double.class, float.class));
+    private static final String CHECK_TRAILING = "(Ljava/lang/CharSequence;II)V";
+    private static final String SET = "(I[Ljava/lang/Object;Ljava/lang/CharSequence;III)V";
+    private static final String BIND = "(Ljava/lang/CharSequence;[Ljava/lang/Object;I)V";
+
+    private static final Map<Class<?>, Class<?>> WRAPPERS = new HashMap<>();
+    static {
+        WRAPPERS.put(boolean.class, Boolean.class);
+        WRAPPERS.put(byte.class, Byte.class);
+        WRAPPERS.put(char.class, Character.class);
+        WRAPPERS.put(short.class, Short.class);
+        WRAPPERS.put(int.class, Integer.class);
+        WRAPPERS.put(long.class, Long.class);
+        WRAPPERS.put(float.class, Float.class);
+        WRAPPERS.put(double.class, Double.class);
+    }
+
+    // locals of bind()
+    private static final int THIS = 0;
+    private static final int RECORD = 1;
+    private static final int MODEL = 2;
+    private static final int LINE = 3;
+    private static final int START_VAR = 4;
+    private static final int END_VAR = 5;
+    private static final int FIRST_MODEL_VAR = 6;
+
+    private final Class<?> type;
+    private final FixedLengthFieldBinder[] binders;
+    private final boolean ignoreTrailingChars;
+    private final boolean validateUnprojectedFields;
+
+    private FixedLengthBinderGenerator(final Class<?> type, final FixedLengthFieldBinder[] binders, final boolean ignoreTrailingChars,
+            final boolean validateUnprojectedFields) {
+        this.type = type;
+        this.binders = binders;
+        this.ignoreTrailingChars = ignoreTrailingChars;
+        this.validateUnprojectedFields = validateUnprojectedFields;
+    }
+
+    /**
+     * @return the binder of the record class of the factory, or <code>null</code> if none can be generated
+     */
+    static FixedLengthRecordBinder generate(final BindyFixedLengthFactory factory, final Class<?> type, final FixedLengthFieldBinder[] binders) {
+        for(final FixedLengthFieldBinder binder : binders) {
+            if(binder.length < 1) {
+                LOG.debug("No binder generated for {}: the field {} has no fixed length", type.getName(), binder.field);
+                return null;
+            }
+        }
+
+        final String name = type.getName() + "$$BindyBinder" + COUNTER.incrementAndGet();
+        try {
+            final byte[] bytes = new FixedLengthBinderGenerator(type, binders, factory.isIgnoreTrailingChars(),
+                    factory.isValidateUnprojectedFields()).classFile(name.replace('.', '/'));
+            final FixedLengthRecordBinder binder = (FixedLengthRecordBinder)define(type, bytes).getConstructor().newInstance();
+            binder.init(factory, binders);
+            LOG.debug("Generated binder: {}", name);
+            return binder;
+        }
+        catch(final NoSuchMethodException e) {
+            LOG.debug("No binder generated for {}: defining classes requires Java 9 or later", type.getName());
+        }
+        catch(final InvocationTargetException e) {
+            LOG.warn("No binder generated for {}, binding with reflection: {}", type.getName(), e.getCause().toString());
+        }
+        catch(final ReflectiveOperationException | IOException | RuntimeException | LinkageError e) {
+            LOG.warn("No binder generated for {}, binding with reflection: {}", type.getName(), e.toString());
+        }
+        return null;
+    }
+
+    private static Class<?> define(final Class<?> type, final byte[] bytes) throws ReflectiveOperationException {
+        final Method privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+        final Method defineClass = MethodHandles.Lookup.class.getMethod("defineClass", byte[].class);
+        return (Class<?>)defineClass.invoke(privateLookupIn.invoke(null, type, MethodHandles.lookup()), bytes);
+    }
+
+    private byte[] classFile(final String name) throws IOException {
+        final ClassFile cf = new ClassFile();
+        final int thisClass = cf.classRef(name);
+        final int superClass = cf.classRef(BINDER);
+
+        final Code init = new Code(cf);
+        init.aload(THIS);
+        init.invoke(Code.INVOKESPECIAL, cf.methodRef(BINDER, "<init>", "()V"));
+        init.op(Code.RETURN);
+
+        final Code bind = bind(cf);
+
+        // the methods add their names to the constant pool, which comes first
+        final ByteArrayOutputStream methods = new ByteArrayOutputStream();
+        final DataOutputStream methodsOut = new DataOutputStream(methods);
+        init.writeMethod(methodsOut, Modifier.PUBLIC, "<init>", "()V", 1, 1);
+        bind.writeMethod(methodsOut, Modifier.PUBLIC, "bind", BIND, 11, FIRST_MODEL_VAR + models().size());
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        // Java 8
+        out.writeShort(52);
+        cf.writePool(out);
+        out.writeShort(Modifier.PUBLIC | Modifier.FINAL | 0x20 /* ACC_SUPER */);
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        // interfaces, fields
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeShort(2);
+        methods.writeTo(out);
+        // attributes
+        out.writeShort(0);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * The model objects whose fields are assigned by the generated code, with the local variable holding them.
+     */
+    private Map<Class<?>, Integer> models() {
+        final Map<Class<?>, Integer> models = new LinkedHashMap<>();
+        for(final FixedLengthFieldBinder binder : binders) {
+            if(isAssignable(binder)) {
+                final Class<?> owner = binder.field.getDeclaringClass();
+                if( !models.containsKey(owner)) {
+                    models.put(owner, FIRST_MODEL_VAR + models.size());
+                }
+            }
+        }
+        return models;
+    }
+
+    /**
+     * @return the slot of the model object in the object graph of a record
+     */
+    private int slot(final Class<?> owner) {
+        for(final FixedLengthFieldBinder binder : binders) {
+            if(binder.field.getDeclaringClass() == owner) {
+                return binder.slot;
+            }
+        }
+        throw new IllegalArgumentException(owner.getName());
+    }
+
+    private Code bind(final ClassFile cf) {
+        final Code code = new Code(cf);
+
+        final Map<Class<?>, Integer> models = models();
+        for(final Map.Entry<Class<?>, Integer> model : models.entrySet()) {
+            code.aload(MODEL);
+            code.iconst(slot(model.getKey()));
+            code.op(Code.AALOAD);
+            code.checkcast(model.getKey());
+            code.astore(model.getValue());
+        }
+
+        int offset = 1;
+        for(int i = 0; i < binders.length; i++) {
+            final FixedLengthFieldBinder binder = binders[i];
+
+            // skip ahead if the expected position is greater than the offset
+            if(binder.pos > offset) {
+                offset = binder.pos;
+            }
+
+            // a field outside of the projection is skipped, unless it is checked to be present
+            final boolean check = binder.required && (binder.projected || validateUnprojectedFields);
+            if( !binder.projected && !check) {
+                offset += binder.length;
+                continue;
+            }
+
+            code.aload(RECORD);
+            code.iconst(offset);
+            code.invoke(Code.INVOKESTATIC, cf.methodRef(PARSER, "start", START));
+            code.istore(START_VAR);
+            code.aload(RECORD);
+            code.iconst(offset);
+            code.iconst(binder.length);
+            code.invoke(Code.INVOKESTATIC, cf.methodRef(PARSER, "end", END));
+            code.istore(END_VAR);
+            offset += binder.length;
+
+            if(binder.trimLeft) {
+                trim(code, cf, "trimStart", binder.paddingChar);
+                code.istore(START_VAR);
+            }
+            if(binder.trimRight) {
+                trim(code, cf, "trimEnd", binder.paddingChar);
+                code.istore(END_VAR);
+            }
+
+            if(check) {
+                code.iload(START_VAR);
+                code.iload(END_VAR);
+                code.iconst(i + 1);
+                code.iload(LINE);
+                code.invoke(Code.INVOKESTATIC, cf.methodRef(PARSER, "checkMandatory", CHECK_MANDATORY));
+            }
+
+            if( !binder.projected) {
+                continue;
+            }
+            if(isAssignable(binder)) {
+                final Field field = binder.field;
+                code.aload(models.get(field.getDeclaringClass()));
+
+                code.aload(THIS);
+                code.getfield(cf.fieldRef(BINDER, "formats", "[Ljava/lang/Object;"));
+                code.iconst(i);
+                code.op(Code.AALOAD);
+                code.aload(RECORD);
+                code.iload(START_VAR);
+                code.iload(END_VAR);
+                code.ldc(binder.defaultValue);
+                code.aload(THIS);
+                code.getfield(cf.fieldRef(BINDER, "primitiveDefaults", "[Ljava/lang/Object;"));
+                code.iconst(i);
+                code.op(Code.AALOAD);
+                code.ldc(binder.fieldName);
+                code.iconst(binder.pos);
+                code.iload(LINE);
+                if(UNBOXED.contains(field.getType())) {
+                    final String name = field.getType().getName();
+                    code.invoke(Code.INVOKESTATIC, cf.methodRef(PARSER, "parse" + Character.toUpperCase(name.charAt(0)) + name.substring(1),
+                            PARSE.substring(0, PARSE.indexOf(')') + 1) + descriptor(field.getType())));
+                }
+                else if(field.getType().isPrimitive()) {
+                    code.invoke(Code.INVOKESTATIC, cf.methodRef(PARSER, "parse", PARSE));
+                    final Class<?> wrapper = WRAPPERS.get(field.getType());
+                    code.checkcast(wrapper);
+                    code.invoke(Code.INVOKEVIRTUAL, cf.methodRef(internalName(wrapper), field.getType().getName() + "Value",
+                            "()" + descriptor(field.getType())));
+                }
+                else {
+                    code.invoke(Code.INVOKESTATIC, cf.methodRef(PARSER, "parse", PARSE));
+                    code.checkcast(field.getType());
+                }
+                code.putfield(cf.fieldRef(internalName(field.getDeclaringClass()), field.getName(), descriptor(field.getType())));
+            }
+            else {
+                code.aload(THIS);
+                code.iconst(i);
+                code.aload(MODEL);
+                code.aload(RECORD);
+                code.iload(START_VAR);
+                code.iload(END_VAR);
+                code.iload(LINE);
+                code.invoke(Code.INVOKEVIRTUAL, cf.methodRef(BINDER, "set", SET));
+            }
+        }
+
+        if( !ignoreTrailingChars) {
+            code.aload(RECORD);
+            code.iconst(offset);
+            code.iload(LINE);
+            code.invoke(Code.INVOKESTATIC, cf.methodRef(PARSER, "checkTrailing", CHECK_TRAILING));
+        }
+
+        code.op(Code.RETURN);
+        return code;
+    }
+
+    private static void trim(final Code code, final ClassFile cf, final String method, final char paddingChar) {
+        code.aload(RECORD);
+        code.iload(START_VAR);
+        code.iload(END_VAR);
+        code.iconst(paddingChar);
+        code.invoke(Code.INVOKESTATIC, cf.methodRef(PARSER, method, TRIM));
+    }
+
+    /**
+     * @return true if the generated code can convert the value of the field and assign it, otherwise it is set through
+     *         its {@link FixedLengthFieldBinder}
+     */
+    private boolean isAssignable(final FixedLengthFieldBinder binder) {
+        if( !binder.projected || binder.converter || binder.hasMethod || binder.argument >= 0 || binder.cache != null) {
+            return false;
+        }
+        final Field field = binder.field;
+        final int modifiers = field.getModifiers();
+        if(Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isPrivate(modifiers)) {
+            return false;
+        }
+        return (Modifier.isPublic(modifiers) || isSamePackage(field.getDeclaringClass()))
+                && isAccessible(field.getDeclaringClass()) && isAccessible(field.getType());
+    }
+
+    /**
+     * @return true if the generated class, defined in the package of the record class, can refer to the class
+     */
+    private boolean isAccessible(final Class<?> cl) {
+        if(cl.isPrimitive()) {
+            return true;
+        }
+        if(cl.isArray()) {
+            return isAccessible(cl.getComponentType());
+        }
+        for(Class<?> c = cl; c != null; c = c.getEnclosingClass()) {
+            final int modifiers = c.getModifiers();
+            if(Modifier.isPrivate(modifiers) || !Modifier.isPublic(modifiers) && !isSamePackage(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isSamePackage(final Class<?> cl) {
+        return cl.getClassLoader() == type.getClassLoader() && packageName(cl).equals(packageName(type));
+    }
+
+    private static String packageName(final Class<?> cl) {
+        final String name = cl.getName();
+        final int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(0, dot);
+    }
+
+    private static String internalName(final Class<?> cl) {
+        return cl.getName().replace('.', '/');
+    }
+
+    private static String descriptor(final Class<?> cl) {
+        if(cl.isArray()) {
+            return internalName(cl);
+        }
+        if( !cl.isPrimitive()) {
+            return "L" + internalName(cl) + ";";
+        }
+        if(cl == boolean.class) {
+            return "Z";
+        }
+        if(cl == long.class) {
+            return "J";
+        }
+        return String.valueOf(Character.toUpperCase(cl.getName().charAt(0)));
+    }
+
+    /**
+     * The constant pool of the class being generated.
+     */
+    private static final class ClassFile {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream pool = new DataOutputStream(bytes);
+        private final Map<String, Integer> entries = new HashMap<>();
+        private int count = 1;
+
+        int utf8(final String value) {
+            return entry("U" + value, 1, () -> pool.writeUTF(value));
+        }
+
+        int integer(final int value) {
+            return entry("I" + value, 3, () -> pool.writeInt(value));
+        }
+
+        int classRef(final String internalName) {
+            final int utf8 = utf8(internalName);
+            return entry("C" + internalName, 7, () -> pool.writeShort(utf8));
+        }
+
+        int string(final String value) {
+            final int utf8 = utf8(value);
+            return entry("S" + value, 8, () -> pool.writeShort(utf8));
+        }
+
+        int fieldRef(final String owner, final String name, final String descriptor) {
+            return memberRef(9, owner, name, descriptor);
+        }
+
+        int methodRef(final String owner, final String name, final String descriptor) {
+            return memberRef(10, owner, name, descriptor);
+        }
+
+        private int memberRef(final int tag, final String owner, final String name, final String descriptor) {
+            final int classRef = classRef(owner);
+            final int nameUtf8 = utf8(name);
+            final int descriptorUtf8 = utf8(descriptor);
+            final int nameAndType = entry("N" + name + " " + descriptor, 12, () -> {
+                pool.writeShort(nameUtf8);
+                pool.writeShort(descriptorUtf8);
+            });
+            return entry(tag + owner + "." + name + " " + descriptor, tag, () -> {
+                pool.writeShort(classRef);
+                pool.writeShort(nameAndType);
+            });
+        }
+
+        private int entry(final String key, final int tag, final Body body) {
+            final Integer index = entries.get(key);
+            if(index != null) {
+                return index;
+            }
+            try {
+                pool.writeByte(tag);
+                body.write();
+            }
+            catch(final IOException e) {
+                // not thrown by a ByteArrayOutputStream
+                throw new IllegalStateException(e);
+            }
+            entries.put(key, count);
+            return count++;
+        }
+
+        void writePool(final DataOutputStream out) throws IOException {
+            out.writeShort(count);
+            bytes.writeTo(out);
+        }
+
+        private interface Body {
+            void write() throws IOException;
+        }
+    }
+
+    /**
+     * The code of a method: only the few instructions needed by the binders, without branches.
+     */
+    private static final class Code {
+
+        static final int AALOAD = 0x32;
+        static final int RETURN = 0xb1;
+        static final int INVOKEVIRTUAL = 0xb6;
+        static final int INVOKESPECIAL = 0xb7;
+        static final int INVOKESTATIC = 0xb8;
+
+        private final ClassFile cf;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Code(final ClassFile cf) {
+            this.cf = cf;
+        }
+
+        void op(final int opcode) {
+            bytes.write(opcode);
+        }
+
+        private void op(final int opcode, final int operand) {
+            bytes.write(opcode);
+            bytes.write(operand >> 8);
+            bytes.write(operand);
+        }
+
+        void aload(final int var) {
+            bytes.write(0x19);
+            bytes.write(var);
+        }
+
+        void astore(final int var) {
+            bytes.write(0x3a);
+            bytes.write(var);
+        }
+
+        void iload(final int var) {
+            bytes.write(0x15);
+            bytes.write(var);
+        }
+
+        void istore(final int var) {
+            bytes.write(0x36);
+            bytes.write(var);
+        }
+
+        void iconst(final int value) {
+            if(value >= -1 && value <= 5) {
+                // iconst_m1 .. iconst_5
+                op(0x03 + value);
+            }
+            else if(value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                // bipush
+                bytes.write(0x10);
+                bytes.write(value);
+            }
+            else if(value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                // sipush
+                op(0x11, value);
+            }
+            else {
+                // ldc_w
+                op(0x13, cf.integer(value));
+            }
+        }
+
+        void ldc(final String value) {
+            // ldc_w
+            op(0x13, cf.string(value));
+        }
+
+        void getfield(final int fieldRef) {
+            op(0xb4, fieldRef);
+        }
+
+        void putfield(final int fieldRef) {
+            op(0xb5, fieldRef);
+        }
+
+        void checkcast(final Class<?> cl) {
+            op(0xc0, cf.classRef(internalName(cl)));
+        }
+
+        void invoke(final int opcode, final int methodRef) {
+            op(opcode, methodRef);
+        }
+
+        void writeMethod(final DataOutputStream out, final int access, final String name, final String descriptor, final int maxStack,
+                final int maxLocals) throws IOException {
+            out.writeShort(access);
+            out.writeShort(cf.utf8(name));
+            out.writeShort(cf.utf8(descriptor));
+            // the Code attribute
+            out.writeShort(1);
+            out.writeShort(cf.utf8("Code"));
+            out.writeInt(12 + bytes.size());
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+            // exception table, attributes
+            out.writeShort(0);
+            out.writeShort(0);
+        }
+    }
+
+}
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.apache.camel.dataformat.bindy.accessor.FieldSetter;
+import org.apache.camel.dataformat.bindy.annotation.BindyConverter;
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+import org.apache.camel.dataformat.bindy.util.ConverterUtils;
+import org.apache.camel.support.ObjectHelper;
+import org.apache.camel.util.ReflectionHelper;
+
+/**
+ * Binding step of a single {@link DataField}, compiled once per record class by {@link BindyFixedLengthFactory}:
+ * everything that only depends on the annotations (length, trimming, the {@link Format}, the post-processing
+ * method, the {@link FieldSetter}) is resolved up front, so binding a record only extracts, converts and sets the values.
+ * <p>
+ * Instances are immutable and shared by all threads binding records of the same class. Formats created by a
+ * {@link BindyConverter} are the exception: their thread safety is unknown, so a new instance is still created for
+ * each value.
+ */
+final class FixedLengthFieldBinder {
+
+    final DataField dataField;
+    /** false if the field is not bound, see {@link BindyFixedLengthFactory#setProjection} */
+    final boolean projected;
+    final int pos;
+    final int length;
+    final String delimiter;
+    /** field holding the length of this one (see {@link DataField#lengthPos()}), or <code>null</code> */
+    final Field lengthField;
+    /** slot of the model object holding the length field */
+    final int lengthSlot;
+    /** index of the constructor argument holding the length field, -1 if it is read from the model object */
+    final int lengthArgument;
+    final boolean required;
+
+    final boolean trimLeft;
+    final boolean trimRight;
+    final char paddingChar;
+    final String defaultValue;
+
+    final Field field;
+    final String fieldName;
+    /** slot of the model object declaring the field in the object graph of a record */
+    final int slot;
+    /** index of the constructor argument receiving the value (see {@link BindyAbstractFactory#argument(Field)}), or -1 */
+    final int argument;
+    private final FieldSetter setter;
+
+    private final FormatFactory formatFactory;
+    private final FormattingOptions formattingOptions;
+    /** a {@link BindyConverter} format is created for each value */
+    final boolean converter;
+    final Format<?> format;
+    /** error raised while creating the format, thrown when the field is bound as before */
+    final Exception formatError;
+    final Object primitiveDefault;
+
+    final boolean hasMethod;
+    /** static method receiving the value */
+    private final Method staticMethod;
+    /** fallback: method without parameter, called on the value itself */
+    private final Method valueMethod;
+
+    /** primitive type of the field when its format parses it without boxing (see {@link IntFormat}), otherwise null */
+    private final Class<?> unboxed;
+    /** values already parsed, see {@link DataField#cacheSize()}, or null */
+    final ValueCache cache;
+
+    FixedLengthFieldBinder(final BindyAbstractFactory factory, final DataField dataField, final Field field, final boolean projected,
+            final Field lengthField, final char recordPaddingChar, final FormatFactory formatFactory, final String locale,
+            final int defaultCacheSize) {
+
+        this.dataField = dataField;
+        this.projected = projected;
+        this.pos = dataField.pos();
+        this.length = dataField.length();
+        this.delimiter = dataField.delimiter();
+        this.required = dataField.required();
+        this.defaultValue = dataField.defaultValue();
+
+        if(lengthField != null) {
+            this.lengthSlot = factory.slot(lengthField.getDeclaringClass());
+            this.lengthArgument = factory.argument(lengthField);
+            if(lengthArgument < 0) {
+                lengthField.setAccessible(true);
+            }
+        }
+        else {
+            this.lengthSlot = -1;
+            this.lengthArgument = -1;
+        }
+        this.lengthField = lengthField;
+
+        final boolean trim = dataField.trim();
+        this.trimLeft = trim && !"L".equals(dataField.align());
+        this.trimRight = trim && !"R".equals(dataField.align());
+        this.paddingChar = dataField.paddingChar() == 0 ? recordPaddingChar : dataField.paddingChar();
+
+        this.field = field;
+        this.fieldName = field.toString();
+        this.slot = factory.slot(field.getDeclaringClass());
+        this.argument = factory.argument(field);
+        this.setter = factory.setter(field);
+
+        this.formatFactory = formatFactory;
+        this.formattingOptions = ConverterUtils.convert(dataField,
+                field.getType(),
+                field.getAnnotation(BindyConverter.class),
+                locale);
+
+        this.converter = formattingOptions.getBindyConverter() != null;
+
+        Format<?> sharedFormat = null;
+        Exception error = null;
+        if( !converter) {
+            try {
+                sharedFormat = formatFactory.getFormat(formattingOptions);
+            }
+            catch(final Exception e) {
+                error = e;
+            }
+        }
+        this.format = sharedFormat;
+        this.formatError = error;
+
+        Object primitive;
+        try {
+            primitive = BindyAbstractFactory.getDefaultValueForPrimitive(field.getType());
+        }
+        catch(final Exception e) {
+            primitive = null;
+        }
+        this.primitiveDefault = primitive;
+
+        this.hasMethod = !dataField.method().isEmpty();
+        if(hasMethod) {
+            final Class<?> clazz = field.getType();
+            final String methodName = dataField.method().substring(dataField.method().lastIndexOf(".") + 1,
+                    dataField.method().length());
+
+            // the static method must return the type of the datafield
+            // and receive only the datafield value as the method argument
+            this.staticMethod = ReflectionHelper.findMethod(clazz, methodName, field.getType());
+            this.valueMethod = staticMethod == null ? ReflectionHelper.findMethod(clazz, methodName) : null;
+        }
+        else {
+            this.staticMethod = null;
+            this.valueMethod = null;
+        }
+
+        final int cacheSize = dataField.cacheSize() >= 0 ? dataField.cacheSize() : defaultCacheSize;
+        this.cache = projected && cacheSize > 0 && ValueCache.isCacheable(field.getType()) ? new ValueCache(cacheSize) : null;
+
+        this.unboxed = cache == null && !hasMethod && argument < 0 && isUnboxed(field.getType(), sharedFormat) ? field.getType() : null;
+    }
+
+    private static boolean isUnboxed(final Class<?> type, final Format<?> format) {
+        if(type == int.class || type == short.class || type == byte.class) {
+            return format instanceof IntFormat;
+        }
+        if(type == long.class) {
+            return format instanceof LongFormat;
+        }
+        if(type == double.class || type == float.class) {
+            return format instanceof DoubleFormat;
+        }
+        return false;
+    }
+
+    /**
+     * @return the value of the length field (see {@link DataField#lengthPos()}), bound before this field
+     */
+    int length(final Object[] model) throws Exception {
+        final Object modelObj = model[lengthSlot];
+        final Object lengthObj = lengthArgument < 0 ? lengthField.get(modelObj) : ((Object[])modelObj)[lengthArgument];
+        return ((Integer)lengthObj).intValue();
+    }
+
+    /**
+     * Converts the chars of the field and sets the field of its model object.
+     *
+     * @param start index of the first char of the (trimmed) field in the record
+     * @param end index following its last char
+     * @param line line count, used in error messages
+     */
+    void set(final Object[] model, final CharSequence record, final int start, final int end, final int line) throws Exception {
+
+        if(unboxed != null) {
+            setUnboxed(model[slot], record, start, end, line);
+            return;
+        }
+
+        // field object to be set
+        final Object modelField = model[slot];
+
+        Object value = null;
+        int hash = 0;
+        if(cache != null && start < end) {
+            hash = ValueCache.hash(record, start, end);
+            value = cache.get(record, start, end, hash);
+        }
+        if(value == null) {
+            value = FixedLengthRecordParser.parse(format(), record, start, end, defaultValue, primitiveDefault, fieldName, pos, line);
+            if(cache != null && start < end && value != null) {
+                cache.put(record, start, end, hash, value);
+            }
+        }
+
+        if(value != null && hasMethod) {
+            if(staticMethod != null) {
+                value = ObjectHelper.invokeMethod(staticMethod, null, value);
+            }
+            else {
+                value = ObjectHelper.invokeMethod(valueMethod, value);
+            }
+        }
+
+        setter.set(modelField, value);
+    }
+
+    private void setUnboxed(final Object modelField, final CharSequence record, final int start, final int end, final int line) throws Exception {
+        if(unboxed == int.class) {
+            setter.setInt(modelField, FixedLengthRecordParser.parseInt(format, record, start, end, defaultValue, primitiveDefault, fieldName, pos, line));
+        }
+        else if(unboxed == long.class) {
+            setter.setLong(modelField, FixedLengthRecordParser.parseLong(format, record, start, end, defaultValue, primitiveDefault, fieldName, pos, line));
+        }
+        else if(unboxed == double.class) {
+            setter.setDouble(modelField, FixedLengthRecordParser.parseDouble(format, record, start, end, defaultValue, primitiveDefault, fieldName, pos, line));
+        }
+        else if(unboxed == float.class) {
+            setter.setFloat(modelField, FixedLengthRecordParser.parseFloat(format, record, start, end, defaultValue, primitiveDefault, fieldName, pos, line));
+        }
+        else if(unboxed == short.class) {
+            setter.setShort(modelField, FixedLengthRecordParser.parseShort(format, record, start, end, defaultValue, primitiveDefault, fieldName, pos, line));
+        }
+        else {
+            setter.setByte(modelField, FixedLengthRecordParser.parseByte(format, record, start, end, defaultValue, primitiveDefault, fieldName, pos, line));
+        }
+    }
+
+    private Format<?> format() throws Exception {
+        if(converter) {
+            return formatFactory.getFormat(formattingOptions);
+        }
+        if(formatError != null) {
+            throw formatError;
+        }
+        return format;
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+/**
+ * Base class of the binders generated at runtime by {@link FixedLengthBinderGenerator} (see
+ * {@link BindingStrategy#BYTECODE}). A generated binder only implements {@link #bind(CharSequence, Object[], int)}: the
+ * formats come from the binding plan it was generated for, and the model objects are created and linked by the
+ * factory.
+ * <p>
+ * Fields which cannot be assigned by the generated code (a {@code @BindyConverter}, a post-processing method, or a
+ * field which is not accessible from the package of the record class) are set through their
+ * {@link FixedLengthFieldBinder} with {@link #set(int, Object[], CharSequence, int, int, int)}.
+ */
+public abstract class FixedLengthRecordBinder extends FixedLengthRecordParser {
+
+    /** a {@link Format} or the error raised while creating it, by field index */
+    protected Object[] formats;
+    /** value of an empty field without default value, by field index */
+    protected Object[] primitiveDefaults;
+
+    private BindyFixedLengthFactory factory;
+    private FixedLengthFieldBinder[] binders;
+
+    protected FixedLengthRecordBinder() {
+    }
+
+    final void init(final BindyFixedLengthFactory factory, final FixedLengthFieldBinder[] binders) {
+        this.factory = factory;
+        this.binders = binders;
+
+        formats = new Object[binders.length];
+        primitiveDefaults = new Object[binders.length];
+        for(int i = 0; i < binders.length; i++) {
+            formats[i] = binders[i].formatError != null ? binders[i].formatError : binders[i].format;
+            primitiveDefaults[i] = binders[i].primitiveDefault;
+        }
+    }
+
+    /**
+     * The formats are resolved by the binding plan.
+     */
+    @Override
+    public void init(final FormatFactory formatFactory, final String locale) {
+        // nothing to resolve
+    }
+
+    @Override
+    public Object[] factory() throws Exception {
+        return factory.reflectiveFactory();
+    }
+
+    @Override
+    public void link(final Object[] model) throws Exception {
+        factory.reflectiveLink(model);
+    }
+
+    /**
+     * Converts the chars of the field from start to end and sets the field through the binding plan.
+     *
+     * @param index index of the field in the binding plan
+     */
+    protected final void set(final int index, final Object[] model, final CharSequence record, final int start, final int end, final int line)
+            throws Exception {
+        binders[index].set(model, record, start, end, line);
+    }
+
+}
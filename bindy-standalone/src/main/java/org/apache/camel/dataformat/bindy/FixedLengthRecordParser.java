@@ -0,0 +1,335 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+import org.apache.camel.dataformat.bindy.format.FormatException;
+
+/**
+ * Base class of the parsers generated at compile time for {@code @FixedLengthRecord} classes by the
+ * <code>bindy-processor</code> module. A generated parser creates, binds and links the model objects with plain
+ * code instead of reflection; {@link BindyFixedLengthFactory} uses it when a class named after the record class with
+ * the {@link #SUFFIX} exists in the same package (see {@link #parserClassName(Class)}).
+ * <p>
+ * The static helpers implement the binding rules shared with the reflective binding, so that both produce the same
+ * results and error messages.
+ */
+public abstract class FixedLengthRecordParser {
+
+    /** appended to the name of the record class to name its parser */
+    public static final String SUFFIX = "BindyParser";
+
+    /**
+     * Resolves the formats of the fields. Called once on a new instance, before it is used to bind records; the
+     * instance is then shared by all threads.
+     */
+    public abstract void init(FormatFactory formatFactory, String locale);
+
+    /**
+     * @return the model objects: the instance of the record class is at index 0
+     * @see BindyAbstractFactory#factory()
+     */
+    public abstract Object[] factory() throws Exception;
+
+    /**
+     * @see BindyFixedLengthFactory#bind(CharSequence, Object[], int)
+     */
+    public abstract void bind(CharSequence record, Object[] model, int line) throws Exception;
+
+    /**
+     * @see BindyAbstractFactory#link(Object[])
+     */
+    public abstract void link(Object[] model) throws Exception;
+
+    /**
+     * @return the name of the generated parser of the record class: nested classes are named after the
+     *         enclosing ones, joined by <code>_</code>
+     */
+    public static String parserClassName(final Class<?> type) {
+        final String name = type.getName();
+        final int dot = name.lastIndexOf('.');
+        return name.substring(0, dot + 1) + name.substring(dot + 1).replace('$', '_') + SUFFIX;
+    }
+
+    /**
+     * @param offset 1-based offset of a fixed length field
+     * @return the index of the first char of the field, or the length of the record if it is beyond its end
+     */
+    protected static int start(final CharSequence record, final int offset) {
+        return Math.min(offset - 1, record.length());
+    }
+
+    /**
+     * @param offset 1-based offset of a fixed length field
+     * @return the index following the last char of the field, cut at the end of the record
+     */
+    protected static int end(final CharSequence record, final int offset, final int length) {
+        return Math.min(offset - 1 + length, record.length());
+    }
+
+    /**
+     * @param start index of the first char of a delimited field
+     * @return the index of the delimiter ending the field
+     * @throws StringIndexOutOfBoundsException if the delimiter is missing
+     */
+    protected static int delimiter(final CharSequence record, final int start, final String delimiter) {
+        final int index = indexOf(record, delimiter, start);
+        if(index < 0) {
+            throw new StringIndexOutOfBoundsException("Delimiter " + delimiter + " not found from offset " + (start + 1));
+        }
+        return index;
+    }
+
+    /**
+     * @return the index of the first char of the field which is not a padding char, at most end
+     */
+    protected static int trimStart(final CharSequence record, final int start, final int end, final char paddingChar) {
+        int begin = start;
+        while(begin < end && record.charAt(begin) == paddingChar) {
+            ++begin;
+        }
+        return begin;
+    }
+
+    /**
+     * @return the index following the last char of the field which is not a padding char, at least start
+     */
+    protected static int trimEnd(final CharSequence record, final int start, final int end, final char paddingChar) {
+        int last = end;
+        while(last > start && record.charAt(last - 1) == paddingChar) {
+            --last;
+        }
+        return last;
+    }
+
+    /**
+     * @param start index of the first char of the (trimmed) field
+     * @param end index following its last char
+     * @param pos 1-based index of the field in the record
+     */
+    protected static void checkMandatory(final int start, final int end, final int pos, final int line) {
+        // This is not possible for mandatory fields
+        if(start == end) {
+            throw new IllegalArgumentException("The mandatory field defined at the position " + pos
+                    + " is empty for the line: " + (line - 1));
+        }
+    }
+
+    /**
+     * @return the format for the options, or the exception raised while creating it: it is thrown when a value is
+     *         parsed, as when the format is created while binding
+     */
+    protected static Object format(final FormatFactory formatFactory, final FormattingOptions formattingOptions) {
+        try {
+            return formatFactory.getFormat(formattingOptions);
+        }
+        catch(final Exception e) {
+            return e;
+        }
+    }
+
+    /**
+     * Converts the chars of a field from start to end, or its default value when there are none.
+     *
+     * @param format a {@link Format}, or the exception returned by {@link #format(FormatFactory, FormattingOptions)}
+     * @param defaultValue the default value of the {@code @DataField}
+     * @param primitiveDefault the value used when the field and the default value are empty
+     * @param field description of the field, in the format of {@link java.lang.reflect.Field#toString()}
+     * @param pos position of the field in the record
+     * @param line line count, used in error messages
+     */
+    protected static Object parse(final Object format, final CharSequence record, final int start, final int end, final String defaultValue,
+            final Object primitiveDefault, final String field, final int pos, final int line) throws Exception {
+
+        if(format instanceof Exception) {
+            throw (Exception)format;
+        }
+
+        try {
+            if(start < end) {
+                return ((Format<?>)format).parse(record, start, end);
+            }
+            if("".equals(defaultValue)) {
+                return primitiveDefault;
+            }
+            return ((Format<?>)format).parse(defaultValue);
+        }
+        catch(final Exception e) {
+            throw parseError(e, field, pos, line);
+        }
+    }
+
+    /**
+     * Same as {@link #parse}, converting the chars of an int field without boxing when the format is an
+     * {@link IntFormat}.
+     */
+    protected static int parseInt(final Object format, final CharSequence record, final int start, final int end, final String defaultValue,
+            final Object primitiveDefault, final String field, final int pos, final int line) throws Exception {
+
+        if(start < end && format instanceof IntFormat) {
+            try {
+                return ((IntFormat<?>)format).parseInt(record, start, end);
+            }
+            catch(final Exception e) {
+                throw parseError(e, field, pos, line);
+            }
+        }
+        return ((Integer)parse(format, record, start, end, defaultValue, primitiveDefault, field, pos, line)).intValue();
+    }
+
+    /**
+     * @see #parseInt
+     */
+    protected static short parseShort(final Object format, final CharSequence record, final int start, final int end, final String defaultValue,
+            final Object primitiveDefault, final String field, final int pos, final int line) throws Exception {
+
+        if(start < end && format instanceof IntFormat) {
+            try {
+                return (short)((IntFormat<?>)format).parseInt(record, start, end);
+            }
+            catch(final Exception e) {
+                throw parseError(e, field, pos, line);
+            }
+        }
+        return ((Short)parse(format, record, start, end, defaultValue, primitiveDefault, field, pos, line)).shortValue();
+    }
+
+    /**
+     * @see #parseInt
+     */
+    protected static byte parseByte(final Object format, final CharSequence record, final int start, final int end, final String defaultValue,
+            final Object primitiveDefault, final String field, final int pos, final int line) throws Exception {
+
+        if(start < end && format instanceof IntFormat) {
+            try {
+                return (byte)((IntFormat<?>)format).parseInt(record, start, end);
+            }
+            catch(final Exception e) {
+                throw parseError(e, field, pos, line);
+            }
+        }
+        return ((Byte)parse(format, record, start, end, defaultValue, primitiveDefault, field, pos, line)).byteValue();
+    }
+
+    /**
+     * Same as {@link #parse}, converting the chars of a long field without boxing when the format is a
+     * {@link LongFormat}.
+     */
+    protected static long parseLong(final Object format, final CharSequence record, final int start, final int end, final String defaultValue,
+            final Object primitiveDefault, final String field, final int pos, final int line) throws Exception {
+
+        if(start < end && format instanceof LongFormat) {
+            try {
+                return ((LongFormat<?>)format).parseLong(record, start, end);
+            }
+            catch(final Exception e) {
+                throw parseError(e, field, pos, line);
+            }
+        }
+        return ((Long)parse(format, record, start, end, defaultValue, primitiveDefault, field, pos, line)).longValue();
+    }
+
+    /**
+     * Same as {@link #parse}, converting the chars of a double field without boxing when the format is a
+     * {@link DoubleFormat}.
+     */
+    protected static double parseDouble(final Object format, final CharSequence record, final int start, final int end, final String defaultValue,
+            final Object primitiveDefault, final String field, final int pos, final int line) throws Exception {
+
+        if(start < end && format instanceof DoubleFormat) {
+            try {
+                return ((DoubleFormat<?>)format).parseDouble(record, start, end);
+            }
+            catch(final Exception e) {
+                throw parseError(e, field, pos, line);
+            }
+        }
+        return ((Double)parse(format, record, start, end, defaultValue, primitiveDefault, field, pos, line)).doubleValue();
+    }
+
+    /**
+     * @see #parseDouble
+     */
+    protected static float parseFloat(final Object format, final CharSequence record, final int start, final int end, final String defaultValue,
+            final Object primitiveDefault, final String field, final int pos, final int line) throws Exception {
+
+        if(start < end && format instanceof DoubleFormat) {
+            try {
+                return (float)((DoubleFormat<?>)format).parseDouble(record, start, end);
+            }
+            catch(final Exception e) {
+                throw parseError(e, field, pos, line);
+            }
+        }
+        return ((Float)parse(format, record, start, end, defaultValue, primitiveDefault, field, pos, line)).floatValue();
+    }
+
+    /**
+     * @return the exception reporting that the value of a field cannot be converted
+     */
+    static IllegalArgumentException parseError(final Exception e, final String field, final int pos, final int line) {
+        if(e instanceof FormatException) {
+            return new IllegalArgumentException(e.getMessage() +
+                    ", field(" + field + ") position: " + pos + ", line: " + (line - 1),
+                    e);
+        }
+        return new IllegalArgumentException(
+                "Parsing error detected for field (" + field + ") defined at the position/offset: " +
+                        pos + ", line: " + (line - 1),
+                e);
+    }
+
+    /**
+     * Checks for unmapped non-whitespace data at the end of the line.
+     *
+     * @param offset 1-based offset following the last field
+     */
+    protected static void checkTrailing(final CharSequence record, final int offset, final int line) {
+        if(offset <= record.length() && !isBlank(record, offset - 1)) {
+            throw new IllegalArgumentException("Unexpected / unmapped characters found at the end of the fixed-length record at line : " + (line - 1));
+        }
+    }
+
+    static int indexOf(final CharSequence chars, final String str, final int from) {
+        if(chars instanceof String) {
+            return ((String)chars).indexOf(str, from);
+        }
+        final int last = chars.length() - str.length();
+        outer:
+        for(int i = Math.max(from, 0); i <= last; i++) {
+            for(int j = 0; j < str.length(); j++) {
+                if(chars.charAt(i + j) != str.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Same as <code>chars.subSequence(from, chars.length()).toString().trim().isEmpty()</code>, without the copies.
+     */
+    static boolean isBlank(final CharSequence chars, final int from) {
+        for(int i = from; i < chars.length(); i++) {
+            if(chars.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -40,4 +40,20 @@ public interface Format<T> {
      */
     T parse(String string) throws Exception;
 
+    /**
+     * Parses the chars of the source from start (inclusive) to end (exclusive)
+     * into an object. The default parses the String of those chars; formats
+     * which can convert the chars in place override it, so that no String is
+     * created for the value.
+     * 
+     * @param source the chars, e.g. a whole record
+     * @param start index of the first char
+     * @param end index following the last char
+     * @return T the object
+     * @throws Exception can be thrown
+     */
+    default T parse(CharSequence source, int start, int end) throws Exception {
+        return parse(source.subSequence(start, end).toString());
+    }
+
 }
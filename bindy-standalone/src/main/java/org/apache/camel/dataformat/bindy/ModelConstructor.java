@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.camel.dataformat.bindy.accessor.Accessors;
+import org.apache.camel.dataformat.bindy.accessor.ArgumentsInstantiator;
+import org.apache.camel.dataformat.bindy.accessor.Records;
+import org.apache.camel.dataformat.bindy.annotation.BindyConstructor;
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+import org.apache.camel.dataformat.bindy.annotation.Link;
+import org.apache.camel.dataformat.bindy.annotation.OneToMany;
+
+/**
+ * Creates the instances of a model class through the constructor annotated with {@link BindyConstructor}, or the
+ * canonical constructor of a Java record. Until the instance is created, its slot in the object graph of a record
+ * holds the array of the constructor arguments, in which the values of the fields are bound.
+ */
+final class ModelConstructor {
+
+    private final ArgumentsInstantiator instantiator;
+    /** value of the primitive parameters whose field is not bound (see {@link BindyFixedLengthFactory#setProjection}) */
+    private final Object[] primitiveDefaults;
+    /** index of the argument receiving the value of each field */
+    private final Map<Field, Integer> arguments = new HashMap<>();
+    final int parameterCount;
+
+    private ModelConstructor(final Constructor<?> constructor, final String[] names) {
+        final Class<?> type = constructor.getDeclaringClass();
+        final Class<?>[] parameterTypes = constructor.getParameterTypes();
+        if(names.length != parameterTypes.length) {
+            throw new IllegalArgumentException("The constructor " + constructor + " has " + parameterTypes.length
+                    + " parameters but " + names.length + " field names");
+        }
+
+        for(final Field field : type.getDeclaredFields()) {
+            if(field.getAnnotation(Link.class) != null || field.getAnnotation(OneToMany.class) != null) {
+                throw new IllegalArgumentException("The class " + type.getName() + " is created by its constructor and cannot have linked fields: "
+                        + field);
+            }
+        }
+
+        for(int i = 0; i < names.length; i++) {
+            final Field field;
+            try {
+                field = type.getDeclaredField(names[i]);
+            }
+            catch(final NoSuchFieldException e) {
+                throw new IllegalArgumentException("No field " + names[i] + " in " + type.getName() + " for the parameter " + i
+                        + " of the constructor " + constructor, e);
+            }
+            if(field.getAnnotation(DataField.class) == null) {
+                throw new IllegalArgumentException("The field " + field + " passed to the constructor must be annotated with @DataField");
+            }
+            if(field.getType() != parameterTypes[i]) {
+                throw new IllegalArgumentException("The field " + field + " does not have the type of the parameter " + i
+                        + " of the constructor " + constructor);
+            }
+            arguments.put(field, i);
+        }
+        for(final Field field : type.getDeclaredFields()) {
+            if(field.getAnnotation(DataField.class) != null && !arguments.containsKey(field)) {
+                throw new IllegalArgumentException("The field " + field + " is not passed to the constructor " + constructor);
+            }
+        }
+
+        this.parameterCount = parameterTypes.length;
+        this.primitiveDefaults = new Object[parameterCount];
+        for(int i = 0; i < parameterCount; i++) {
+            if(parameterTypes[i].isPrimitive()) {
+                primitiveDefaults[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+            }
+        }
+        this.instantiator = Accessors.instantiator(constructor);
+    }
+
+    /**
+     * @return the constructor of the type, or <code>null</code> if it is created by its constructor without parameters
+     */
+    static ModelConstructor of(final Class<?> type) {
+        Constructor<?> annotated = null;
+        for(final Constructor<?> constructor : type.getDeclaredConstructors()) {
+            if(constructor.getAnnotation(BindyConstructor.class) != null) {
+                if(annotated != null) {
+                    throw new IllegalArgumentException("More than one constructor of " + type.getName() + " is annotated with @BindyConstructor");
+                }
+                annotated = constructor;
+            }
+        }
+        if(annotated != null) {
+            return new ModelConstructor(annotated, names(annotated));
+        }
+
+        final String[] components = Records.componentNames(type);
+        if(components != null) {
+            final Class<?>[] parameterTypes = new Class<?>[components.length];
+            try {
+                for(int i = 0; i < components.length; i++) {
+                    parameterTypes[i] = type.getDeclaredField(components[i]).getType();
+                }
+                return new ModelConstructor(type.getDeclaredConstructor(parameterTypes), components);
+            }
+            catch(final NoSuchFieldException | NoSuchMethodException e) {
+                throw new IllegalArgumentException("Cannot find the canonical constructor of the record " + type.getName(), e);
+            }
+        }
+        return null;
+    }
+
+    private static String[] names(final Constructor<?> constructor) {
+        final String[] names = constructor.getAnnotation(BindyConstructor.class).value();
+        if(names.length > 0 || constructor.getParameterCount() == 0) {
+            return names;
+        }
+
+        final Parameter[] parameters = constructor.getParameters();
+        final String[] parameterNames = new String[parameters.length];
+        for(int i = 0; i < parameters.length; i++) {
+            if( !parameters[i].isNamePresent()) {
+                throw new IllegalArgumentException("The names of the parameters of " + constructor
+                        + " are not known: list the fields in @BindyConstructor or compile with -parameters");
+            }
+            parameterNames[i] = parameters[i].getName();
+        }
+        return parameterNames;
+    }
+
+    /**
+     * @return the index of the argument receiving the value of the field, -1 if the field is not a parameter
+     */
+    int argument(final Field field) {
+        final Integer index = arguments.get(field);
+        return index == null ? -1 : index;
+    }
+
+    Object newInstance(final Object[] arguments) {
+        for(int i = 0; i < arguments.length; i++) {
+            if(arguments[i] == null) {
+                arguments[i] = primitiveDefaults[i];
+            }
+        }
+        return instantiator.newInstance(arguments);
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+/**
+ * Selects the entry records to bind from their raw chars, before any model object is created: the records which are
+ * not accepted are skipped.
+ * <p>
+ * Conditions on a field compare the chars at its offset, untrimmed, see {@link #field(String)} and
+ * {@link #position(int)}. They are resolved against the model once, with {@link #resolve(BindyFixedLengthFactory)},
+ * before the first record is filtered.
+ *
+ * @see org.apache.camel.dataformat.bindy.fixed.BindyFixedLengthDataFormat#setFilter(RecordFilter)
+ */
+@FunctionalInterface
+public interface RecordFilter {
+
+    /**
+     * @param record the raw record
+     * @return true if the record is bound
+     */
+    boolean accept(CharSequence record);
+
+    /**
+     * @return the filter to apply to the records of the model of the factory
+     * @throws IllegalArgumentException if the filter refers to a field which is not part of the model, or whose
+     *             offset or length depends on the record
+     */
+    default RecordFilter resolve(final BindyFixedLengthFactory factory) {
+        return this;
+    }
+
+    default RecordFilter and(final RecordFilter other) {
+        final RecordFilter self = this;
+        return new RecordFilter() {
+            @Override
+            public boolean accept(final CharSequence record) {
+                return self.accept(record) && other.accept(record);
+            }
+
+            @Override
+            public RecordFilter resolve(final BindyFixedLengthFactory factory) {
+                return self.resolve(factory).and(other.resolve(factory));
+            }
+        };
+    }
+
+    default RecordFilter or(final RecordFilter other) {
+        final RecordFilter self = this;
+        return new RecordFilter() {
+            @Override
+            public boolean accept(final CharSequence record) {
+                return self.accept(record) || other.accept(record);
+            }
+
+            @Override
+            public RecordFilter resolve(final BindyFixedLengthFactory factory) {
+                return self.resolve(factory).or(other.resolve(factory));
+            }
+        };
+    }
+
+    default RecordFilter negate() {
+        final RecordFilter self = this;
+        return new RecordFilter() {
+            @Override
+            public boolean accept(final CharSequence record) {
+                return !self.accept(record);
+            }
+
+            @Override
+            public RecordFilter resolve(final BindyFixedLengthFactory factory) {
+                return self.resolve(factory).negate();
+            }
+        };
+    }
+
+    /**
+     * @param fieldName name of a {@code @DataField} with a fixed offset and length
+     */
+    static FieldCondition field(final String fieldName) {
+        return new FieldCondition(fieldName, 0);
+    }
+
+    /**
+     * @param pos position of a {@code @DataField} with a fixed offset and length (see
+     *            {@link org.apache.camel.dataformat.bindy.annotation.DataField#pos()})
+     */
+    static FieldCondition position(final int pos) {
+        return new FieldCondition(null, pos);
+    }
+
+}
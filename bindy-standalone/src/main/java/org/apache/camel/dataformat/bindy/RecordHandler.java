@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+/**
+ * Push-style alternative to {@link BindyExchange}: receives the records of a file while it is being parsed, so
+ * they can be processed without collecting them first.
+ * <p>
+ * Callbacks are invoked in file order: {@link #onHeader} (only if the file has a header which is not skipped),
+ * {@link #onEntry} once per entry, {@link #onFooter} (only if the file has a footer which is not skipped) and
+ * finally {@link #onComplete}. An exception thrown from a callback aborts the parsing and is propagated to the
+ * caller.
+ */
+public interface RecordHandler<TypeEntry, TypeHeader, TypeFooter> {
+
+    default void onHeader(final TypeHeader header) throws Exception {
+    }
+
+    /**
+     * @param entry the bound entry
+     * @param lineNumber line number (1-based) of the entry in the input
+     */
+    void onEntry(TypeEntry entry, int lineNumber) throws Exception;
+
+    default void onFooter(final TypeFooter footer) throws Exception {
+    }
+
+    /**
+     * Called once all records have been read, after {@link #onFooter}.
+     */
+    default void onComplete() throws Exception {
+    }
+
+}
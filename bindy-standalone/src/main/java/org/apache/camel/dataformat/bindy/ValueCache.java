@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+
+/**
+ * Bounded cache of the values of a field, by the chars they are parsed from, for the columns which repeat a few
+ * distinct values (dates, codes) over many records. See {@link DataField#cacheSize()} and
+ * {@link BindyFixedLengthFactory#setValueCacheSize(int)}.
+ * <p>
+ * The cache is 2-way set associative: the hash of the chars selects a pair of slots, a new value goes to the first
+ * one and evicts the older value of the pair. Slots hold immutable entries, so lookups and updates take no lock;
+ * threads racing on a pair may only parse a value once more. Only fields of immutable types are cached.
+ * <p>
+ * For String fields the cache is a deduplication pool: records share the String instance of a repeated value, and
+ * none is created for it. {@link #getSavedBytes()} estimates the memory saved.
+ */
+public final class ValueCache {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            BigDecimal.class, BigInteger.class, LocalDate.class, LocalTime.class, LocalDateTime.class));
+
+    private final Entry[] entries;
+    /** shifts the product of a hash to the index of a pair of slots */
+    private final int shift;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    /**
+     * @param size maximum number of values, rounded up to a power of 2 (at least 4)
+     */
+    ValueCache(final int size) {
+        this.entries = new Entry[Integer.highestOneBit(Math.max(size - 1, 2)) << 1];
+        this.shift = Integer.numberOfLeadingZeros((entries.length >> 1) - 1);
+    }
+
+    /**
+     * @return true if the values of the type can be cached: they are immutable
+     */
+    static boolean isCacheable(final Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || IMMUTABLE_TYPES.contains(type);
+    }
+
+    /**
+     * @return the hash of the chars, as {@link String#hashCode()}
+     */
+    static int hash(final CharSequence source, final int start, final int end) {
+        int hash = 0;
+        for(int i = start; i < end; i++) {
+            hash = 31 * hash + source.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * @return the value parsed from the chars, or <code>null</code> if it is not cached
+     */
+    Object get(final CharSequence source, final int start, final int end, final int hash) {
+        final int slot = slot(hash);
+        for(int i = slot; i < slot + 2; i++) {
+            final Entry entry = entries[i];
+            if(entry != null && entry.hash == hash && contentEquals(entry.key, source, start, end)) {
+                hits.increment();
+                if(entry.size > 0) {
+                    savedBytes.add(entry.size);
+                }
+                return entry.value;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    void put(final CharSequence source, final int start, final int end, final int hash, final Object value) {
+        final int slot = slot(hash);
+        entries[slot + 1] = entries[slot];
+        // the value of a String field is its own key
+        final String key = value instanceof String && contentEquals((String)value, source, start, end)
+                ? (String)value
+                : source.subSequence(start, end).toString();
+        entries[slot] = new Entry(key, hash, value);
+    }
+
+    private int slot(final int hash) {
+        // Fibonacci hashing: the hashes of similar chars, e.g. consecutive dates, differ in a few low bits
+        return (hash * 0x9E3779B9 >>> shift) << 1;
+    }
+
+    private static boolean contentEquals(final String key, final CharSequence source, final int start, final int end) {
+        if(key.length() != end - start) {
+            return false;
+        }
+        for(int i = 0; i < key.length(); i++) {
+            if(key.charAt(i) != source.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of values found in the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of values parsed as they were not in the cache
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the share of the values found in the cache, i.e. the deduplication ratio of String fields
+     */
+    public double getHitRatio() {
+        final long h = getHits();
+        final long total = h + getMisses();
+        return total == 0 ? 0 : (double)h / total;
+    }
+
+    /**
+     * @return an estimate of the memory of the Strings which were not created as their value was in the cache, 0
+     *         for other types
+     */
+    public long getSavedBytes() {
+        return savedBytes.sum();
+    }
+
+    /**
+     * @return the estimated size of a String of Latin-1 chars with compressed references: 24 bytes for the String and
+     *         the array header, then the chars, aligned to 8 bytes
+     */
+    private static int stringSize(final String value) {
+        return 24 + (16 + value.length() + 7 & ~7);
+    }
+
+    /**
+     * @return the maximum number of values held
+     */
+    public int getSize() {
+        return entries.length;
+    }
+
+    @Override
+    public String toString() {
+        return "ValueCache[size=" + getSize() + ", hits=" + getHits() + ", misses=" + getMisses() + ", savedBytes=" + getSavedBytes() + "]";
+    }
+
+    private static final class Entry {
+
+        final String key;
+        final int hash;
+        final Object value;
+        /** memory saved by a hit, see {@link ValueCache#getSavedBytes()} */
+        final int size;
+
+        Entry(final String key, final int hash, final Object value) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.size = value instanceof String ? stringSize((String)value) : 0;
+        }
+
+    }
+
+}
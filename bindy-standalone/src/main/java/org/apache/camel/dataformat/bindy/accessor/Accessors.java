@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.accessor;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import org.apache.camel.api.RuntimeCamelException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the accessors used to instantiate and fill the model objects, once per class and field.
+ * <p>
+ * Constructors of accessible classes are turned into {@link Instantiator} implementations spun by the
+ * {@link LambdaMetafactory}, which the JIT compiles like a plain <code>new</code>. Other constructors and the fields
+ * are accessed through {@link MethodHandle}s. Plain reflection is used when neither is possible (for example a
+ * final field on older JVMs, or a class without a constructor without parameters, which then fails as before
+ * when an instance is requested).
+ */
+public final class Accessors {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Accessors.class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private Accessors() {
+        // helper class
+    }
+
+    /**
+     * @return the setter of the field, which is made accessible
+     */
+    public static FieldSetter setter(final Field field) {
+        field.setAccessible(true);
+        try {
+            return new MethodHandleSetter(field, LOOKUP.unreflectSetter(field));
+        }
+        catch(final IllegalAccessException e) {
+            LOG.debug("Falling back to reflection to set field {}: {}", field, e.getMessage());
+            return new ReflectionSetter(field);
+        }
+    }
+
+    /**
+     * @return an instantiator calling the constructor without parameters of the type
+     */
+    public static Instantiator instantiator(final Class<?> type) {
+        if(type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return new ReflectionInstantiator(type);
+        }
+
+        final Constructor<?> constructor;
+        try {
+            constructor = type.getDeclaredConstructor();
+        }
+        catch(final NoSuchMethodException e) {
+            return new ReflectionInstantiator(type);
+        }
+
+        if(Modifier.isPublic(type.getModifiers()) && Modifier.isPublic(constructor.getModifiers()) && isVisible(type)) {
+            try {
+                final MethodHandle handle = LOOKUP.findConstructor(type, MethodType.methodType(void.class));
+                final CallSite site = LambdaMetafactory.metafactory(LOOKUP, "newInstance",
+                        MethodType.methodType(Instantiator.class),
+                        MethodType.methodType(Object.class),
+                        handle,
+                        MethodType.methodType(type));
+                return (Instantiator)site.getTarget().invoke();
+            }
+            catch(final Throwable t) {
+                LOG.debug("Cannot spin an instantiator for {}: {}", type, t.toString());
+            }
+        }
+
+        try {
+            constructor.setAccessible(true);
+            return new MethodHandleInstantiator(LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class)));
+        }
+        catch(final IllegalAccessException | RuntimeException e) {
+            LOG.debug("Falling back to reflection to instantiate {}: {}", type, e.toString());
+            return new ReflectionInstantiator(type);
+        }
+    }
+
+    /**
+     * @return an instantiator calling the constructor, which is made accessible, with an array of arguments
+     */
+    public static ArgumentsInstantiator instantiator(final Constructor<?> constructor) {
+        constructor.setAccessible(true);
+        try {
+            final MethodHandle handle = LOOKUP.unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            return arguments -> {
+                try {
+                    return handle.invokeExact(arguments);
+                }
+                catch(final RuntimeException | Error e) {
+                    throw e;
+                }
+                catch(final Throwable t) {
+                    throw RuntimeCamelException.wrapRuntimeCamelException(t);
+                }
+            };
+        }
+        catch(final IllegalAccessException e) {
+            LOG.debug("Falling back to reflection to call constructor {}: {}", constructor, e.getMessage());
+            return arguments -> {
+                try {
+                    return constructor.newInstance(arguments);
+                }
+                catch(final Exception ex) {
+                    throw RuntimeCamelException.wrapRuntimeCamelException(ex);
+                }
+            };
+        }
+    }
+
+    /**
+     * @return a setter storing the value at the index of the argument array given as target, see
+     *         {@link #instantiator(Constructor)}
+     */
+    public static FieldSetter argumentSetter(final int index) {
+        return (target, value) -> ((Object[])target)[index] = value;
+    }
+
+    /**
+     * Spun classes are defined in the class loader of this class, they can only link to the types it resolves.
+     */
+    private static boolean isVisible(final Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, Accessors.class.getClassLoader()) == type;
+        }
+        catch(final ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+}
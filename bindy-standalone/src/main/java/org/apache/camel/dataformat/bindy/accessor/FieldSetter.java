@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.accessor;
+
+/**
+ * Sets the value of a field of a model object.
+ * <p>
+ * The typed variants allow primitive values to be set without boxing; they accept the same values as
+ * {@link java.lang.reflect.Field#setInt} and alike. The defaults box the value and call {@link #set}.
+ *
+ * @see Accessors#setter(java.lang.reflect.Field)
+ */
+public interface FieldSetter {
+
+    /**
+     * Same as {@link java.lang.reflect.Field#set(Object, Object)}, unwrapping primitive values.
+     *
+     * @throws IllegalArgumentException if the value cannot be assigned to the field
+     */
+    void set(Object target, Object value);
+
+    default void setInt(final Object target, final int value) {
+        set(target, value);
+    }
+
+    default void setLong(final Object target, final long value) {
+        set(target, value);
+    }
+
+    default void setDouble(final Object target, final double value) {
+        set(target, value);
+    }
+
+    default void setFloat(final Object target, final float value) {
+        set(target, value);
+    }
+
+    default void setShort(final Object target, final short value) {
+        set(target, value);
+    }
+
+    default void setByte(final Object target, final byte value) {
+        set(target, value);
+    }
+
+    default void setChar(final Object target, final char value) {
+        set(target, value);
+    }
+
+    default void setBoolean(final Object target, final boolean value) {
+        set(target, value);
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.accessor;
+
+import java.lang.invoke.MethodHandle;
+
+import org.apache.camel.api.RuntimeCamelException;
+
+/**
+ * Calls a constructor without parameters through a {@link MethodHandle}, for the classes the
+ * {@link java.lang.invoke.LambdaMetafactory} cannot spin an instantiator for.
+ */
+final class MethodHandleInstantiator implements Instantiator {
+
+    /** <code>()Object</code> */
+    private final MethodHandle constructor;
+
+    MethodHandleInstantiator(final MethodHandle constructor) {
+        this.constructor = constructor;
+    }
+
+    @Override
+    public Object newInstance() {
+        try {
+            return constructor.invokeExact();
+        }
+        catch(final RuntimeException | Error e) {
+            throw e;
+        }
+        catch(final Throwable t) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(t);
+        }
+    }
+
+}
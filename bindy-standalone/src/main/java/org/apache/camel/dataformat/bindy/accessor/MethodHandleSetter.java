@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.accessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+import org.apache.camel.api.RuntimeCamelException;
+
+/**
+ * Sets a field through a {@link MethodHandle}. Next to the generic setter, which unboxes primitive values, a
+ * primitive field gets a setter typed with its exact type so the typed variants do not box.
+ * <p>
+ * The values the handles do not take as they are (<code>null</code> for a primitive field, a value which needs a
+ * widening conversion like an <code>Integer</code> for a <code>long</code> field, or a value of the wrong type) are
+ * passed to {@link Field#set(Object, Object)}, which converts them or throws its usual exception.
+ */
+final class MethodHandleSetter implements FieldSetter {
+
+    private static final MethodType GENERIC = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final Class<?> type;
+    private final MethodHandle generic;
+    /** <code>(Object, type)void</code>, only for primitive fields */
+    private final MethodHandle exact;
+    private final ReflectionSetter reflection;
+
+    MethodHandleSetter(final Field field, final MethodHandle setter) {
+        this.field = field;
+        this.type = field.getType();
+        this.reflection = new ReflectionSetter(field);
+        this.generic = setter.asType(GENERIC);
+        this.exact = type.isPrimitive() ? setter.asType(MethodType.methodType(void.class, Object.class, type)) : null;
+    }
+
+    @Override
+    public void set(final Object target, final Object value) {
+        if(value == null && type.isPrimitive()) {
+            reflection.set(target, value);
+            return;
+        }
+        try {
+            generic.invokeExact(target, value);
+        }
+        catch(final ClassCastException e) {
+            reflection.set(target, value);
+        }
+        catch(final Throwable t) {
+            throw failed(value, t);
+        }
+    }
+
+    @Override
+    public void setInt(final Object target, final int value) {
+        if(type != int.class) {
+            set(target, value);
+            return;
+        }
+        try {
+            exact.invokeExact(target, value);
+        }
+        catch(final Throwable t) {
+            throw failed(value, t);
+        }
+    }
+
+    @Override
+    public void setLong(final Object target, final long value) {
+        if(type != long.class) {
+            set(target, value);
+            return;
+        }
+        try {
+            exact.invokeExact(target, value);
+        }
+        catch(final Throwable t) {
+            throw failed(value, t);
+        }
+    }
+
+    @Override
+    public void setDouble(final Object target, final double value) {
+        if(type != double.class) {
+            set(target, value);
+            return;
+        }
+        try {
+            exact.invokeExact(target, value);
+        }
+        catch(final Throwable t) {
+            throw failed(value, t);
+        }
+    }
+
+    @Override
+    public void setFloat(final Object target, final float value) {
+        if(type != float.class) {
+            set(target, value);
+            return;
+        }
+        try {
+            exact.invokeExact(target, value);
+        }
+        catch(final Throwable t) {
+            throw failed(value, t);
+        }
+    }
+
+    @Override
+    public void setShort(final Object target, final short value) {
+        if(type != short.class) {
+            set(target, value);
+            return;
+        }
+        try {
+            exact.invokeExact(target, value);
+        }
+        catch(final Throwable t) {
+            throw failed(value, t);
+        }
+    }
+
+    @Override
+    public void setByte(final Object target, final byte value) {
+        if(type != byte.class) {
+            set(target, value);
+            return;
+        }
+        try {
+            exact.invokeExact(target, value);
+        }
+        catch(final Throwable t) {
+            throw failed(value, t);
+        }
+    }
+
+    @Override
+    public void setChar(final Object target, final char value) {
+        if(type != char.class) {
+            set(target, value);
+            return;
+        }
+        try {
+            exact.invokeExact(target, value);
+        }
+        catch(final Throwable t) {
+            throw failed(value, t);
+        }
+    }
+
+    @Override
+    public void setBoolean(final Object target, final boolean value) {
+        if(type != boolean.class) {
+            set(target, value);
+            return;
+        }
+        try {
+            exact.invokeExact(target, value);
+        }
+        catch(final Throwable t) {
+            throw failed(value, t);
+        }
+    }
+
+    /**
+     * Translates the failures of the handle to the exceptions {@link Field#set(Object, Object)} would throw.
+     */
+    private RuntimeException failed(final Object value, final Throwable t) {
+        if(t instanceof ClassCastException) {
+            return cannotSet(value, t);
+        }
+        if(t instanceof Error) {
+            throw (Error)t;
+        }
+        if(t instanceof RuntimeException) {
+            return (RuntimeException)t;
+        }
+        return RuntimeCamelException.wrapRuntimeCamelException(t);
+    }
+
+    private IllegalArgumentException cannotSet(final Object value, final Throwable cause) {
+        return new IllegalArgumentException("Can not set field " + field + " to "
+                + (value == null ? "null value" : value.getClass().getName()), cause);
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.accessor;
+
+import java.lang.reflect.Field;
+
+import org.apache.camel.api.RuntimeCamelException;
+
+/**
+ * Sets a field with plain reflection, used when no {@link java.lang.invoke.MethodHandle} can be created for it.
+ */
+final class ReflectionSetter implements FieldSetter {
+
+    private final Field field;
+
+    ReflectionSetter(final Field field) {
+        this.field = field;
+    }
+
+    @Override
+    public void set(final Object target, final Object value) {
+        try {
+            field.set(target, value);
+        }
+        catch(final IllegalAccessException e) {
+            throw new RuntimeCamelException(e);
+        }
+    }
+
+}
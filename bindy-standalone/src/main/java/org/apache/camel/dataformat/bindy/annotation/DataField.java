@@ -154,4 +154,10 @@ public @interface DataField {
       * org.apache.camel.dataformat.bindy.csv.BindySimpleCsvFunctionWithExternalMethodTest.replaceToBar
       */
      String method() default ""; 
+
+     /**
+      * Maximum number of distinct values of the field kept by a {@link org.apache.camel.dataformat.bindy.ValueCache},
+      * so that repeated values are parsed once. 0 disables the cache; -1 uses the size set on the factory.
+      */
+     int cacheSize() default -1;
 }
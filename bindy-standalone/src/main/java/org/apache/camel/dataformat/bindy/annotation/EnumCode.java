@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation maps an enum constant to the codes which stand for it in
+ * the records, e.g. <code>"01"</code> or <code>"C"</code>, instead of its
+ * name. Constants without this annotation are still read by name. One
+ * constant can be marked as the value of the codes of no constant, which are
+ * then read without failing.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface EnumCode {
+
+    /**
+     * Codes of the constant; the first one is also returned by
+     * <code>Format.format</code> (optional)
+     */
+    String[] value() default {};
+
+    /**
+     * Whether the constant is returned for the codes of no constant, instead
+     * of failing (optional)
+     */
+    boolean unknown() default false;
+
+}
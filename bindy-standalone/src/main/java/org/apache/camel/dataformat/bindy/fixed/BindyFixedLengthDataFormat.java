@@ -16,21 +16,33 @@
  */
 package org.apache.camel.dataformat.bindy.fixed;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.camel.dataformat.bindy.BindyAbstractDataFormat;
+import org.apache.camel.dataformat.bindy.BindingStrategy;
 import org.apache.camel.dataformat.bindy.BindyAbstractFactory;
 import org.apache.camel.dataformat.bindy.BindyExchange;
 import org.apache.camel.dataformat.bindy.BindyExchangeImpl;
 import org.apache.camel.dataformat.bindy.BindyFixedLengthFactory;
+import org.apache.camel.dataformat.bindy.BindyStream;
 import org.apache.camel.dataformat.bindy.FormatFactory;
+import org.apache.camel.dataformat.bindy.RecordFilter;
+import org.apache.camel.dataformat.bindy.RecordHandler;
+import org.apache.camel.dataformat.bindy.ValueCache;
+import org.apache.camel.dataformat.bindy.WrappedException;
 import org.apache.camel.util.IOHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +57,16 @@ public class BindyFixedLengthDataFormat<TypeEntry, TypeHeader, TypeFooter> exten
 
     private BindyFixedLengthFactory headerFactory;
     private BindyFixedLengthFactory footerFactory;
+    private Charset charset = StandardCharsets.UTF_8;
+    private BindingStrategy bindingStrategy = BindingStrategy.REFLECTION;
+    private Collection<String> projectedFields;
+    private Collection<Integer> projectedPositions;
+    private boolean validateUnprojectedFields = true;
+    private RecordFilter filter;
+    private int valueCacheSize;
+    private int stringPoolSize;
+    /** the filter resolved against the model of the entries, see {@link #accept(CharSequence)} */
+    private RecordFilter entryFilter;
 
     public BindyFixedLengthDataFormat() {
     }
@@ -58,118 +80,383 @@ public class BindyFixedLengthDataFormat<TypeEntry, TypeHeader, TypeFooter> exten
         return "bindy-fixed";
     }
 
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Sets the charset of the input, UTF-8 by default. With a single-byte charset (e.g. US-ASCII or ISO-8859-1)
+     * records are kept as raw bytes and only the mapped fields are decoded.
+     */
+    public void setCharset(final Charset charset) {
+        org.apache.camel.util.ObjectHelper.notNull(charset, "charset");
+        this.charset = charset;
+    }
+
+    public BindingStrategy getBindingStrategy() {
+        return bindingStrategy;
+    }
+
+    /**
+     * Sets how the records are bound when their class has no parser generated by the annotation processor,
+     * {@link BindingStrategy#REFLECTION} by default. Must be set before the first record is parsed.
+     */
+    public void setBindingStrategy(final BindingStrategy bindingStrategy) {
+        org.apache.camel.util.ObjectHelper.notNull(bindingStrategy, "bindingStrategy");
+        this.bindingStrategy = bindingStrategy;
+    }
+
+    /**
+     * Only binds the given fields of the entry records, see {@link BindyFixedLengthFactory#setProjection}. Header and
+     * footer records are bound entirely. Must be set before the first record is parsed.
+     *
+     * @param fieldNames names of the fields to bind, may be <code>null</code>
+     * @param positions positions of the fields to bind, may be <code>null</code>
+     */
+    public void setProjection(final Collection<String> fieldNames, final Collection<Integer> positions) {
+        this.projectedFields = fieldNames;
+        this.projectedPositions = positions;
+    }
+
+    public boolean isValidateUnprojectedFields() {
+        return validateUnprojectedFields;
+    }
+
+    /**
+     * Sets whether the required fields outside of the projection are still checked, as well as the length of the
+     * entry records; true by default. Must be set before the first record is parsed.
+     */
+    public void setValidateUnprojectedFields(final boolean validateUnprojectedFields) {
+        this.validateUnprojectedFields = validateUnprojectedFields;
+    }
+
+    public RecordFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * Only binds the entry records accepted by the filter; the others are skipped before any model object is
+     * created. When a filter is set, finding no entry is not an error. Must be set before the first record is
+     * parsed.
+     */
+    public void setFilter(final RecordFilter filter) {
+        this.filter = filter;
+    }
+
+    public int getValueCacheSize() {
+        return valueCacheSize;
+    }
+
+    /**
+     * Caches the values of the fields of the entry records, see {@link BindyFixedLengthFactory#setValueCacheSize(int)}.
+     * Must be set before the first record is parsed.
+     */
+    public void setValueCacheSize(final int valueCacheSize) {
+        this.valueCacheSize = valueCacheSize;
+    }
+
+    public int getStringPoolSize() {
+        return stringPoolSize;
+    }
+
+    /**
+     * Deduplicates the values of the String fields of the entry records, see
+     * {@link BindyFixedLengthFactory#setStringPoolSize(int)}. Must be set before the first record is parsed.
+     */
+    public void setStringPoolSize(final int stringPoolSize) {
+        this.stringPoolSize = stringPoolSize;
+    }
+
+    /**
+     * @return the value caches of the fields of the entry records, see {@link BindyFixedLengthFactory#getValueCaches()}
+     */
+    public Map<String, ValueCache> getValueCaches() throws Exception {
+        return ((BindyFixedLengthFactory)getFactory()).getValueCaches();
+    }
+
+    /**
+     * @return true if the entry record is bound, see {@link #setFilter(RecordFilter)}
+     */
+    boolean accept(final CharSequence record) {
+        return entryFilter == null || entryFilter.accept(record);
+    }
+
+    /**
+     * @return true if there are no entries because they have all been filtered out
+     */
+    boolean isFiltered() {
+        return entryFilter != null;
+    }
+
     public BindyExchange<TypeEntry, TypeHeader, TypeFooter> unmarshal(final InputStream inputStream) throws Exception {
+        final BindyExchangeImpl<TypeEntry, TypeHeader, TypeFooter> exchange = exchange();
+        return unmarshal(exchange, openStream(exchange, inputStream));
+    }
+
+    /**
+     * Same as {@link #unmarshal(InputStream)}, reading the file through a memory mapping instead of a stream.
+     * <p>
+     * With a single-byte charset (see {@link #setCharset(Charset)}) the records are bound straight from the mapped
+     * region, otherwise the mapped bytes are decoded without intermediate copies.
+     */
+    public BindyExchange<TypeEntry, TypeHeader, TypeFooter> unmarshal(final Path file) throws Exception {
+        return unmarshal(file, MappedRecordReader.DEFAULT_WINDOW_SIZE);
+    }
 
+    BindyExchange<TypeEntry, TypeHeader, TypeFooter> unmarshal(final Path file, final int windowSize) throws Exception {
         final BindyExchangeImpl<TypeEntry, TypeHeader, TypeFooter> exchange = exchange();
+        return unmarshal(exchange, openStream(exchange, file, windowSize));
+    }
 
-        final BindyFixedLengthFactory factory = (BindyFixedLengthFactory)getFactory();
-        org.apache.camel.util.ObjectHelper.notNull(factory, "not instantiated");
+    /**
+     * Parallel variant of {@link #unmarshal(Path)}, using the common {@link ForkJoinPool}.
+     *
+     * @see #unmarshalParallel(Path, ForkJoinPool)
+     */
+    public BindyExchange<TypeEntry, TypeHeader, TypeFooter> unmarshalParallel(final Path file) throws Exception {
+        return unmarshalParallel(file, ForkJoinPool.commonPool());
+    }
 
-        // List of Pojos
-        final List<Map<String, Object>> models = new ArrayList<>();
+    /**
+     * Parallel variant of {@link #unmarshal(Path)}: the file is cut into chunks at line boundaries, which are bound
+     * concurrently by the given pool. The result is the same as the one of {@link #unmarshal(Path)}, entries are in
+     * file order.
+     * <p>
+     * This requires the default line endings (no <code>eol</code> in {@code @FixedLengthRecord}) and a single-byte
+     * or UTF-8 charset; other files are parsed sequentially.
+     */
+    public BindyExchange<TypeEntry, TypeHeader, TypeFooter> unmarshalParallel(final Path file, final ForkJoinPool pool) throws Exception {
+        return unmarshalParallel(file, pool, ParallelUnmarshaller.MIN_CHUNK_SIZE);
+    }
 
-        // Pojos of the model
-        Map<String, Object> model;
+    BindyExchange<TypeEntry, TypeHeader, TypeFooter> unmarshalParallel(final Path file, final ForkJoinPool pool, final int minChunkSize) throws Exception {
 
-        final InputStreamReader in = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        final BindyFixedLengthFactory factory = modelFactory();
+        if( !ParallelUnmarshaller.supports(charset, factory.getEndOfLine())) {
+            return unmarshal(file);
+        }
 
-        // Scanner is used to read big file
-        final Scanner scanner = new Scanner(in);
-        boolean isEolSet = false;
-        if( !"".equals(factory.getEndOfLine())) {
-            scanner.useDelimiter(factory.getEndOfLine());
-            isEolSet = true;
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new ParallelUnmarshaller<>(this, factory, headerFactory, footerFactory, channel, charset)
+                    .unmarshal(exchange(), pool, minChunkSize);
         }
+    }
 
-        final AtomicInteger count = new AtomicInteger(0);
+    private BindyExchange<TypeEntry, TypeHeader, TypeFooter> unmarshal(final BindyExchangeImpl<TypeEntry, TypeHeader, TypeFooter> exchange,
+            final BindyFixedLengthStream<TypeEntry, TypeHeader, TypeFooter> stream) throws Exception {
 
-        try {
+        // List of Pojos
+        final List<TypeEntry> entries = new ArrayList<>();
 
-            // Parse the header if it exists
-            if(((isEolSet && scanner.hasNext()) || ( !isEolSet && scanner.hasNextLine())) && factory.hasHeader()) {
+        try(BindyFixedLengthStream<TypeEntry, TypeHeader, TypeFooter> records = stream) {
+            while(records.hasNext()) {
+                entries.add(records.next());
+            }
+        }
+        catch(final WrappedException e) {
+            throw e.getWrappedException();
+        }
 
-                // Read the line (should not trim as its fixed length)
-                final String line = getNextNonEmptyLine(scanner, count, isEolSet);
+        // BigIntegerFormatFactory if models list is empty or not
+        // If this is the case (correspond to an empty stream, ...)
+        checkNotEmpty(entries.isEmpty());
 
-                if( !factory.skipHeader()) {
-                    final Map<String, Object> headerObjMap = createModel(headerFactory, line, count.intValue());
-                    exchange.header(headerObjMap);
-                }
-            }
+        exchange.entries(entries);
+        return exchange;
+    }
 
-            String thisLine = getNextNonEmptyLine(scanner, count, isEolSet);
+    /**
+     * @throws IllegalArgumentException if the file has no entries, unless they have all been filtered out
+     */
+    void checkNotEmpty(final boolean empty) {
+        if(empty && !isFiltered()) {
+            throw new java.lang.IllegalArgumentException("No records have been defined in the file");
+        }
+    }
 
-            String nextLine = null;
-            if(thisLine != null) {
-                nextLine = getNextNonEmptyLine(scanner, count, isEolSet);
-            }
+    /**
+     * Push-style variant of {@link #unmarshal(InputStream)}: the handler is called for each record as soon as it
+     * has been bound, no intermediate collections are built. As by {@link #unmarshal(InputStream)}, an input without
+     * entries fails with an {@link IllegalArgumentException} unless records are filtered, instead of calling
+     * {@link RecordHandler#onComplete()}.
+     * <p>
+     * The input stream is closed when this method returns.
+     */
+    public void unmarshal(final InputStream inputStream, final RecordHandler<TypeEntry, TypeHeader, TypeFooter> handler) throws Exception {
+        org.apache.camel.util.ObjectHelper.notNull(handler, "handler");
+        unmarshal(openStream(exchange(), inputStream), handler);
+    }
 
-            // Parse the main file content
-            while(thisLine != null && nextLine != null) {
+    /**
+     * Push-style variant of {@link #unmarshal(Path)}, see {@link #unmarshal(InputStream, RecordHandler)}.
+     */
+    public void unmarshal(final Path file, final RecordHandler<TypeEntry, TypeHeader, TypeFooter> handler) throws Exception {
+        org.apache.camel.util.ObjectHelper.notNull(handler, "handler");
+        unmarshal(openStream(exchange(), file, MappedRecordReader.DEFAULT_WINDOW_SIZE), handler);
+    }
 
-                model = createModel(factory, thisLine, count.intValue());
+    private void unmarshal(final BindyFixedLengthStream<TypeEntry, TypeHeader, TypeFooter> stream,
+            final RecordHandler<TypeEntry, TypeHeader, TypeFooter> handler) throws Exception {
 
-                // Add objects graph to the list
-                models.add(model);
+        try(BindyFixedLengthStream<TypeEntry, TypeHeader, TypeFooter> records = stream) {
 
-                thisLine = nextLine;
-                nextLine = getNextNonEmptyLine(scanner, count, isEolSet);
+            if(records.getHeader() != null) {
+                handler.onHeader(records.getHeader());
             }
 
-            // this line should be the last non-empty line from the file
-            // optionally parse the line as a footer
-            if(thisLine != null) {
-                if(factory.hasFooter()) {
-                    if( !factory.skipFooter()) {
-                        final Map<String, Object> footerObjMap = createModel(footerFactory, thisLine, count.intValue());
-                        exchange.footer(footerObjMap);
-                    }
-                }
-                else {
-                    model = createModel(factory, thisLine, count.intValue());
-                    models.add(model);
-                }
+            boolean empty = true;
+            while(records.hasNext()) {
+                final TypeEntry entry = records.next();
+                handler.onEntry(entry, records.getLineNumber());
+                empty = false;
             }
 
-            // BigIntegerFormatFactory if models list is empty or not
-            // If this is the case (correspond to an empty stream, ...)
-            if(models.size() == 0) {
-                throw new java.lang.IllegalArgumentException("No records have been defined in the file");
-            }
-            else {
-                return extractUnmarshalResult(models, exchange);
+            if(records.getFooter() != null) {
+                handler.onFooter(records.getFooter());
             }
 
+            checkNotEmpty(empty);
+            handler.onComplete();
         }
-        finally {
-            scanner.close();
-            IOHelper.close(in, "in", LOG);
+        catch(final WrappedException e) {
+            throw e.getWrappedException();
         }
+    }
 
+    /**
+     * Pipelined variant of {@link #unmarshal(InputStream, RecordHandler)}: a reader thread splits the input into
+     * records, which are bound by <code>workers</code> threads while the next ones are being read. The handler is
+     * called from the current thread, in file order, exactly as by {@link #unmarshal(InputStream, RecordHandler)}.
+     * <p>
+     * Unlike {@link #unmarshalParallel(Path)} this works for any input, including the ones which can only be read
+     * sequentially. The input stream is closed when this method returns.
+     * <p>
+     * Each call starts <code>1 + workers</code> new daemon threads, which are not pooled: this pays off for large
+     * inputs only. The threads hand the records over without locks, and wait for each other by spinning, then
+     * yielding, then parking for 50 microseconds at a time, so an idle stage (e.g. the workers waiting for a slow
+     * input, or the reader and the workers waiting for a slow handler) keeps using some CPU until the input ends.
+     * If the handler fails, the input stream is closed to stop the reader thread; a read it is blocked in only
+     * returns early if the stream supports being closed concurrently, otherwise this method returns once the read
+     * completes.
+     */
+    public void unmarshalPipelined(final InputStream inputStream, final int workers, final RecordHandler<TypeEntry, TypeHeader, TypeFooter> handler)
+            throws Exception {
+        org.apache.camel.util.ObjectHelper.notNull(handler, "handler");
+        unmarshalPipelined(inputStream, workers, PipelinedUnmarshaller.DEFAULT_CAPACITY, handler);
     }
 
-    private String getNextNonEmptyLine(final Scanner scanner, final AtomicInteger count, final boolean isEolSet) {
-        String line = "";
-        while(org.apache.camel.util.ObjectHelper.isEmpty(line) && ((isEolSet && scanner.hasNext()) || ( !isEolSet && scanner.hasNextLine()))) {
-            count.incrementAndGet();
-            if( !isEolSet) {
-                line = scanner.nextLine();
-            }
-            else {
-                line = scanner.next();
-            }
+    void unmarshalPipelined(final InputStream inputStream, final int workers, final int capacity,
+            final RecordHandler<TypeEntry, TypeHeader, TypeFooter> handler) throws Exception {
+        unmarshalPipelined(exchange(), inputStream, workers, capacity, handler);
+    }
+
+    /**
+     * Pipelined variant of {@link #unmarshal(InputStream)}, see {@link #unmarshalPipelined(InputStream, int, RecordHandler)}.
+     */
+    public BindyExchange<TypeEntry, TypeHeader, TypeFooter> unmarshalPipelined(final InputStream inputStream, final int workers) throws Exception {
+
+        final BindyExchangeImpl<TypeEntry, TypeHeader, TypeFooter> exchange = exchange();
+
+        // List of Pojos
+        final List<TypeEntry> entries = new ArrayList<>();
+
+        unmarshalPipelined(exchange, inputStream, workers, PipelinedUnmarshaller.DEFAULT_CAPACITY, (entry, lineNumber) -> entries.add(entry));
+
+        exchange.entries(entries);
+        return exchange;
+    }
+
+    private void unmarshalPipelined(final BindyExchangeImpl<TypeEntry, TypeHeader, TypeFooter> exchange, final InputStream inputStream,
+            final int workers, final int capacity, final RecordHandler<TypeEntry, TypeHeader, TypeFooter> handler) throws Exception {
+
+        if(workers < 1) {
+            IOHelper.close(inputStream, "in", LOG);
+            throw new IllegalArgumentException("The number of workers must be positive: " + workers);
         }
 
-        if(org.apache.camel.util.ObjectHelper.isEmpty(line)) {
-            return null;
+        final BindyFixedLengthFactory factory = modelFactory();
+        new PipelinedUnmarshaller<>(this, factory, headerFactory, footerFactory, recordReader(factory, inputStream), inputStream,
+                workers, capacity).run(exchange, handler);
+    }
+
+    /**
+     * Streaming variant of {@link #unmarshal(InputStream)}: entries are bound lazily while the caller iterates, so
+     * the whole file is never held in memory. An input without entries results in an empty stream.
+     * <p>
+     * The returned stream must be closed, which also closes the input stream.
+     */
+    public BindyStream<TypeEntry, TypeHeader, TypeFooter> unmarshalStream(final InputStream inputStream) throws Exception {
+        return openStream(exchange(), inputStream);
+    }
+
+    /**
+     * Streaming variant of {@link #unmarshal(Path)}, see {@link #unmarshalStream(InputStream)}.
+     */
+    public BindyStream<TypeEntry, TypeHeader, TypeFooter> unmarshalStream(final Path file) throws Exception {
+        return openStream(exchange(), file, MappedRecordReader.DEFAULT_WINDOW_SIZE);
+    }
+
+    private BindyFixedLengthStream<TypeEntry, TypeHeader, TypeFooter> openStream(final BindyExchangeImpl<TypeEntry, TypeHeader, TypeFooter> exchange,
+            final InputStream inputStream) throws Exception {
+
+        final BindyFixedLengthFactory factory = modelFactory();
+        return openStream(exchange, factory, recordReader(factory, inputStream));
+    }
+
+    private RecordReader recordReader(final BindyFixedLengthFactory factory, final InputStream inputStream) {
+        final String eol = factory.getEndOfLine();
+
+        final SingleByteDecoder decoder = SingleByteDecoder.of(charset);
+        return decoder != null
+                ? new StreamRecordReader(inputStream, eol, decoder)
+                : new CharRecordReader(new InputStreamReader(inputStream, charset), eol);
+    }
+
+    private BindyFixedLengthStream<TypeEntry, TypeHeader, TypeFooter> openStream(final BindyExchangeImpl<TypeEntry, TypeHeader, TypeFooter> exchange,
+            final Path file, final int windowSize) throws Exception {
+
+        final BindyFixedLengthFactory factory = modelFactory();
+        final String eol = factory.getEndOfLine();
+
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        final RecordReader reader;
+        try {
+            final SingleByteDecoder decoder = SingleByteDecoder.of(charset);
+            reader = decoder != null
+                    ? new MappedRecordReader(channel, 0, channel.size(), eol, decoder, windowSize)
+                    : new CharRecordReader(new MappedReader(channel, 0, channel.size(), charset, windowSize), eol);
+        }
+        catch(final IOException | RuntimeException e) {
+            IOHelper.close(channel, "file", LOG);
+            throw e;
         }
-        else {
-            return line;
+
+        return openStream(exchange, factory, reader);
+    }
+
+    private BindyFixedLengthStream<TypeEntry, TypeHeader, TypeFooter> openStream(final BindyExchangeImpl<TypeEntry, TypeHeader, TypeFooter> exchange,
+            final BindyFixedLengthFactory factory, final RecordReader reader) throws Exception {
+
+        final BindyFixedLengthStream<TypeEntry, TypeHeader, TypeFooter> records = new BindyFixedLengthStream<>(this,
+                factory, headerFactory, footerFactory, exchange, reader);
+        try {
+            records.open();
+        }
+        catch(final Exception e) {
+            records.close();
+            throw e;
         }
+        return records;
     }
 
-    protected Map<String, Object> createModel(final BindyFixedLengthFactory factory, final String line, final int count) throws Exception {
-        String myLine = line;
+    private BindyFixedLengthFactory modelFactory() throws Exception {
+        final BindyFixedLengthFactory factory = (BindyFixedLengthFactory)getFactory();
+        org.apache.camel.util.ObjectHelper.notNull(factory, "not instantiated");
+        return factory;
+    }
+
+    protected Object[] createModel(final BindyFixedLengthFactory factory, final CharSequence line, final int count) throws Exception {
+        CharSequence myLine = line;
 
         // Check if the record length corresponds to the parameter
         // provided in the @FixedLengthRecord
@@ -178,17 +465,18 @@ public class BindyFixedLengthDataFormat<TypeEntry, TypeHeader, TypeFooter> exten
                 //myLine = rightPad(myLine, factory.recordLength());
             }
             if(isTrimmingNeededAndEnabled(factory, myLine)) {
-                myLine = myLine.substring(0, factory.recordLength());
+                myLine = myLine.subSequence(0, factory.recordLength());
             }
-            if((myLine.length() < factory.recordLength()
-                    && !factory.isIgnoreMissingChars()) || (myLine.length() > factory.recordLength())) {
+            // not checked when only a projection is bound without validation
+            if(factory.isValidateUnprojectedFields() && ((myLine.length() < factory.recordLength()
+                    && !factory.isIgnoreMissingChars()) || (myLine.length() > factory.recordLength()))) {
                 throw new java.lang.IllegalArgumentException("Size of the record: " + myLine.length()
                         + " is not equal to the value provided in the model: " + factory.recordLength());
             }
         }
 
         // Create POJO where Fixed data will be stored
-        final Map<String, Object> model = factory.factory();
+        final Object[] model = factory.factory();
 
         // Bind data from Fixed record with model classes
         factory.bind(myLine, model, count);
@@ -196,20 +484,22 @@ public class BindyFixedLengthDataFormat<TypeEntry, TypeHeader, TypeFooter> exten
         // Link objects together
         factory.link(model);
 
-        LOG.debug("Graph of objects created: {}", model);
+        if(LOG.isDebugEnabled()) {
+            LOG.debug("Graph of objects created: {}", Arrays.asList(model));
+        }
         return model;
     }
 
-    private boolean isTrimmingNeededAndEnabled(final BindyFixedLengthFactory factory, final String myLine) {
+    private boolean isTrimmingNeededAndEnabled(final BindyFixedLengthFactory factory, final CharSequence myLine) {
         return factory.isIgnoreTrailingChars() && myLine.length() > factory.recordLength();
     }
 
     @SuppressWarnings("unused")
-    private String rightPad(final String myLine, final int length) {
+    private String rightPad(final CharSequence myLine, final int length) {
         return String.format("%1$-" + length + "s", myLine);
     }
 
-    private boolean isPaddingNeededAndEnable(final BindyFixedLengthFactory factory, final String myLine) {
+    private boolean isPaddingNeededAndEnable(final BindyFixedLengthFactory factory, final CharSequence myLine) {
         return myLine.length() < factory.recordLength() && factory.isIgnoreMissingChars();
     }
 
@@ -218,17 +508,25 @@ public class BindyFixedLengthDataFormat<TypeEntry, TypeHeader, TypeFooter> exten
 
         final BindyFixedLengthFactory factory = new BindyFixedLengthFactory(getClassType());
         factory.setFormatFactory(formatFactory);
+        factory.setBindingStrategy(bindingStrategy);
+        factory.setProjection(projectedFields, projectedPositions);
+        factory.setValidateUnprojectedFields(validateUnprojectedFields);
+        factory.setValueCacheSize(valueCacheSize);
+        factory.setStringPoolSize(stringPoolSize);
+        entryFilter = filter != null ? filter.resolve(factory) : null;
 
         // Optionally initialize the header factory... using header model classes
         if(factory.hasHeader()) {
             this.headerFactory = new BindyFixedLengthFactory(factory.header());
             this.headerFactory.setFormatFactory(formatFactory);
+            this.headerFactory.setBindingStrategy(bindingStrategy);
         }
 
         // Optionally initialize the footer factory... using footer model classes
         if(factory.hasFooter()) {
             this.footerFactory = new BindyFixedLengthFactory(factory.footer());
             this.footerFactory.setFormatFactory(formatFactory);
+            this.footerFactory.setBindingStrategy(bindingStrategy);
         }
 
         return factory;
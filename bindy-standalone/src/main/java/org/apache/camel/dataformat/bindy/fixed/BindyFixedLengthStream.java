@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.camel.dataformat.bindy.BindyExchangeImpl;
+import org.apache.camel.dataformat.bindy.BindyFixedLengthFactory;
+import org.apache.camel.dataformat.bindy.BindyStream;
+import org.apache.camel.dataformat.bindy.WrappedException;
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads fixed length records lazily. Only the record being bound and the one following it (needed to detect the
+ * footer) are held in memory at any time.
+ *
+ * @see RecordSequence
+ */
+final class BindyFixedLengthStream<TypeEntry, TypeHeader, TypeFooter> implements BindyStream<TypeEntry, TypeHeader, TypeFooter> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BindyFixedLengthStream.class);
+
+    private final BindyFixedLengthDataFormat<TypeEntry, TypeHeader, TypeFooter> dataFormat;
+    private final BindyFixedLengthFactory factory;
+    private final BindyFixedLengthFactory headerFactory;
+    private final BindyFixedLengthFactory footerFactory;
+    private final BindyExchangeImpl<TypeEntry, TypeHeader, TypeFooter> exchange;
+
+    private final RecordSequence records;
+
+    private TypeEntry pending;
+    private int pendingLineNumber;
+    private int lineNumber;
+
+    BindyFixedLengthStream(final BindyFixedLengthDataFormat<TypeEntry, TypeHeader, TypeFooter> dataFormat,
+            final BindyFixedLengthFactory factory,
+            final BindyFixedLengthFactory headerFactory,
+            final BindyFixedLengthFactory footerFactory,
+            final BindyExchangeImpl<TypeEntry, TypeHeader, TypeFooter> exchange,
+            final RecordReader reader) {
+        this.dataFormat = dataFormat;
+        this.factory = factory;
+        this.headerFactory = headerFactory;
+        this.footerFactory = footerFactory;
+        this.exchange = exchange;
+
+        this.records = new RecordSequence(factory, reader);
+    }
+
+    /**
+     * Parses the header, if the model declares one.
+     */
+    void open() throws Exception {
+        final CharSequence header = records.readHeader();
+        if(header != null) {
+            final Object[] headerModel = dataFormat.createModel(headerFactory, header, records.count());
+            exchange.header(headerModel);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if(pending != null) {
+            return true;
+        }
+        try {
+            return advance();
+        }
+        catch(final RuntimeException e) {
+            throw e;
+        }
+        catch(final Exception e) {
+            throw new WrappedException(e);
+        }
+    }
+
+    @Override
+    public TypeEntry next() {
+        if( !hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final TypeEntry entry = pending;
+        lineNumber = pendingLineNumber;
+        pending = null;
+        return entry;
+    }
+
+    /**
+     * Binds the next entry into {@link #pending}.
+     *
+     * @return false when there are no more entries; the footer (if any) has been parsed at that point
+     */
+    private boolean advance() throws Exception {
+        do {
+            if( !records.next()) {
+                return false;
+            }
+
+            if(records.isFooter()) {
+                final Object[] footerModel = dataFormat.createModel(footerFactory, records.record(), records.count());
+                exchange.footer(footerModel);
+                return false;
+            }
+        }
+        while( !dataFormat.accept(records.record()));
+
+        pending = entry(dataFormat.createModel(factory, records.record(), records.count()));
+        pendingLineNumber = records.lineNumber();
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypeEntry entry(final Object[] model) {
+        return (TypeEntry)model[0];
+    }
+
+    @Override
+    public TypeHeader getHeader() {
+        return exchange.getHeader();
+    }
+
+    @Override
+    public TypeFooter getFooter() {
+        return exchange.getFooter();
+    }
+
+    @Override
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public Stream<TypeEntry> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        IOHelper.close(records, "in", LOG);
+    }
+
+}
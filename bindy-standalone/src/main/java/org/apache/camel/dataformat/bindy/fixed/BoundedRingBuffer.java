@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded lock-free multi-producer multi-consumer queue (D. Vyukov's array based design): each slot carries a
+ * sequence number telling whether it is ready to be written or to be read for a given lap, so producers and
+ * consumers only contend on a CAS of their respective cursor.
+ */
+final class BoundedRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    /** next position to write */
+    private final AtomicLong tail = new AtomicLong();
+    /** next position to read */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    BoundedRingBuffer(final int capacity) {
+        final int size = capacity <= 1 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for(int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false if the buffer is full
+     */
+    boolean offer(final E element) {
+        long pos = tail.get();
+        for(;;) {
+            final int index = (int)pos & mask;
+            final long dif = sequences.get(index) - pos;
+            if(dif == 0) {
+                if(tail.compareAndSet(pos, pos + 1)) {
+                    elements.set(index, element);
+                    // publishes the element
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            }
+            else if(dif < 0) {
+                return false;
+            }
+            else {
+                // another producer took the slot
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @return the next element, or <code>null</code> if the buffer is empty
+     */
+    E poll() {
+        long pos = head.get();
+        for(;;) {
+            final int index = (int)pos & mask;
+            final long dif = sequences.get(index) - (pos + 1);
+            if(dif == 0) {
+                if(head.compareAndSet(pos, pos + 1)) {
+                    final E element = elements.get(index);
+                    elements.set(index, null);
+                    // frees the slot for the next lap
+                    sequences.set(index, pos + mask + 1);
+                    return element;
+                }
+                pos = head.get();
+            }
+            else if(dif < 0) {
+                return null;
+            }
+            else {
+                // another consumer took the element
+                pos = head.get();
+            }
+        }
+    }
+
+    /**
+     * Waiting strategy of the threads using the buffer: spin first, then yield, then park for a short while.
+     *
+     * @param attempt number of times the caller waited in a row
+     */
+    static void idle(final int attempt) {
+        if(attempt < 64) {
+            return;
+        }
+        if(attempt < 128) {
+            Thread.yield();
+            return;
+        }
+        LockSupport.parkNanos(50_000L);
+    }
+
+}
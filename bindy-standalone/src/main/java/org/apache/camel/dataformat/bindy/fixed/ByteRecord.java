@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A record held as raw bytes of a single-byte charset, either in a heap buffer or in a region of a mapped file.
+ * Slicing it does not copy anything; characters are only decoded by {@link #toString()}, i.e. when a field value
+ * is actually needed as a String.
+ */
+final class ByteRecord implements CharSequence {
+
+    private final ByteBuffer bytes;
+    private final int offset;
+    private final int length;
+    private final SingleByteDecoder decoder;
+
+    ByteRecord(final ByteBuffer bytes, final int offset, final int length, final SingleByteDecoder decoder) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        this.decoder = decoder;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if(index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        return decoder.charAt(bytes.get(offset + index));
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        if(start < 0 || start > end || end > length) {
+            throw new IndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + length);
+        }
+        if(start == 0 && end == length) {
+            return this;
+        }
+        return new ByteRecord(bytes, offset + start, end - start, decoder);
+    }
+
+    @Override
+    public String toString() {
+        return decoder.decode(bytes, offset, length);
+    }
+
+}
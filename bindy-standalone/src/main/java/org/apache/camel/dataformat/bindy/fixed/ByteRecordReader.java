@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Byte oriented counterpart of {@link CharRecordReader} for single-byte charsets: the input is split into records
+ * without being decoded, following the same rules, and each record is returned as a {@link ByteRecord}.
+ * <p>
+ * Subclasses provide the bytes, by filling {@link #buf} from {@link #mark} onwards.
+ */
+abstract class ByteRecordReader implements RecordReader {
+
+    protected final SingleByteDecoder decoder;
+    private final char[] eol;
+
+    protected ByteBuffer buf;
+    /** start of the record being read */
+    protected int mark;
+    /** next byte to examine */
+    protected int pos;
+    /** end of valid data in buf */
+    protected int limit;
+    /** previous line ended with \r: swallow a directly following \n */
+    private boolean skipLF;
+
+    /**
+     * @param eol literal record terminator, or empty to use the default line endings
+     * @param decoder decoder of the charset of the input
+     */
+    protected ByteRecordReader(final String eol, final SingleByteDecoder decoder) {
+        this.decoder = decoder;
+        this.eol = eol == null || eol.isEmpty() ? null : eol.toCharArray();
+    }
+
+    /**
+     * @return minimum number of bytes {@link #buf} has to hold
+     */
+    protected int eolLength() {
+        return eol == null ? 1 : eol.length;
+    }
+
+    @Override
+    public ByteRecord readRecord() throws IOException {
+        return eol == null ? readLine() : readToken();
+    }
+
+    private ByteRecord readLine() throws IOException {
+        mark = pos;
+        for(;;) {
+            if(pos >= limit && !fill()) {
+                skipLF = false;
+                return pos > mark ? record() : null;
+            }
+
+            final char c = decoder.charAt(buf.get(pos));
+            if(skipLF) {
+                skipLF = false;
+                if(c == '\n') {
+                    mark = ++pos;
+                    continue;
+                }
+            }
+
+            if(c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029' || c == '\u0085') {
+                final ByteRecord line = record();
+                ++pos;
+                skipLF = c == '\r';
+                return line;
+            }
+            ++pos;
+        }
+    }
+
+    private ByteRecord readToken() throws IOException {
+        mark = pos;
+        if(atEol()) {
+            pos += eol.length;
+            mark = pos;
+        }
+
+        for(;;) {
+            if(pos >= limit && !fill()) {
+                return pos > mark ? record() : null;
+            }
+            if(decoder.charAt(buf.get(pos)) == eol[0] && atEol()) {
+                // the terminator itself is skipped when reading the next record
+                return record();
+            }
+            ++pos;
+        }
+    }
+
+    private boolean atEol() throws IOException {
+        while(limit - pos < eol.length) {
+            if( !fill()) {
+                return false;
+            }
+        }
+        for(int i = 0; i < eol.length; i++) {
+            if(decoder.charAt(buf.get(pos + i)) != eol[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the record made of the bytes from {@link #mark} to {@link #pos}
+     */
+    protected abstract ByteRecord record();
+
+    /**
+     * Makes more input available in {@link #buf}, keeping the bytes from {@link #mark} onwards (the indexes are
+     * adjusted if the bytes are moved).
+     *
+     * @return false at the end of the input
+     */
+    protected abstract boolean fill() throws IOException;
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Splits character input into records, replacing {@link java.util.Scanner} which is regex driven and copies its
+ * buffer heavily.
+ * <p>
+ * Records are terminated either by the default line endings recognized by {@link java.util.Scanner#nextLine()}
+ * (<code>\n</code>, <code>\r</code>, <code>\r\n</code>, U+2028, U+2029 and U+0085), or by a literal end of line string (as configured in {@code @FixedLengthRecord.eol}). For
+ * the latter the tokenizing rules of {@link java.util.Scanner#next()} apply: one terminator is skipped before each
+ * record, and a terminator at the very end of the input does not produce a trailing empty record.
+ */
+final class CharRecordReader implements RecordReader {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final Reader in;
+    private final char[] eol;
+
+    private char[] buf;
+    /** start of the record being read */
+    private int mark;
+    /** next char to examine */
+    private int pos;
+    /** end of valid data in buf */
+    private int limit;
+    private boolean eof;
+    /** previous line ended with \r: swallow a directly following \n */
+    private boolean skipLF;
+
+    /**
+     * @param in the input
+     * @param eol literal record terminator, or empty to use the default line endings
+     */
+    CharRecordReader(final Reader in, final String eol) {
+        this(in, eol, DEFAULT_BUFFER_SIZE);
+    }
+
+    CharRecordReader(final Reader in, final String eol, final int bufferSize) {
+        this.in = in;
+        this.eol = eol == null || eol.isEmpty() ? null : eol.toCharArray();
+        this.buf = new char[Math.max(bufferSize, this.eol == null ? 1 : this.eol.length)];
+    }
+
+    /**
+     * @return the next record, possibly empty, or <code>null</code> at the end of the input
+     */
+    @Override
+    public String readRecord() throws IOException {
+        return eol == null ? readLine() : readToken();
+    }
+
+    private String readLine() throws IOException {
+        mark = pos;
+        for(;;) {
+            if(pos >= limit && !fill()) {
+                skipLF = false;
+                return pos > mark ? new String(buf, mark, pos - mark) : null;
+            }
+
+            final char c = buf[pos];
+            if(skipLF) {
+                skipLF = false;
+                if(c == '\n') {
+                    mark = ++pos;
+                    continue;
+                }
+            }
+
+            if(c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029' || c == '\u0085') {
+                final String line = new String(buf, mark, pos - mark);
+                ++pos;
+                skipLF = c == '\r';
+                return line;
+            }
+            ++pos;
+        }
+    }
+
+    private String readToken() throws IOException {
+        mark = pos;
+        if(atEol()) {
+            pos += eol.length;
+            mark = pos;
+        }
+
+        for(;;) {
+            if(pos >= limit && !fill()) {
+                return pos > mark ? new String(buf, mark, pos - mark) : null;
+            }
+            if(buf[pos] == eol[0] && atEol()) {
+                // the terminator itself is skipped when reading the next record
+                return new String(buf, mark, pos - mark);
+            }
+            ++pos;
+        }
+    }
+
+    private boolean atEol() throws IOException {
+        while(limit - pos < eol.length) {
+            if( !fill()) {
+                return false;
+            }
+        }
+        for(int i = 0; i < eol.length; i++) {
+            if(buf[pos + i] != eol[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads more input, keeping the chars from {@link #mark} onwards.
+     *
+     * @return false at the end of the input
+     */
+    private boolean fill() throws IOException {
+        if(eof) {
+            return false;
+        }
+
+        if(mark > 0) {
+            System.arraycopy(buf, mark, buf, 0, limit - mark);
+            limit -= mark;
+            pos -= mark;
+            mark = 0;
+        }
+        else if(limit == buf.length) {
+            // a single record does not fit
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+
+        final int n = in.read(buf, limit, buf.length - limit);
+        if(n < 0) {
+            eof = true;
+            return false;
+        }
+        limit += n;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Decodes a memory mapped file, for the charsets {@link MappedRecordReader} does not handle. The bytes are decoded
+ * straight from the mapped windows, without being copied to an intermediate buffer first.
+ */
+final class MappedReader extends Reader {
+
+    private static final int CHAR_BUFFER_SIZE = 8 * 1024;
+
+    private final FileChannel channel;
+    private final long end;
+    private final int windowSize;
+    private final CharsetDecoder decoder;
+    private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+
+    private ByteBuffer window = ByteBuffer.allocate(0);
+    /** position in the file of the first byte of {@link #window} */
+    private long windowStart;
+    private boolean eof;
+
+    /**
+     * @param channel the file, closed by {@link #close()}
+     * @param start position of the first byte to read
+     * @param end position after the last byte to read
+     */
+    MappedReader(final FileChannel channel, final long start, final long end, final Charset charset) {
+        this(channel, start, end, charset, MappedRecordReader.DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedReader(final FileChannel channel, final long start, final long end, final Charset charset, final int windowSize) {
+        this.channel = channel;
+        this.end = end;
+        this.windowSize = Math.max(windowSize, 1);
+        this.windowStart = start;
+        // same as InputStreamReader
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.chars.flip();
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+        if(len == 0) {
+            return 0;
+        }
+        if( !chars.hasRemaining() && !decode()) {
+            return -1;
+        }
+        final int n = Math.min(len, chars.remaining());
+        chars.get(cbuf, off, n);
+        return n;
+    }
+
+    /**
+     * Refills {@link #chars}.
+     *
+     * @return false at the end of the input
+     */
+    private boolean decode() throws IOException {
+        chars.clear();
+        while( !eof && chars.position() == 0) {
+            final boolean endOfInput = windowStart + window.limit() >= end;
+            final CoderResult result = decoder.decode(window, chars, endOfInput);
+            if(result.isError()) {
+                result.throwException();
+            }
+            if(result.isUnderflow()) {
+                if(endOfInput) {
+                    decoder.flush(chars);
+                    eof = true;
+                }
+                else {
+                    // continue with the bytes left over, e.g. an incomplete multi-byte sequence
+                    final long from = windowStart + window.position();
+                    final long size = Math.max(windowSize, 2L * window.remaining());
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(size, end - from));
+                    windowStart = from;
+                }
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads the records of a single-byte charset straight from a memory mapped file. Records are views over the
+ * mapped region, nothing is copied. The file is mapped in windows (a single mapping is limited to 2 GB), each new
+ * window starting at the record being read.
+ */
+final class MappedRecordReader extends ByteRecordReader {
+
+    static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long end;
+    private final int windowSize;
+
+    /** position in the file of the first byte of {@link #buf} */
+    private long windowStart;
+
+    /**
+     * @param channel the file, closed by {@link #close()}
+     * @param start position of the first byte to read
+     * @param end position after the last byte to read
+     */
+    MappedRecordReader(final FileChannel channel, final long start, final long end, final String eol, final SingleByteDecoder decoder) {
+        this(channel, start, end, eol, decoder, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedRecordReader(final FileChannel channel, final long start, final long end, final String eol, final SingleByteDecoder decoder,
+            final int windowSize) {
+        super(eol, decoder);
+        this.channel = channel;
+        this.end = end;
+        this.windowSize = Math.max(windowSize, eolLength());
+        this.windowStart = start;
+        this.buf = ByteBuffer.allocate(0);
+    }
+
+    @Override
+    protected ByteRecord record() {
+        return new ByteRecord(buf, mark, pos - mark, decoder);
+    }
+
+    @Override
+    protected boolean fill() throws IOException {
+        if(windowStart + limit >= end) {
+            return false;
+        }
+
+        final long from = windowStart + mark;
+        final int keep = limit - mark;
+
+        // a record larger than the window doubles it
+        long size = Math.min(Math.max(windowSize, 2L * keep), end - from);
+        if(size > Integer.MAX_VALUE) {
+            if(keep == Integer.MAX_VALUE) {
+                throw new IOException("Record starting at byte " + from + " is larger than 2 GB");
+            }
+            size = Integer.MAX_VALUE;
+        }
+
+        buf = channel.map(FileChannel.MapMode.READ_ONLY, from, size);
+        windowStart = from;
+        pos -= mark;
+        mark = 0;
+        limit = (int)size;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
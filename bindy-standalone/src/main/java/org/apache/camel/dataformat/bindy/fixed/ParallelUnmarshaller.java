@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.dataformat.bindy.BindyExchange;
+import org.apache.camel.dataformat.bindy.BindyExchangeImpl;
+import org.apache.camel.dataformat.bindy.BindyFixedLengthFactory;
+
+/**
+ * Unmarshals a file by cutting it into chunks at line boundaries, which are bound concurrently on a
+ * {@link ForkJoinPool}. The result is the same as the one of a sequential parse, in file order, including the error
+ * raised for the first invalid record.
+ * <p>
+ * Chunks are read through memory mappings of the file, line numbers are counted relative to the start of each chunk.
+ * The first and last non-empty record of each chunk are not bound in parallel: the first one may be the header of
+ * the file, and the last one may be its footer. They are bound while the chunks are merged, once the number of
+ * lines before each chunk is known. A record which fails to bind within a chunk is bound again at that point, with
+ * its absolute line number, so that the error message is the one of the sequential parse.
+ * <p>
+ * Once a chunk stops on an error, the chunks after it in the file are not needed: they stop binding, and are not
+ * started any more. The chunks before it are still bound, as one of them may hold the first invalid record.
+ */
+final class ParallelUnmarshaller<TypeEntry, TypeHeader, TypeFooter> {
+
+    static final int MIN_CHUNK_SIZE = 1024 * 1024;
+
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+
+    private final BindyFixedLengthDataFormat<TypeEntry, TypeHeader, TypeFooter> dataFormat;
+    private final BindyFixedLengthFactory factory;
+    private final BindyFixedLengthFactory headerFactory;
+    private final BindyFixedLengthFactory footerFactory;
+    private final FileChannel channel;
+    private final Charset charset;
+    /** null for UTF-8 */
+    private final SingleByteDecoder decoder;
+    /** start of the first chunk in the file known to have stopped on an error, Long.MAX_VALUE if none */
+    private final AtomicLong failedChunk = new AtomicLong(Long.MAX_VALUE);
+
+    ParallelUnmarshaller(final BindyFixedLengthDataFormat<TypeEntry, TypeHeader, TypeFooter> dataFormat,
+            final BindyFixedLengthFactory factory,
+            final BindyFixedLengthFactory headerFactory,
+            final BindyFixedLengthFactory footerFactory,
+            final FileChannel channel,
+            final Charset charset) {
+        this.dataFormat = dataFormat;
+        this.factory = factory;
+        this.headerFactory = headerFactory;
+        this.footerFactory = footerFactory;
+        this.channel = channel;
+        this.charset = charset;
+        this.decoder = SingleByteDecoder.of(charset);
+    }
+
+    /**
+     * Chunks are cut after line terminators found by scanning the raw bytes. This is only safe for the default line
+     * endings, and for charsets in which these bytes can not be part of another character.
+     */
+    static boolean supports(final Charset charset, final String eol) {
+        return (eol == null || eol.isEmpty())
+                && (StandardCharsets.UTF_8.equals(charset) || SingleByteDecoder.of(charset) != null);
+    }
+
+    BindyExchange<TypeEntry, TypeHeader, TypeFooter> unmarshal(final BindyExchangeImpl<TypeEntry, TypeHeader, TypeFooter> exchange,
+            final ForkJoinPool pool, final int minChunkSize) throws Exception {
+
+        final long size = channel.size();
+        final long chunkSize = Math.max(minChunkSize, size / (4L * pool.getParallelism()));
+
+        final List<Chunk<TypeEntry>> chunks = pool.invoke(new ChunkTask(0, size, chunkSize));
+
+        final List<TypeEntry> entries = new ArrayList<>();
+
+        // number of lines before the current chunk
+        int prefix = 0;
+        boolean headerPending = factory.hasHeader();
+        // record waiting for the line number of the next non-empty line
+        CharSequence pending = null;
+
+        for(final Chunk<TypeEntry> chunk : chunks) {
+
+            if(chunk.first != null) {
+                final int line = prefix + chunk.firstLine;
+                if(headerPending) {
+                    headerPending = false;
+                    if( !factory.skipHeader()) {
+                        exchange.header(dataFormat.createModel(headerFactory, chunk.first, line));
+                    }
+                }
+                else {
+                    bind(pending, line, entries);
+                    pending = chunk.first;
+                }
+            }
+
+            if(chunk.bodyLine != 0) {
+                bind(pending, prefix + chunk.bodyLine, entries);
+                pending = null;
+            }
+            entries.addAll(chunk.entries);
+
+            if(chunk.error != null) {
+                if(chunk.errorRecord != null) {
+                    // expected to throw the same error, with the absolute line number
+                    dataFormat.createModel(factory, chunk.errorRecord, prefix + chunk.errorCount);
+                }
+                throw chunk.error;
+            }
+
+            if(chunk.last != null) {
+                bind(pending, prefix + chunk.lastLine, entries);
+                pending = chunk.last;
+            }
+
+            prefix += chunk.lines;
+        }
+
+        // this record is the last non-empty line from the file
+        // optionally parse the line as a footer
+        if(pending != null) {
+            if(factory.hasFooter()) {
+                if( !factory.skipFooter()) {
+                    exchange.footer(dataFormat.createModel(footerFactory, pending, prefix));
+                }
+            }
+            else if(dataFormat.accept(pending)) {
+                entries.add(entry(dataFormat.createModel(factory, pending, prefix)));
+            }
+        }
+
+        dataFormat.checkNotEmpty(entries.isEmpty());
+
+        exchange.entries(entries);
+        return exchange;
+    }
+
+    private void bind(final CharSequence record, final int count, final List<TypeEntry> entries) throws Exception {
+        if(record != null && dataFormat.accept(record)) {
+            entries.add(entry(dataFormat.createModel(factory, record, count)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypeEntry entry(final Object[] model) {
+        return (TypeEntry)model[0];
+    }
+
+    /**
+     * Binds the records of a chunk, except the first (only if the model has a header) and the last non-empty ones.
+     */
+    private Chunk<TypeEntry> parse(final long start, final long end) {
+        final Chunk<TypeEntry> chunk = new Chunk<>();
+
+        // not closed, as it would close the shared channel; the mappings are released by the garbage collector
+        final RecordReader reader = decoder != null
+                ? new MappedRecordReader(channel, start, end, "", decoder)
+                : new CharRecordReader(new MappedReader(channel, start, end, charset), "");
+
+        int count = 0;
+        CharSequence pending = null;
+        int pendingLine = 0;
+
+        try {
+            for(;;) {
+                if(start > failedChunk.get()) {
+                    // cancelled, the merge stops at the error before this chunk
+                    return chunk;
+                }
+                final CharSequence line = reader.readRecord();
+                if(line == null) {
+                    break;
+                }
+                ++count;
+                if(RecordSequence.isBlank(line)) {
+                    continue;
+                }
+
+                if(chunk.firstLine == 0) {
+                    chunk.firstLine = count;
+                    if(factory.hasHeader()) {
+                        chunk.first = line;
+                        continue;
+                    }
+                }
+
+                if(pending != null) {
+                    if(chunk.bodyLine == 0) {
+                        chunk.bodyLine = pendingLine;
+                    }
+                    if( !dataFormat.accept(pending)) {
+                        pending = line;
+                        pendingLine = count;
+                        continue;
+                    }
+                    try {
+                        chunk.entries.add(entry(dataFormat.createModel(factory, pending, count)));
+                    }
+                    catch(final Exception e) {
+                        chunk.errorRecord = pending;
+                        chunk.errorCount = count;
+                        return failed(chunk, start, e);
+                    }
+                }
+                pending = line;
+                pendingLine = count;
+            }
+        }
+        catch(final IOException e) {
+            return failed(chunk, start, e);
+        }
+
+        chunk.last = pending;
+        chunk.lastLine = pendingLine;
+        chunk.lines = count;
+        return chunk;
+    }
+
+    /**
+     * Records the error of a chunk, which cancels the chunks after it.
+     */
+    private Chunk<TypeEntry> failed(final Chunk<TypeEntry> chunk, final long start, final Exception error) {
+        chunk.error = error;
+        failedChunk.accumulateAndGet(start, Math::min);
+        return chunk;
+    }
+
+    /**
+     * @return the position following the first line terminator at or after <code>from</code>, or the size of the
+     *         file if there is none
+     */
+    private long boundary(final long from) throws IOException {
+        final long size = channel.size();
+        final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+
+        long position = from;
+        boolean cr = false;
+        while(position < size) {
+            buffer.clear();
+            final int n = channel.read(buffer, position);
+            if(n < 0) {
+                break;
+            }
+            for(int i = 0; i < n; i++) {
+                final char c = decoder != null ? decoder.charAt(buffer.get(i)) : (char)(buffer.get(i) & 0xFF);
+                if(cr) {
+                    // \r\n is a single terminator
+                    return c == '\n' ? position + i + 1 : position + i;
+                }
+                if(c == '\r') {
+                    cr = true;
+                }
+                else if(c == '\n' || decoder != null && (c == '\u0085' || c == '\u2028' || c == '\u2029')) {
+                    return position + i + 1;
+                }
+            }
+            position += n;
+        }
+        return size;
+    }
+
+    /**
+     * Result of the parsing of a chunk. Line numbers are relative to the start of the chunk (1-based), 0 when
+     * not applicable.
+     */
+    private static final class Chunk<TypeEntry> {
+
+        final List<TypeEntry> entries = new ArrayList<>();
+
+        /** number of lines in the chunk */
+        int lines;
+        /** line of the first non-empty record */
+        int firstLine;
+        /** the first non-empty record, held back if the model has a header */
+        CharSequence first;
+        /** line of the first record bound (or failed to bind) within the chunk */
+        int bodyLine;
+        /** the last non-empty record, held back */
+        CharSequence last;
+        int lastLine;
+
+        /** parsing stopped on this error */
+        Exception error;
+        /** the record which failed to bind, null for an I/O error */
+        CharSequence errorRecord;
+        /** the line count the record was bound with */
+        int errorCount;
+    }
+
+    private final class ChunkTask extends RecursiveTask<List<Chunk<TypeEntry>>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long start;
+        private final long end;
+        private final long chunkSize;
+
+        ChunkTask(final long start, final long end, final long chunkSize) {
+            this.start = start;
+            this.end = end;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected List<Chunk<TypeEntry>> compute() {
+            if(start > failedChunk.get()) {
+                // cancelled, this chunk is never merged
+                return Collections.singletonList(new Chunk<>());
+            }
+            if(end - start > chunkSize) {
+                final long middle;
+                try {
+                    middle = boundary(start + (end - start) / 2);
+                }
+                catch(final IOException e) {
+                    return Collections.singletonList(failed(new Chunk<>(), start, e));
+                }
+
+                if(middle < end) {
+                    final ChunkTask left = new ChunkTask(start, middle, chunkSize);
+                    left.fork();
+                    final List<Chunk<TypeEntry>> right = new ChunkTask(middle, end, chunkSize).compute();
+
+                    final List<Chunk<TypeEntry>> chunks = new ArrayList<>(left.join());
+                    chunks.addAll(right);
+                    return chunks;
+                }
+            }
+            return Collections.singletonList(parse(start, end));
+        }
+    }
+
+}
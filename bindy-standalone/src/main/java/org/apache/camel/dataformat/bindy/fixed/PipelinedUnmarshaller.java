@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.camel.dataformat.bindy.BindyExchangeImpl;
+import org.apache.camel.dataformat.bindy.BindyFixedLengthFactory;
+import org.apache.camel.dataformat.bindy.RecordHandler;
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unmarshals an input in a pipeline: a reader thread splits the input into records (see {@link RecordSequence}),
+ * which are handed over a {@link BoundedRingBuffer} to worker threads running the bind step. The results are put
+ * back in file order and passed to the handler on the calling thread, so I/O overlaps with binding even for inputs
+ * which can only be read sequentially (pipes, decompressing streams...).
+ * <p>
+ * Memory use is bounded: when the handler falls behind, the workers wait for the results to be consumed, which in
+ * turn stops the reader once the ring buffer is full.
+ */
+final class PipelinedUnmarshaller<TypeEntry, TypeHeader, TypeFooter> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PipelinedUnmarshaller.class);
+
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int HEADER = 0;
+    private static final int ENTRY = 1;
+    private static final int FOOTER = 2;
+
+    /** tells a worker to stop */
+    private static final Task END = new Task(-1, -1, null, 0, 0);
+
+    private final BindyFixedLengthDataFormat<TypeEntry, TypeHeader, TypeFooter> dataFormat;
+    private final BindyFixedLengthFactory factory;
+    private final BindyFixedLengthFactory headerFactory;
+    private final BindyFixedLengthFactory footerFactory;
+    private final RecordSequence records;
+    private final InputStream input;
+
+    private final BoundedRingBuffer<Task> tasks;
+    /** results by sequence number, slot <code>seq & mask</code>, for the sequence numbers in [consumed, consumed + capacity) */
+    private final AtomicReferenceArray<Task> results;
+    private final int mask;
+
+    private final Thread reader;
+    private final Thread[] workers;
+
+    /** sequence number of the next result to hand to the handler */
+    private volatile long consumed;
+    /** number of records read, set once the reader is done */
+    private volatile long total = -1;
+    private volatile Throwable readFailure;
+    private volatile boolean cancelled;
+
+    PipelinedUnmarshaller(final BindyFixedLengthDataFormat<TypeEntry, TypeHeader, TypeFooter> dataFormat,
+            final BindyFixedLengthFactory factory,
+            final BindyFixedLengthFactory headerFactory,
+            final BindyFixedLengthFactory footerFactory,
+            final RecordReader reader,
+            final InputStream input,
+            final int workers,
+            final int capacity) {
+        this.dataFormat = dataFormat;
+        this.factory = factory;
+        this.headerFactory = headerFactory;
+        this.footerFactory = footerFactory;
+        this.records = new RecordSequence(factory, reader);
+        this.input = input;
+
+        this.tasks = new BoundedRingBuffer<>(capacity);
+        final int size = capacity <= 1 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.results = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+
+        this.reader = new Thread(this::read, "bindy-reader");
+        this.reader.setDaemon(true);
+        this.workers = new Thread[workers];
+        for(int i = 0; i < workers; i++) {
+            this.workers[i] = new Thread(this::bind, "bindy-worker-" + (i + 1));
+            this.workers[i].setDaemon(true);
+        }
+    }
+
+    /**
+     * Runs the pipeline, calling the handler from the current thread. The header and the footer are also set on the
+     * exchange. The input is closed and all threads have stopped when this method returns.
+     */
+    void run(final BindyExchangeImpl<TypeEntry, TypeHeader, TypeFooter> exchange,
+            final RecordHandler<TypeEntry, TypeHeader, TypeFooter> handler) throws Exception {
+
+        reader.start();
+        for(final Thread worker : workers) {
+            worker.start();
+        }
+
+        boolean empty = true;
+        try {
+            for(long seq = 0;; seq++) {
+                final Task task = awaitResult(seq);
+                if(task == null) {
+                    break;
+                }
+                if(task.error != null) {
+                    throw rethrow(task.error);
+                }
+
+                switch(task.kind) {
+                case HEADER:
+                    exchange.header(task.model);
+                    handler.onHeader(exchange.getHeader());
+                    break;
+                case FOOTER:
+                    exchange.footer(task.model);
+                    handler.onFooter(exchange.getFooter());
+                    break;
+                default:
+                    handler.onEntry(entry(task.model), task.lineNumber);
+                    empty = false;
+                }
+            }
+
+            if(readFailure != null) {
+                throw rethrow(readFailure);
+            }
+
+            dataFormat.checkNotEmpty(empty);
+            handler.onComplete();
+        }
+        finally {
+            cancelled = true;
+            // closing the input from here also makes a read the reader is blocked in fail, if the stream supports it
+            IOHelper.close(input, "in", LOG);
+            reader.join();
+            for(final Thread worker : workers) {
+                worker.join();
+            }
+        }
+    }
+
+    /**
+     * @return the result with the given sequence number, or <code>null</code> if all results have been consumed
+     */
+    private Task awaitResult(final long seq) {
+        final int index = (int)seq & mask;
+        for(int attempt = 0;; attempt++) {
+            final Task task = results.get(index);
+            if(task != null) {
+                results.set(index, null);
+                consumed = seq + 1;
+                return task;
+            }
+            final long count = total;
+            if(count >= 0 && seq >= count) {
+                return null;
+            }
+            BoundedRingBuffer.idle(attempt);
+        }
+    }
+
+    /**
+     * Reader thread: splits the input and publishes the records.
+     */
+    private void read() {
+        long seq = 0;
+        try {
+            final CharSequence header = records.readHeader();
+            if(header != null && publish(new Task(seq, HEADER, header, records.lineNumber(), records.count()))) {
+                seq++;
+            }
+            while( !cancelled && records.next()) {
+                if( !records.isFooter() && !dataFormat.accept(records.record())) {
+                    continue;
+                }
+                if( !publish(new Task(seq, records.isFooter() ? FOOTER : ENTRY, records.record(), records.lineNumber(), records.count()))) {
+                    break;
+                }
+                seq++;
+            }
+        }
+        catch(final Throwable e) {
+            readFailure = e;
+        }
+        finally {
+            total = seq;
+            IOHelper.close(records, "in", LOG);
+            for(int i = 0; i < workers.length; i++) {
+                publish(END);
+            }
+        }
+    }
+
+    /**
+     * @return false if the pipeline has been cancelled
+     */
+    private boolean publish(final Task task) {
+        for(int attempt = 0; !tasks.offer(task); attempt++) {
+            if(cancelled) {
+                return false;
+            }
+            BoundedRingBuffer.idle(attempt);
+        }
+        return true;
+    }
+
+    /**
+     * Worker thread: binds the records and stores the results by sequence number.
+     */
+    private void bind() {
+        for(;;) {
+            Task task;
+            for(int attempt = 0; (task = tasks.poll()) == null; attempt++) {
+                if(cancelled) {
+                    return;
+                }
+                BoundedRingBuffer.idle(attempt);
+            }
+            if(task == END) {
+                return;
+            }
+
+            try {
+                task.model = dataFormat.createModel(factory(task.kind), task.record, task.count);
+            }
+            catch(final Throwable e) {
+                task.error = e;
+            }
+            task.record = null;
+
+            // wait for the slot to be free: the results must not run ahead of the handler by more than the capacity
+            for(int attempt = 0; task.seq - consumed > mask; attempt++) {
+                if(cancelled) {
+                    return;
+                }
+                BoundedRingBuffer.idle(attempt);
+            }
+            results.set((int)task.seq & mask, task);
+        }
+    }
+
+    private BindyFixedLengthFactory factory(final int kind) {
+        switch(kind) {
+        case HEADER:
+            return headerFactory;
+        case FOOTER:
+            return footerFactory;
+        default:
+            return factory;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypeEntry entry(final Object[] model) {
+        return (TypeEntry)model[0];
+    }
+
+    private static Exception rethrow(final Throwable e) {
+        if(e instanceof Error) {
+            throw (Error)e;
+        }
+        return (Exception)e;
+    }
+
+    /**
+     * A record to bind, then the result of the binding. Its fields are published through the ring buffer and the
+     * results array.
+     */
+    private static final class Task {
+
+        final long seq;
+        final int kind;
+        CharSequence record;
+        final int lineNumber;
+        final int count;
+
+        Object[] model;
+        Throwable error;
+
+        Task(final long seq, final int kind, final CharSequence record, final int lineNumber, final int count) {
+            this.seq = seq;
+            this.kind = kind;
+            this.record = record;
+            this.lineNumber = lineNumber;
+            this.count = count;
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.apache.camel.dataformat.bindy.BindyFixedLengthFactory;
+
+/**
+ * Walks the non-empty records of the input and tells the header, the entries and the footer apart, without binding
+ * them. The header (if the model declares one) is the first non-empty line, the footer (likewise) is the last one,
+ * which is detected by reading one record ahead.
+ * <p>
+ * Along with each record, the line count passed to the bind step is computed: the number of lines consumed from the
+ * input at the point the record is bound by a sequential parse (the line of the header itself, the line of the next
+ * record for an entry, all lines for the last record).
+ */
+final class RecordSequence implements Closeable {
+
+    private final BindyFixedLengthFactory factory;
+    private final RecordReader reader;
+
+    /** number of lines consumed from the input so far */
+    private int count;
+    private boolean started;
+    private boolean primed;
+
+    private CharSequence thisLine;
+    private int thisLineNumber;
+    private CharSequence nextLine;
+    private int nextLineNumber;
+
+    private CharSequence record;
+    private int lineNumber;
+    private int recordCount;
+    private boolean footer;
+
+    RecordSequence(final BindyFixedLengthFactory factory, final RecordReader reader) {
+        this.factory = factory;
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the header, if the model declares one. Must be called before {@link #next()}.
+     *
+     * @return the header record, or <code>null</code> if there is none or it is skipped
+     */
+    CharSequence readHeader() throws IOException {
+        started = true;
+
+        // Parse the header if it exists
+        if(factory.hasHeader()) {
+
+            // Read the line (should not trim as its fixed length)
+            final CharSequence line = getNextNonEmptyLine();
+
+            if(line != null && !factory.skipHeader()) {
+                record = line;
+                lineNumber = count;
+                recordCount = count;
+                footer = false;
+                return line;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads ahead the first two records.
+     */
+    private void prime() throws IOException {
+        primed = true;
+        thisLine = getNextNonEmptyLine();
+        thisLineNumber = count;
+
+        if(thisLine != null) {
+            nextLine = getNextNonEmptyLine();
+            nextLineNumber = count;
+        }
+    }
+
+    /**
+     * Moves to the next entry, or to the footer.
+     *
+     * @return false when there are no more records (a skipped footer is not returned)
+     */
+    boolean next() throws IOException {
+        if( !started) {
+            readHeader();
+        }
+        if( !primed) {
+            prime();
+        }
+
+        if(thisLine == null) {
+            return false;
+        }
+
+        if(nextLine != null) {
+            record = thisLine;
+            lineNumber = thisLineNumber;
+            recordCount = count;
+            footer = false;
+
+            thisLine = nextLine;
+            thisLineNumber = nextLineNumber;
+            nextLine = getNextNonEmptyLine();
+            nextLineNumber = count;
+            return true;
+        }
+
+        // this line should be the last non-empty line from the file
+        // optionally parse the line as a footer
+        record = thisLine;
+        lineNumber = thisLineNumber;
+        recordCount = count;
+        thisLine = null;
+
+        if(factory.hasFooter()) {
+            footer = true;
+            return !factory.skipFooter();
+        }
+
+        footer = false;
+        return true;
+    }
+
+    /**
+     * @return the current record
+     */
+    CharSequence record() {
+        return record;
+    }
+
+    /**
+     * @return the line (1-based) of the current record
+     */
+    int lineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return the line count the current record is bound with
+     */
+    int count() {
+        return recordCount;
+    }
+
+    /**
+     * @return true if the current record is the footer
+     */
+    boolean isFooter() {
+        return footer;
+    }
+
+    /**
+     * Skips empty (blank) lines, counting them.
+     *
+     * @return the next non-empty line, or <code>null</code> at the end of the input
+     */
+    private CharSequence getNextNonEmptyLine() throws IOException {
+        for(;;) {
+            final CharSequence line = reader.readRecord();
+            if(line == null) {
+                return null;
+            }
+            ++count;
+            if( !isBlank(line)) {
+                return line;
+            }
+        }
+    }
+
+    /**
+     * Same as {@link org.apache.camel.util.ObjectHelper#isEmpty(Object)} for a String, without trimming a copy.
+     */
+    static boolean isBlank(final CharSequence line) {
+        for(int i = 0; i < line.length(); i++) {
+            if(line.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes a single-byte charset (US-ASCII, ISO-8859-x, windows-125x, EBCDIC code pages...) through a lookup table,
+ * so that the characters of a record can be accessed straight from the raw bytes.
+ */
+final class SingleByteDecoder {
+
+    private final Charset charset;
+    private final char[] table;
+
+    private SingleByteDecoder(final Charset charset, final char[] table) {
+        this.charset = charset;
+        this.table = table;
+    }
+
+    /**
+     * @return the decoder for the given charset, or <code>null</code> if it is not a single-byte charset
+     */
+    static SingleByteDecoder of(final Charset charset) {
+        if( !charset.canEncode() || charset.newEncoder().maxBytesPerChar() != 1.0f) {
+            return null;
+        }
+
+        final byte[] bytes = new byte[256];
+        for(int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte)i;
+        }
+
+        final CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        if(decoder.maxCharsPerByte() != 1.0f) {
+            return null;
+        }
+
+        final CharBuffer chars;
+        try {
+            chars = decoder.decode(ByteBuffer.wrap(bytes));
+        }
+        catch(final CharacterCodingException e) {
+            return null;
+        }
+        // stateful charsets (shift sequences) do not map one byte to one char
+        if(chars.remaining() != bytes.length) {
+            return null;
+        }
+
+        final char[] table = new char[bytes.length];
+        chars.get(table);
+        return new SingleByteDecoder(charset, table);
+    }
+
+    char charAt(final byte b) {
+        return table[b & 0xFF];
+    }
+
+    /**
+     * Decodes <code>length</code> bytes starting at the absolute index <code>offset</code> of the buffer, without
+     * moving its position.
+     */
+    String decode(final ByteBuffer bytes, final int offset, final int length) {
+        if(charset == StandardCharsets.ISO_8859_1) {
+            // intrinsic, copies the bytes as they are
+            if(bytes.hasArray()) {
+                return new String(bytes.array(), bytes.arrayOffset() + offset, length, StandardCharsets.ISO_8859_1);
+            }
+            final byte[] copy = new byte[length];
+            final ByteBuffer slice = bytes.duplicate();
+            slice.position(offset);
+            slice.get(copy);
+            return new String(copy, StandardCharsets.ISO_8859_1);
+        }
+        final char[] chars = new char[length];
+        for(int i = 0; i < length; i++) {
+            chars[i] = table[bytes.get(offset + i) & 0xFF];
+        }
+        return new String(chars);
+    }
+
+}
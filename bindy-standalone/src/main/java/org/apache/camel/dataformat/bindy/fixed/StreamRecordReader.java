@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Reads the records of a single-byte charset from an {@link InputStream}, through a reusable buffer.
+ */
+final class StreamRecordReader extends ByteRecordReader {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+
+    private byte[] bytes;
+    private boolean eof;
+
+    StreamRecordReader(final InputStream in, final String eol, final SingleByteDecoder decoder) {
+        this(in, eol, decoder, DEFAULT_BUFFER_SIZE);
+    }
+
+    StreamRecordReader(final InputStream in, final String eol, final SingleByteDecoder decoder, final int bufferSize) {
+        super(eol, decoder);
+        this.in = in;
+        this.bytes = new byte[Math.max(bufferSize, eolLength())];
+        this.buf = ByteBuffer.wrap(bytes);
+    }
+
+    /**
+     * Copies the bytes: the buffer is reused while the record may still be referenced (the stream reads one record
+     * ahead).
+     */
+    @Override
+    protected ByteRecord record() {
+        return new ByteRecord(ByteBuffer.wrap(Arrays.copyOfRange(bytes, mark, pos)), 0, pos - mark, decoder);
+    }
+
+    @Override
+    protected boolean fill() throws IOException {
+        if(eof) {
+            return false;
+        }
+
+        if(mark > 0) {
+            System.arraycopy(bytes, mark, bytes, 0, limit - mark);
+            limit -= mark;
+            pos -= mark;
+            mark = 0;
+        }
+        else if(limit == bytes.length) {
+            // a single record does not fit
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            buf = ByteBuffer.wrap(bytes);
+        }
+
+        final int n = in.read(bytes, limit, bytes.length - limit);
+        if(n < 0) {
+            eof = true;
+            return false;
+        }
+        limit += n;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.camel.dataformat.bindy.format;
 
+import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.util.Locale;
@@ -26,6 +27,18 @@ import org.apache.camel.dataformat.bindy.Format;
  *
  */
 public abstract class AbstractNumberFormat<T extends Number> implements Format<T> {
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+        1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    /** returned by {@link #parseUnscaled(CharSequence, int, int, int)} for numbers it does not handle */
+    protected static final long NOT_UNSCALED = Long.MIN_VALUE;
+
+    private static final int MAX_UNSCALED_DIGITS = 18;
+
     private boolean impliedDecimalPosition;
     private int precision;
     private DecimalFormat format;
@@ -80,4 +93,221 @@ public abstract class AbstractNumberFormat<T extends Number> implements Format<T
     protected double getMultiplier() {
         return multiplier;
     }
+
+    /**
+     * Parses the ASCII digits of the chars from start to end into a value between min and max, without creating a
+     * String. Leading and trailing spaces, leading zeros and a sign before or after the digits are accepted.
+     *
+     * @throws FormatException if the chars are not such a number, or the number is out of range
+     */
+    protected static long parseLong(CharSequence source, int start, int end, long min, long max) throws FormatException {
+        int first = start;
+        int last = end;
+        while (first < last && source.charAt(first) <= ' ') {
+            first++;
+        }
+        while (last > first && source.charAt(last - 1) <= ' ') {
+            last--;
+        }
+        boolean negative = false;
+        if (first < last) {
+            if (isSign(source.charAt(first))) {
+                negative = source.charAt(first++) == '-';
+            } else if (isSign(source.charAt(last - 1))) {
+                negative = source.charAt(--last) == '-';
+            }
+        }
+        if (first == last) {
+            throw new FormatException("No digits in number \"" + source.subSequence(start, end) + "\"");
+        }
+
+        // accumulate negatively, as the negative range is the larger one
+        long limit = negative ? min : -max;
+        long multmin = limit / 10;
+        long result = 0;
+        for (int i = first; i < last; i++) {
+            int digit = source.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalidCharacter(source, start, end, i);
+            }
+            if (result < multmin || result * 10 < limit + digit) {
+                throw new FormatException("Number \"" + source.subSequence(start, end) + "\" is out of the range [" + min + ", " + max + "]");
+            }
+            result = result * 10 - digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses a decimal number with the padding and signs of {@link #parseLong(CharSequence, int, int, long, long)},
+     * divided by 10 to the power of the implied decimals. Numbers with few enough digits are computed from their
+     * digits with a single, correctly rounded division; the others, and those with an exponent, are parsed as by
+     * {@link Double#parseDouble(String)} or {@link java.math.BigDecimal} if there are implied decimals.
+     *
+     * @param impliedDecimals number of decimals implied by the position of the digits, 0 if the chars hold the separator
+     * @param single true to round to a float instead of a double
+     * @throws FormatException if the chars are not a number
+     */
+    protected static double parseDecimal(CharSequence source, int start, int end, int impliedDecimals, boolean single) throws FormatException {
+        int first = start;
+        int last = end;
+        while (first < last && source.charAt(first) <= ' ') {
+            first++;
+        }
+        while (last > first && source.charAt(last - 1) <= ' ') {
+            last--;
+        }
+        boolean negative = false;
+        if (first < last) {
+            if (isSign(source.charAt(first))) {
+                negative = source.charAt(first++) == '-';
+            } else if (isSign(source.charAt(last - 1))) {
+                negative = source.charAt(--last) == '-';
+            }
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int decimals = -1;
+        boolean simple = first < last;
+        for (int i = first; i < last && simple; i++) {
+            char c = source.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits > 0 || c != '0') {
+                    digits++;
+                }
+                mantissa = mantissa * 10 + c - '0';
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            } else if (c == '.' && decimals < 0 && last - first > 1) {
+                decimals = 0;
+            } else {
+                simple = false;
+            }
+        }
+        int scale = Math.max(decimals, 0) + impliedDecimals;
+        // a BigDecimal has no negative zero
+        negative &= mantissa != 0 || impliedDecimals == 0;
+
+        // the mantissa and the power of ten are exact, so is the rounding of their quotient
+        if (simple && !single && digits <= 15 && scale < DOUBLE_POWERS_OF_TEN.length) {
+            double value = mantissa / DOUBLE_POWERS_OF_TEN[scale];
+            return negative ? -value : value;
+        }
+        if (simple && single && digits <= 7 && scale < FLOAT_POWERS_OF_TEN.length) {
+            float value = mantissa / FLOAT_POWERS_OF_TEN[scale];
+            return negative ? -value : value;
+        }
+        // up to 18 digits the unscaled value is exact as well, the BigDecimal is created without a String
+        if (simple && digits <= MAX_UNSCALED_DIGITS && impliedDecimals > 0) {
+            BigDecimal value = BigDecimal.valueOf(negative ? -mantissa : mantissa, scale);
+            return single ? value.floatValue() : value.doubleValue();
+        }
+
+        String number = normalized(source, start, end);
+        try {
+            if (impliedDecimals > 0) {
+                BigDecimal value = new BigDecimal(number).divide(BigDecimal.valueOf(Math.pow(10D, impliedDecimals)));
+                return single ? value.floatValue() : value.doubleValue();
+            }
+            return single ? Float.parseFloat(number) : Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            throw new FormatException("Invalid number \"" + source.subSequence(start, end) + "\"", e);
+        }
+    }
+
+    /**
+     * Parses a decimal number with the padding and signs of {@link #parseLong(CharSequence, int, int, long, long)}
+     * into its unscaled value with the given number of decimals: <code>"-12.5"</code> with 2 decimals is -1250.
+     *
+     * @return the unscaled value, or {@link #NOT_UNSCALED} if the chars are not such a number, or it has more decimals
+     *         or more than 18 digits
+     */
+    protected static long parseUnscaled(CharSequence source, int start, int end, int decimals) {
+        int first = start;
+        int last = end;
+        while (first < last && source.charAt(first) <= ' ') {
+            first++;
+        }
+        while (last > first && source.charAt(last - 1) <= ' ') {
+            last--;
+        }
+        boolean negative = false;
+        if (first < last) {
+            if (isSign(source.charAt(first))) {
+                negative = source.charAt(first++) == '-';
+            } else if (isSign(source.charAt(last - 1))) {
+                negative = source.charAt(--last) == '-';
+            }
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        boolean empty = true;
+        for (int i = first; i < last; i++) {
+            char c = source.charAt(i);
+            if (c >= '0' && c <= '9' && scale < decimals) {
+                if (unscaled != 0 || c != '0') {
+                    digits++;
+                }
+                unscaled = unscaled * 10 + c - '0';
+                empty = false;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return NOT_UNSCALED;
+            }
+        }
+        for (int i = Math.max(scale, 0); i < decimals && unscaled != 0; i++) {
+            digits++;
+            unscaled *= 10;
+        }
+        if (empty || digits > MAX_UNSCALED_DIGITS) {
+            return NOT_UNSCALED;
+        }
+        return negative ? -unscaled : unscaled;
+    }
+
+    /**
+     * @return the String of the chars without padding and with the sign in front, for the parsers of the JDK
+     */
+    protected static String normalized(CharSequence source, int start, int end) {
+        while (start < end && source.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && source.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start > 1 && isSign(source.charAt(end - 1)) && !isSign(source.charAt(start))) {
+            return source.charAt(end - 1) + source.subSequence(start, end - 1).toString();
+        }
+        return source.subSequence(start, end).toString();
+    }
+
+    private static boolean isSign(char c) {
+        return c == '-' || c == '+';
+    }
+
+    private static FormatException invalidCharacter(CharSequence source, int start, int end, int index) {
+        return new FormatException("Invalid character '" + source.charAt(index) + "' at index " + (index - start)
+                + " of number \"" + source.subSequence(start, end) + "\"");
+    }
+
+    /**
+     * @return the String of the chars without leading and trailing whitespace, as {@link String#trim()}
+     */
+    protected static String trimmed(CharSequence source, int start, int end) {
+        while (start < end && source.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && source.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return source.subSequence(start, end).toString();
+    }
 }
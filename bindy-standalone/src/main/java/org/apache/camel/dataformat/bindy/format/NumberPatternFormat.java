@@ -25,12 +25,15 @@ import org.apache.camel.dataformat.bindy.PatternFormat;
 
 public abstract class NumberPatternFormat<T> implements PatternFormat<T> {
 
-    private String pattern;
-    private Locale locale;
+    /** setPattern and setLocale may be called while other threads use the format */
+    private volatile String pattern;
+    private volatile Locale locale;
     private String decimalSeparator;
     private String groupingSeparator;
     private int precision;
     private String rounding;
+    /** formats are not thread-safe: each thread builds its own once instead of one per value */
+    private volatile ThreadLocal<NumberFormat> numberFormats = ThreadLocal.withInitial(this::createNumberFormat);
 
     public NumberPatternFormat() {
     }
@@ -50,8 +53,9 @@ public abstract class NumberPatternFormat<T> implements PatternFormat<T> {
     }
 
     public String format(T object) throws Exception {
-        if (getNumberFormat() != null) {
-            return this.getNumberFormat().format(object);
+        NumberFormat format = getNumberFormat();
+        if (format != null) {
+            return format.format(object);
         } else {
             return object.toString();
         }
@@ -68,6 +72,13 @@ public abstract class NumberPatternFormat<T> implements PatternFormat<T> {
         if (locale == null) {
             return null;
         }
+        return numberFormats.get();
+    }
+
+    private NumberFormat createNumberFormat() {
+        if (locale == null) {
+            return null;
+        }
 
         NumberFormat format = NumberFormat.getNumberInstance(locale);
         if (format instanceof DecimalFormat) {
@@ -93,6 +104,7 @@ public abstract class NumberPatternFormat<T> implements PatternFormat<T> {
 
     public void setPattern(String pattern) {
         this.pattern = pattern;
+        this.numberFormats = ThreadLocal.withInitial(this::createNumberFormat);
     }
 
     public int getPrecision() {
@@ -117,6 +129,7 @@ public abstract class NumberPatternFormat<T> implements PatternFormat<T> {
 
     public void setLocale(Locale locale) {
         this.locale = locale;
+        this.numberFormats = ThreadLocal.withInitial(this::createNumberFormat);
     }
 
 }
@@ -55,6 +55,16 @@ public class BigDecimalFormatFactory extends AbstractFormatFactory {
                     : super.getFormat().format(object.multiply(new BigDecimal(super.getMultiplier())));
         }
 
+        @Override
+        public BigDecimal parse(CharSequence source, int start, int end) throws Exception {
+            // implied decimals are part of the digits, the others must be written out
+            long unscaled = parseUnscaled(source, start, end, super.hasImpliedDecimalPosition() ? 0 : super.getPrecision());
+            if (unscaled != NOT_UNSCALED) {
+                return BigDecimal.valueOf(unscaled, super.getPrecision());
+            }
+            return parse(normalized(source, start, end));
+        }
+
         public BigDecimal parse(String string) throws Exception {
             BigDecimal result = new BigDecimal(string.trim());
             if (super.hasImpliedDecimalPosition()) {
@@ -19,6 +19,7 @@ package org.apache.camel.dataformat.bindy.format.factories;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
+import java.text.NumberFormat;
 import java.util.Locale;
 
 import org.apache.camel.dataformat.bindy.Format;
@@ -55,8 +56,9 @@ public class BigDecimalPatternFormatFactory extends AbstractFormatFactory {
 
         @Override
         public BigDecimal parse(String string) throws Exception {
-            if (getNumberFormat() != null) {
-                DecimalFormat df = (DecimalFormat)getNumberFormat();
+            NumberFormat format = getNumberFormat();
+            if (format != null) {
+                DecimalFormat df = (DecimalFormat)format;
                 df.setParseBigDecimal(true);
                 BigDecimal bd = (BigDecimal)df.parse(string.trim());
                 if (super.getPrecision() != -1) {
@@ -35,6 +35,8 @@ public class BooleanFormatFactory extends AbstractFormatFactory {
 
     private static class BooleanFormat implements Format<Boolean> {
 
+        private static final String TRUE = "true";
+
         public String format(Boolean object) throws Exception {
             return object.toString();
         }
@@ -43,5 +45,18 @@ public class BooleanFormatFactory extends AbstractFormatFactory {
             return Boolean.valueOf(string);
         }
 
+        @Override
+        public Boolean parse(CharSequence source, int start, int end) throws Exception {
+            if (end - start != TRUE.length()) {
+                return Boolean.FALSE;
+            }
+            for (int i = 0; i < TRUE.length(); i++) {
+                if (Character.toLowerCase(source.charAt(start + i)) != TRUE.charAt(i)) {
+                    return Boolean.FALSE;
+                }
+            }
+            return Boolean.TRUE;
+        }
+
     }
 }
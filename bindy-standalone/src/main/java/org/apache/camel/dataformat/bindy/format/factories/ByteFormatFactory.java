@@ -18,6 +18,8 @@ package org.apache.camel.dataformat.bindy.format.factories;
 
 import org.apache.camel.dataformat.bindy.Format;
 import org.apache.camel.dataformat.bindy.FormattingOptions;
+import org.apache.camel.dataformat.bindy.IntFormat;
+import org.apache.camel.dataformat.bindy.format.AbstractNumberFormat;
 import org.apache.camel.util.ObjectHelper;
 
 public class ByteFormatFactory extends AbstractFormatFactory {
@@ -39,14 +41,24 @@ public class ByteFormatFactory extends AbstractFormatFactory {
         return byteFormat;
     }
 
-    private static class ByteFormat implements Format<Byte> {
+    private static class ByteFormat extends AbstractNumberFormat<Byte> implements IntFormat<Byte> {
 
         public String format(Byte object) throws Exception {
             return object.toString();
         }
 
         public Byte parse(String string) throws Exception {
-            return new Byte(string);
+            return parse(string, 0, string.length());
+        }
+
+        @Override
+        public Byte parse(CharSequence source, int start, int end) throws Exception {
+            return (byte) parseInt(source, start, end);
+        }
+
+        @Override
+        public int parseInt(CharSequence source, int start, int end) throws Exception {
+            return (int) parseLong(source, start, end, Byte.MIN_VALUE, Byte.MAX_VALUE);
         }
 
     }
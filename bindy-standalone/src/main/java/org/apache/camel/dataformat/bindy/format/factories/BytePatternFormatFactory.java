@@ -16,6 +16,7 @@
  */
 package org.apache.camel.dataformat.bindy.format.factories;
 
+import java.text.NumberFormat;
 import java.util.Locale;
 
 import org.apache.camel.dataformat.bindy.Format;
@@ -49,8 +50,9 @@ public class BytePatternFormatFactory extends AbstractFormatFactory {
 
         @Override
         public Byte parse(String string) throws Exception {
-            if (getNumberFormat() != null) {
-                return getNumberFormat().parse(string).byteValue();
+            NumberFormat format = getNumberFormat();
+            if (format != null) {
+                return format.parse(string).byteValue();
             } else {
                 return Byte.valueOf(string);
             }
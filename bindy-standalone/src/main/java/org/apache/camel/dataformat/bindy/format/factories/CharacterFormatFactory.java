@@ -48,5 +48,13 @@ public class CharacterFormatFactory extends AbstractFormatFactory {
             return string.charAt(0);
         }
 
+        @Override
+        public Character parse(CharSequence source, int start, int end) throws Exception {
+            if (end - start != 1) {
+                return parse(source.subSequence(start, end).toString());
+            }
+            return source.charAt(start);
+        }
+
     }
 }
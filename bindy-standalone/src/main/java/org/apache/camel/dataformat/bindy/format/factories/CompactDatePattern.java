@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.format.factories;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+
+/**
+ * The compact date and time patterns of fixed-length records: <code>ddMMyyyy</code>, <code>yyyyMMdd</code>,
+ * <code>ddMMyy</code>, <code>HHmmss</code> and a date followed by <code>HHmmss</code>. The fields of a value are read
+ * straight from its digits, without the resolving of a formatter.
+ * <p>
+ * Only values of the exact length of the pattern whose fields are all valid are converted, so that the general
+ * formatter still reports or resolves the others as before: e.g. a day past the end of the month, which the smart
+ * resolving of <code>java.time</code> moves to the last day.
+ */
+final class CompactDatePattern {
+
+    private static final String[] DATES = {"ddMMyyyy", "yyyyMMdd", "ddMMyy"};
+    private static final String TIME = "HHmmss";
+
+    private final int length;
+    /** indexes of the fields in the pattern, -1 if absent */
+    private final int year;
+    private final int month;
+    private final int day;
+    private final int hour;
+    private final int yearDigits;
+
+    private CompactDatePattern(String date, boolean time) {
+        this.length = (date != null ? date.length() : 0) + (time ? TIME.length() : 0);
+        this.year = date != null ? date.indexOf('y') : -1;
+        this.month = date != null ? date.indexOf('M') : -1;
+        this.day = date != null ? date.indexOf('d') : -1;
+        this.hour = time ? length - TIME.length() : -1;
+        this.yearDigits = date != null ? date.lastIndexOf('y') - year + 1 : 0;
+    }
+
+    /**
+     * @return the compact pattern, or <code>null</code> if the pattern is not one of them
+     */
+    static CompactDatePattern compile(String pattern) {
+        if (pattern == null) {
+            return null;
+        }
+        if (pattern.equals(TIME)) {
+            return new CompactDatePattern(null, true);
+        }
+        for (String date : DATES) {
+            if (pattern.startsWith(date)) {
+                if (pattern.length() == date.length()) {
+                    return new CompactDatePattern(date, false);
+                }
+                if (pattern.length() == date.length() + TIME.length() && pattern.endsWith(TIME)) {
+                    return new CompactDatePattern(date, true);
+                }
+            }
+        }
+        return null;
+    }
+
+    boolean hasTwoDigitYear() {
+        return yearDigits == 2;
+    }
+
+    /**
+     * @return the date, or <code>null</code> if the pattern has none or the chars are not valid in the pattern
+     */
+    LocalDate localDate(CharSequence source, int start, int end) {
+        if (day < 0 || end - start != length || hour >= 0 && time(source, start) == null) {
+            return null;
+        }
+        return date(source, start);
+    }
+
+    /**
+     * @return the time, or <code>null</code> if the pattern has none or the chars are not valid in the pattern
+     */
+    LocalTime localTime(CharSequence source, int start, int end) {
+        if (hour < 0 || end - start != length || day >= 0 && date(source, start) == null) {
+            return null;
+        }
+        return time(source, start);
+    }
+
+    /**
+     * @return the date and time, or <code>null</code> if the pattern has not both or the chars are not valid in the
+     *         pattern
+     */
+    LocalDateTime localDateTime(CharSequence source, int start, int end) {
+        return day >= 0 && hour >= 0 ? dateTime(source, start, end) : null;
+    }
+
+    /**
+     * @return the date and time, on 1970-01-01 or at midnight if the pattern has no date or time, or <code>null</code>
+     *         if the chars are not valid in the pattern
+     */
+    LocalDateTime dateTime(CharSequence source, int start, int end) {
+        if (end - start != length) {
+            return null;
+        }
+        LocalDate date = day >= 0 ? date(source, start) : LocalDate.ofEpochDay(0);
+        LocalTime time = hour >= 0 ? time(source, start) : LocalTime.MIDNIGHT;
+        return date != null && time != null ? LocalDateTime.of(date, time) : null;
+    }
+
+    private LocalDate date(CharSequence source, int start) {
+        int y = digits(source, start + year, yearDigits);
+        int m = digits(source, start + month, 2);
+        int d = digits(source, start + day, 2);
+        if (yearDigits == 2 && y >= 0) {
+            // base year of the reduced year of java.time
+            y += 2000;
+        }
+        if (y < 1 || m < 1 || m > 12 || d < 1 || d > 31) {
+            return null;
+        }
+        int days = m == 2 ? (Year.isLeap(y) ? 29 : 28) : m == 4 || m == 6 || m == 9 || m == 11 ? 30 : 31;
+        return d <= days ? LocalDate.of(y, m, d) : null;
+    }
+
+    private LocalTime time(CharSequence source, int start) {
+        int h = digits(source, start + hour, 2);
+        int m = digits(source, start + hour + 2, 2);
+        int s = digits(source, start + hour + 4, 2);
+        if (h < 0 || h > 23 || m < 0 || m > 59 || s < 0 || s > 59) {
+            return null;
+        }
+        return LocalTime.of(h, m, s);
+    }
+
+    /**
+     * @return the value of the ASCII digits, or -1 if one of the chars is not a digit
+     */
+    private static int digits(CharSequence source, int index, int count) {
+        int value = 0;
+        for (int i = index; i < index + count; i++) {
+            int digit = source.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+}
@@ -17,8 +17,14 @@
 package org.apache.camel.dataformat.bindy.format.factories;
 
 import java.text.DateFormat;
+import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.Locale;
 import java.util.TimeZone;
 
@@ -43,9 +49,15 @@ public class DateFormatFactory extends AbstractFormatFactory {
 
     private static class DatePatternFormat implements PatternFormat<Date> {
 
-        private String pattern;
+        /** setPattern may be called while other threads use the format */
+        private volatile String pattern;
         private Locale locale;
         private TimeZone timezone;
+        /** SimpleDateFormat is not thread safe, each thread gets its own */
+        private volatile ThreadLocal<SimpleDateFormat> dateFormats = ThreadLocal.withInitial(this::createDateFormat);
+        /** the compact pattern whose values are read from their digits, or null */
+        private volatile CompactDatePattern compact;
+        private ZoneOffset offset;
 
         DatePatternFormat(String pattern, String timezone, Locale locale) {
             this.pattern = pattern;
@@ -53,6 +65,7 @@ public class DateFormatFactory extends AbstractFormatFactory {
             if (!timezone.isEmpty()) {
                 this.timezone = TimeZone.getTimeZone(timezone);
             }
+            this.compact = compact(pattern);
         }
 
         public String format(Date object) throws Exception {
@@ -60,6 +73,40 @@ public class DateFormatFactory extends AbstractFormatFactory {
             return this.getDateFormat().format(object);
         }
 
+        /**
+         * Values of a compact pattern are only read from their digits when the result is that of the
+         * SimpleDateFormat: with a four digits year, a Gregorian calendar, ASCII digits and a time zone without
+         * daylight saving time.
+         */
+        private CompactDatePattern compact(String pattern) {
+            CompactDatePattern result = CompactDatePattern.compile(pattern);
+            if (result == null || result.hasTwoDigitYear() || timezone == null) {
+                return null;
+            }
+            ZoneRules rules = timezone.toZoneId().getRules();
+            SimpleDateFormat df = createDateFormat();
+            if (!rules.isFixedOffset() || df.getCalendar().getClass() != GregorianCalendar.class
+                    || !(df.getNumberFormat() instanceof DecimalFormat)
+                    || ((DecimalFormat) df.getNumberFormat()).getDecimalFormatSymbols().getZeroDigit() != '0') {
+                return null;
+            }
+            this.offset = rules.getOffset(Instant.EPOCH);
+            return result;
+        }
+
+        @Override
+        public Date parse(CharSequence source, int start, int end) throws Exception {
+            CompactDatePattern compactPattern = compact;
+            if (compactPattern != null) {
+                LocalDateTime value = compactPattern.dateTime(source, start, end);
+                // before the Gregorian calendar, dates are Julian
+                if (value != null && value.getYear() > 1582) {
+                    return new Date(value.toEpochSecond(offset) * 1000);
+                }
+            }
+            return parse(source.subSequence(start, end).toString());
+        }
+
         public Date parse(String string) throws Exception {
 
             Date date;
@@ -87,6 +134,10 @@ public class DateFormatFactory extends AbstractFormatFactory {
         }
 
         protected java.text.DateFormat getDateFormat() {
+            return dateFormats.get();
+        }
+
+        private SimpleDateFormat createDateFormat() {
             SimpleDateFormat result;
             if (locale != null) {
                 result = new SimpleDateFormat(pattern, locale);
@@ -110,6 +161,8 @@ public class DateFormatFactory extends AbstractFormatFactory {
          */
         public void setPattern(String pattern) {
             this.pattern = pattern;
+            this.dateFormats = ThreadLocal.withInitial(this::createDateFormat);
+            this.compact = compact(pattern);
         }
     }
 }
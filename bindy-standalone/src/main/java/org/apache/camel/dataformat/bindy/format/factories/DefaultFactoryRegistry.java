@@ -17,6 +17,7 @@
 package org.apache.camel.dataformat.bindy.format.factories;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -109,7 +110,8 @@ public final class DefaultFactoryRegistry implements FactoryRegistry {
 
     @Override
     public FormatFactoryInterface findForFormattingOptions(FormattingOptions formattingOptions) {
-        for (FormatFactoryInterface formatFactory : getByClass(formattingOptions.getClazz())) {
+        // lookups must not modify the map: they can run concurrently
+        for (FormatFactoryInterface formatFactory : classBasedFactories.getOrDefault(formattingOptions.getClazz(), Collections.emptyList())) {
             if (formatFactory.canBuild(formattingOptions)) {
                 return formatFactory;
             }
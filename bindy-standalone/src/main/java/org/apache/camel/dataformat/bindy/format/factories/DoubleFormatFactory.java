@@ -16,7 +16,6 @@
  */
 package org.apache.camel.dataformat.bindy.format.factories;
 
-import java.math.BigDecimal;
 import java.util.Locale;
 
 import org.apache.camel.dataformat.bindy.Format;
@@ -44,7 +43,7 @@ public class DoubleFormatFactory extends AbstractFormatFactory {
                 formattingOptions.getLocale());
     }
 
-    private static class DoubleFormat extends AbstractNumberFormat<Double> {
+    private static class DoubleFormat extends AbstractNumberFormat<Double> implements org.apache.camel.dataformat.bindy.DoubleFormat<Double> {
 
         DoubleFormat(boolean impliedDecimalPosition, int precision, Locale locale) {
             super(impliedDecimalPosition, precision, locale);
@@ -56,17 +55,22 @@ public class DoubleFormatFactory extends AbstractFormatFactory {
                     : super.getFormat().format(object * super.getMultiplier());
         }
 
+        @Override
+        public Double parse(CharSequence source, int start, int end) throws Exception {
+            return parseDecimal(source, start, end, impliedDecimals(), false);
+        }
+
+        @Override
+        public double parseDouble(CharSequence source, int start, int end) throws Exception {
+            return parseDecimal(source, start, end, impliedDecimals(), false);
+        }
+
         public Double parse(String string) throws Exception {
-            Double value = null;
-            if (!super.hasImpliedDecimalPosition()) {
-                value = Double.parseDouble(string.trim());
-            } else {
-                BigDecimal tmp = new BigDecimal(string.trim());
-                BigDecimal div = BigDecimal.valueOf(super.getMultiplier());
-                value = tmp.divide(div).doubleValue();
-            }
+            return parse(string, 0, string.length());
+        }
 
-            return value;
+        private int impliedDecimals() {
+            return super.hasImpliedDecimalPosition() ? super.getPrecision() : 0;
         }
     }
 }
@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.format.factories;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.camel.dataformat.bindy.annotation.EnumCode;
+
+/**
+ * The codes of the constants of an enum, see {@link EnumCode}, compiled once per enum into a table indexed by the
+ * raw chars of a code.
+ * <p>
+ * Codes of one or two ASCII chars, the usual case, are the index of a dense array. Longer codes are placed in a table
+ * by a multiplicative hash whose multiplier is searched so that every code lands in its own slot; a lookup then
+ * compares the chars of a single code. An unknown code is a miss, which is never an exception.
+ */
+final class EnumCodes<T extends Enum<T>> {
+
+    private static final ClassValue<EnumCodes<?>> CODES = new ClassValue<EnumCodes<?>>() {
+        @Override
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        protected EnumCodes<?> computeValue(Class<?> type) {
+            return new EnumCodes(type);
+        }
+    };
+
+    private static final int ASCII = 128;
+    /** attempts to find a multiplier without collisions before the hash table is doubled */
+    private static final int ATTEMPTS = 64;
+    private static final int MAX_HASH_SIZE = 1 << 12;
+
+    private final Class<T> clazz;
+    /** the code written for each constant, by ordinal */
+    private final String[] written;
+    /** the constant of the unknown codes, or null */
+    private final T unknown;
+
+    /** constant of the codes of one char at their char, of two chars at ASCII + c0 * ASCII + c1; or null */
+    private final Object[] dense;
+
+    /** open addressing table of the codes when they do not fit the dense one */
+    private final String[] keys;
+    private final Object[] values;
+    private final int multiplier;
+    private final int shift;
+
+    private EnumCodes(Class<T> clazz) {
+        this.clazz = clazz;
+        T[] constants = clazz.getEnumConstants();
+        this.written = new String[constants.length];
+
+        Map<String, T> codes = new HashMap<>();
+        T unknownConstant = null;
+        boolean dense = true;
+        boolean twoChars = false;
+        for (T constant : constants) {
+            EnumCode annotation = annotation(constant);
+            String[] constantCodes = annotation != null && annotation.value().length > 0 ? annotation.value() : new String[] {constant.name()};
+            written[constant.ordinal()] = constantCodes[0];
+            for (String code : constantCodes) {
+                T other = codes.put(code, constant);
+                if (other != null && other != constant) {
+                    throw new IllegalArgumentException("Code \"" + code + "\" of " + clazz.getName() + "." + constant.name()
+                            + " is already the code of " + other.name());
+                }
+                dense &= isDense(code);
+                twoChars |= code.length() == 2;
+            }
+            if (annotation != null && annotation.unknown()) {
+                if (unknownConstant != null) {
+                    throw new IllegalArgumentException("Both " + unknownConstant.name() + " and " + constant.name() + " of " + clazz.getName()
+                            + " are the constant of the unknown codes");
+                }
+                unknownConstant = constant;
+            }
+        }
+        this.unknown = unknownConstant;
+
+        if (dense) {
+            this.dense = new Object[twoChars ? ASCII + ASCII * ASCII : ASCII];
+            for (Map.Entry<String, T> entry : codes.entrySet()) {
+                this.dense[denseIndex(entry.getKey(), 0, entry.getKey().length())] = entry.getValue();
+            }
+            this.keys = null;
+            this.values = null;
+            this.multiplier = 0;
+            this.shift = 0;
+            return;
+        }
+
+        this.dense = null;
+        int size = Integer.highestOneBit(Math.max(codes.size(), 1)) << 2;
+        int mul = 0x9E3779B9;
+        for (;;) {
+            boolean collision = false;
+            for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+                collision = collides(codes, mul, size);
+                if (!collision) {
+                    break;
+                }
+                // next odd multiplier
+                mul += 0x61C88646 << 1;
+            }
+            if (!collision || size >= MAX_HASH_SIZE) {
+                break;
+            }
+            size <<= 1;
+        }
+        // if the codes collide at the largest size too, they are probed linearly from their slot
+        String[] keys = new String[size];
+        Object[] values = new Object[size];
+        for (Map.Entry<String, T> entry : codes.entrySet()) {
+            String code = entry.getKey();
+            int index = index(hash(code, 0, code.length()), mul, size);
+            while (keys[index] != null) {
+                index = index + 1 & size - 1;
+            }
+            keys[index] = code;
+            values[index] = entry.getValue();
+        }
+        this.keys = keys;
+        this.values = values;
+        this.multiplier = mul;
+        this.shift = Integer.numberOfLeadingZeros(size) + 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends Enum<T>> EnumCodes<T> of(Class<T> clazz) {
+        return (EnumCodes<T>) CODES.get(clazz);
+    }
+
+    private static boolean collides(Map<String, ?> codes, int multiplier, int size) {
+        boolean[] used = new boolean[size];
+        for (String code : codes.keySet()) {
+            int index = index(hash(code, 0, code.length()), multiplier, size);
+            if (used[index]) {
+                return true;
+            }
+            used[index] = true;
+        }
+        return false;
+    }
+
+    private static EnumCode annotation(Enum<?> constant) {
+        try {
+            return constant.getDeclaringClass().getDeclaredField(constant.name()).getAnnotation(EnumCode.class);
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    private static boolean isDense(String code) {
+        if (code.isEmpty() || code.length() > 2) {
+            return false;
+        }
+        for (int i = 0; i < code.length(); i++) {
+            if (code.charAt(i) >= ASCII) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int denseIndex(CharSequence source, int start, int end) {
+        return end - start == 1 ? source.charAt(start) : ASCII + source.charAt(start) * ASCII + source.charAt(start + 1);
+    }
+
+    private static int hash(CharSequence source, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + source.charAt(i);
+        }
+        return hash;
+    }
+
+    private static int index(int hash, int multiplier, int size) {
+        return hash * multiplier >>> Integer.numberOfLeadingZeros(size) + 1;
+    }
+
+    /**
+     * @return the constant of the code, the constant of the unknown codes if it is not one, or <code>null</code> if
+     *         there is none
+     */
+    @SuppressWarnings("unchecked")
+    T get(CharSequence source, int start, int end) {
+        int length = end - start;
+        if (dense != null) {
+            if (length == 1 && source.charAt(start) < ASCII
+                    || length == 2 && dense.length > ASCII && source.charAt(start) < ASCII && source.charAt(start + 1) < ASCII) {
+                Object value = dense[denseIndex(source, start, end)];
+                if (value != null) {
+                    return (T) value;
+                }
+            }
+            return unknown;
+        }
+        int mask = keys.length - 1;
+        for (int index = hash(source, start, end) * multiplier >>> shift;; index = index + 1 & mask) {
+            String key = keys[index];
+            if (key == null) {
+                return unknown;
+            }
+            if (matches(key, source, start, end)) {
+                return (T) values[index];
+            }
+        }
+    }
+
+    /**
+     * @return the constant of the code
+     * @throws IllegalArgumentException if it is not a code and there is no constant of the unknown codes
+     */
+    T parse(CharSequence source, int start, int end) {
+        T value = get(source, start, end);
+        if (value == null) {
+            throw new IllegalArgumentException("No enum constant " + clazz.getCanonicalName() + "." + source.subSequence(start, end));
+        }
+        return value;
+    }
+
+    String format(T constant) {
+        return written[constant.ordinal()];
+    }
+
+    private static boolean matches(String key, CharSequence source, int start, int end) {
+        if (key.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != source.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -35,18 +35,24 @@ public class EnumFormatFactory extends AbstractFormatFactory {
 
     private static class EnumFormat<T extends Enum<T>> implements Format<T> {
 
-        private final Class<T> clazz;
+        /** the codes of the constants, see {@link org.apache.camel.dataformat.bindy.annotation.EnumCode} */
+        private final EnumCodes<T> codes;
 
         EnumFormat(Class<T> clazz) {
-            this.clazz = clazz;
+            this.codes = EnumCodes.of(clazz);
         }
 
         public String format(final T object) throws Exception {
-            return object.name();
+            return codes.format(object);
         }
 
         public T parse(final String string) throws Exception {
-            return Enum.valueOf(clazz, string);
+            return codes.parse(string, 0, string.length());
+        }
+
+        @Override
+        public T parse(final CharSequence source, final int start, final int end) throws Exception {
+            return codes.parse(source, start, end);
         }
     }
 
@@ -16,9 +16,9 @@
  */
 package org.apache.camel.dataformat.bindy.format.factories;
 
-import java.math.BigDecimal;
 import java.util.Locale;
 
+import org.apache.camel.dataformat.bindy.DoubleFormat;
 import org.apache.camel.dataformat.bindy.Format;
 import org.apache.camel.dataformat.bindy.FormattingOptions;
 import org.apache.camel.dataformat.bindy.format.AbstractNumberFormat;
@@ -44,7 +44,7 @@ public class FloatFormatFactory extends AbstractFormatFactory {
                 formattingOptions.getLocale());
     }
 
-    private static class FloatFormat extends AbstractNumberFormat<Float> {
+    private static class FloatFormat extends AbstractNumberFormat<Float> implements DoubleFormat<Float> {
 
         FloatFormat(boolean impliedDecimalPosition, int precision, Locale locale) {
             super(impliedDecimalPosition, precision, locale);
@@ -56,17 +56,22 @@ public class FloatFormatFactory extends AbstractFormatFactory {
                     : super.getFormat().format(object * super.getMultiplier());
         }
 
+        @Override
+        public Float parse(CharSequence source, int start, int end) throws Exception {
+            return (float) parseDecimal(source, start, end, impliedDecimals(), true);
+        }
+
+        @Override
+        public double parseDouble(CharSequence source, int start, int end) throws Exception {
+            return parseDecimal(source, start, end, impliedDecimals(), true);
+        }
+
         public Float parse(String string) throws Exception {
-            Float value;
-            if (!super.hasImpliedDecimalPosition()) {
-                value = Float.parseFloat(string.trim());
-            } else {
-                BigDecimal tmp = new BigDecimal(string.trim());
-                BigDecimal div = BigDecimal.valueOf(super.getMultiplier());
-                value = tmp.divide(div).floatValue();
-            }
+            return parse(string, 0, string.length());
+        }
 
-            return value;
+        private int impliedDecimals() {
+            return super.hasImpliedDecimalPosition() ? super.getPrecision() : 0;
         }
     }
 
@@ -18,6 +18,7 @@ package org.apache.camel.dataformat.bindy.format.factories;
 
 import org.apache.camel.dataformat.bindy.Format;
 import org.apache.camel.dataformat.bindy.FormattingOptions;
+import org.apache.camel.dataformat.bindy.IntFormat;
 import org.apache.camel.dataformat.bindy.format.AbstractNumberFormat;
 import org.apache.camel.util.ObjectHelper;
 
@@ -41,14 +42,24 @@ public class IntegerFormatFactory extends AbstractFormatFactory {
         return integerFormat;
     }
 
-    private static class IntegerFormat extends AbstractNumberFormat<Integer> {
+    private static class IntegerFormat extends AbstractNumberFormat<Integer> implements IntFormat<Integer> {
 
         public String format(Integer object) throws Exception {
             return object.toString();
         }
 
         public Integer parse(String string) throws Exception {
-            return new Integer(string);
+            return parse(string, 0, string.length());
+        }
+
+        @Override
+        public Integer parse(CharSequence source, int start, int end) throws Exception {
+            return parseInt(source, start, end);
+        }
+
+        @Override
+        public int parseInt(CharSequence source, int start, int end) throws Exception {
+            return (int) parseLong(source, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
         }
 
     }
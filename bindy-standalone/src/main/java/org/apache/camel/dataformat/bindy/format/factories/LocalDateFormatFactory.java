@@ -38,12 +38,17 @@ public class LocalDateFormatFactory extends AbstractFormatFactory {
 
     private static class LocalDatePatternFormat implements PatternFormat<LocalDate> {
 
-        private String pattern;
+        /** setPattern may be called while other threads use the format */
+        private volatile String pattern;
         private Locale locale;
+        private volatile DateTimeFormatter dateFormat;
+        /** the compact pattern whose values are read from their digits, or null */
+        private volatile CompactDatePattern compact;
 
         LocalDatePatternFormat(String pattern, Locale locale) {
             this.pattern = pattern;
             this.locale = locale;
+            this.compact = CompactDatePattern.compile(pattern);
         }
 
         public String format(LocalDate object) throws Exception {
@@ -51,6 +56,18 @@ public class LocalDateFormatFactory extends AbstractFormatFactory {
             return this.getDateFormat().format(object);
         }
 
+        @Override
+        public LocalDate parse(CharSequence source, int start, int end) throws Exception {
+            CompactDatePattern compactPattern = compact;
+            if (compactPattern != null) {
+                LocalDate value = compactPattern.localDate(source, start, end);
+                if (value != null) {
+                    return value;
+                }
+            }
+            return parse(source.subSequence(start, end).toString());
+        }
+
         public LocalDate parse(String string) throws Exception {
 
             LocalDate date;
@@ -63,11 +80,20 @@ public class LocalDateFormatFactory extends AbstractFormatFactory {
        
 
         DateTimeFormatter getDateFormat() {
-            DateTimeFormatter result;
-            if (locale != null) {
-                result = DateTimeFormatter.ofPattern(pattern, locale);
-            } else {
-                result = DateTimeFormatter.ofPattern(pattern);
+            // formatters are immutable: a thread seeing no formatter only compiles the pattern once more
+            DateTimeFormatter result = dateFormat;
+            if (result == null) {
+                String compiledPattern = pattern;
+                if (locale != null) {
+                    result = DateTimeFormatter.ofPattern(compiledPattern, locale);
+                } else {
+                    result = DateTimeFormatter.ofPattern(compiledPattern);
+                }
+                dateFormat = result;
+                // setPattern may have dropped the formatter before it was stored
+                if (compiledPattern != pattern) {
+                    dateFormat = null;
+                }
             }
             return result;
         }
@@ -83,6 +109,8 @@ public class LocalDateFormatFactory extends AbstractFormatFactory {
          */
         public void setPattern(String pattern) {
             this.pattern = pattern;
+            this.dateFormat = null;
+            this.compact = CompactDatePattern.compile(pattern);
         }
     }
 
@@ -41,13 +41,18 @@ public class LocalTimeFormatFactory extends AbstractFormatFactory {
 
     private static class LocalTimePatternFormat implements PatternFormat<LocalTime> {
 
-        private String pattern;
+        /** setPattern may be called while other threads use the format */
+        private volatile String pattern;
         private Locale locale;
         private ZoneId zone;
+        private volatile DateTimeFormatter dateFormat;
+        /** the compact pattern whose values are read from their digits, or null */
+        private volatile CompactDatePattern compact;
 
         LocalTimePatternFormat(String pattern, String timezone, Locale locale) {
             this.pattern = pattern;
             this.locale = locale;
+            this.compact = CompactDatePattern.compile(pattern);
             if (timezone.isEmpty()) {
                 this.zone = ZoneId.systemDefault();
             } else {
@@ -60,6 +65,18 @@ public class LocalTimeFormatFactory extends AbstractFormatFactory {
             return this.getDateFormat().format(object);
         }
 
+        @Override
+        public LocalTime parse(CharSequence source, int start, int end) throws Exception {
+            CompactDatePattern compactPattern = compact;
+            if (compactPattern != null) {
+                LocalTime value = compactPattern.localTime(source, start, end);
+                if (value != null) {
+                    return value;
+                }
+            }
+            return parse(source.subSequence(start, end).toString());
+        }
+
         public LocalTime parse(String string) throws Exception {
 
             LocalTime date;
@@ -71,13 +88,22 @@ public class LocalTimeFormatFactory extends AbstractFormatFactory {
         }
 
         DateTimeFormatter getDateFormat() {
-            DateTimeFormatter result;
-            if (locale != null) {
-                result = DateTimeFormatter.ofPattern(pattern, locale)
-                        .withZone(zone);
-            } else {
-                result = DateTimeFormatter.ofPattern(pattern)
-                        .withZone(zone);
+            // formatters are immutable: a thread seeing no formatter only compiles the pattern once more
+            DateTimeFormatter result = dateFormat;
+            if (result == null) {
+                String compiledPattern = pattern;
+                if (locale != null) {
+                    result = DateTimeFormatter.ofPattern(compiledPattern, locale)
+                            .withZone(zone);
+                } else {
+                    result = DateTimeFormatter.ofPattern(compiledPattern)
+                            .withZone(zone);
+                }
+                dateFormat = result;
+                // setPattern may have dropped the formatter before it was stored
+                if (compiledPattern != pattern) {
+                    dateFormat = null;
+                }
             }
             return result;
         }
@@ -93,6 +119,8 @@ public class LocalTimeFormatFactory extends AbstractFormatFactory {
          */
         public void setPattern(String pattern) {
             this.pattern = pattern;
+            this.dateFormat = null;
+            this.compact = CompactDatePattern.compile(pattern);
         }
     }
 
@@ -40,14 +40,24 @@ public class LongFormatFactory extends AbstractFormatFactory {
         return longFormat;
     }
 
-    private static class LongFormat extends AbstractNumberFormat<Long> {
+    private static class LongFormat extends AbstractNumberFormat<Long> implements org.apache.camel.dataformat.bindy.LongFormat<Long> {
 
         public String format(Long object) throws Exception {
             return object.toString();
         }
 
         public Long parse(String string) throws Exception {
-            return new Long(string);
+            return parse(string, 0, string.length());
+        }
+
+        @Override
+        public Long parse(CharSequence source, int start, int end) throws Exception {
+            return parseLong(source, start, end);
+        }
+
+        @Override
+        public long parseLong(CharSequence source, int start, int end) throws Exception {
+            return parseLong(source, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
         }
 
     }
@@ -16,6 +16,7 @@
  */
 package org.apache.camel.dataformat.bindy.format.factories;
 
+import java.text.NumberFormat;
 import java.util.Locale;
 
 import org.apache.camel.dataformat.bindy.Format;
@@ -50,8 +51,9 @@ public class LongPatternFormatFactory extends AbstractFormatFactory {
 
         @Override
         public Long parse(String string) throws Exception {
-            if (getNumberFormat() != null) {
-                return getNumberFormat().parse(string).longValue();
+            NumberFormat format = getNumberFormat();
+            if (format != null) {
+                return format.parse(string).longValue();
             } else {
                 return Long.valueOf(string);
             }
@@ -18,6 +18,7 @@ package org.apache.camel.dataformat.bindy.format.factories;
 
 import org.apache.camel.dataformat.bindy.Format;
 import org.apache.camel.dataformat.bindy.FormattingOptions;
+import org.apache.camel.dataformat.bindy.IntFormat;
 import org.apache.camel.dataformat.bindy.format.AbstractNumberFormat;
 import org.apache.camel.util.ObjectHelper;
 
@@ -41,14 +42,24 @@ public class ShortFormatFactory extends AbstractFormatFactory {
         return shortFormat;
     }
 
-    private static class ShortFormat extends AbstractNumberFormat<Short> {
+    private static class ShortFormat extends AbstractNumberFormat<Short> implements IntFormat<Short> {
 
         public String format(Short object) throws Exception {
             return object.toString();
         }
 
         public Short parse(String string) throws Exception {
-            return new Short(string);
+            return parse(string, 0, string.length());
+        }
+
+        @Override
+        public Short parse(CharSequence source, int start, int end) throws Exception {
+            return (short) parseInt(source, start, end);
+        }
+
+        @Override
+        public int parseInt(CharSequence source, int start, int end) throws Exception {
+            return (int) parseLong(source, start, end, Short.MIN_VALUE, Short.MAX_VALUE);
         }
 
     }
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.accessor;
+
+import java.lang.reflect.RecordComponent;
+
+/**
+ * Describes Java records. This version is picked from the multi-release jar on Java 16 and later.
+ */
+public final class Records {
+
+    private Records() {
+        // helper class
+    }
+
+    /**
+     * @return the names of the record components of the type in the order of its canonical constructor, or
+     *         <code>null</code> if the type is not a record
+     */
+    public static String[] componentNames(final Class<?> type) {
+        if( !type.isRecord()) {
+            return null;
+        }
+        final RecordComponent[] components = type.getRecordComponents();
+        final String[] names = new String[components.length];
+        for(int i = 0; i < components.length; i++) {
+            names[i] = components[i].getName();
+        }
+        return names;
+    }
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.camel.dataformat.bindy.annotation.BindyConstructor;
+import org.apache.camel.dataformat.bindy.annotation.BindyConverter;
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+import org.apache.camel.dataformat.bindy.annotation.FixedLengthRecord;
+import org.apache.camel.dataformat.bindy.fixed.BindyFixedLengthDataFormat;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Binds the same records with {@link BindingStrategy#REFLECTION} and {@link BindingStrategy#BYTECODE} and compares
+ * the results, including the errors. {@link TracingFormat} tells whether a generated binder was used.
+ */
+public class FixedLengthBinderGeneratorTest {
+
+    private static final String[] LINES = {
+        "0042-12345007-1212.375-1.50  12ab   xyzhidcnvuppAAAA0099",
+        "-999999999-99127  0.5000000    x    abcdefghiabcAAAA   1",
+        "000000000000000000000000000                     BBBB   0",
+        // errors: an invalid int, a missing required field, a record too short
+        "00x1-12345007-1212.375-1.50  12ab   xyzhidcnvuppAAAA0099",
+        "0042-12345007-1212.375-1.50  12ab   xyzhidcnvuppAAAA    ",
+        "0042-12345007-1212.375",
+    };
+
+    @Test
+    public void shouldBindPrimitivesAndFallbackFieldsLikeReflection() throws Exception {
+        final List<String> expected = unmarshal(Primitives.class, BindingStrategy.REFLECTION, format -> { }, LINES);
+        assertThat(TracingFormat.generated).isFalse();
+
+        final List<String> actual = unmarshal(Primitives.class, BindingStrategy.BYTECODE, format -> { }, LINES);
+        assertThat(TracingFormat.generated).isTrue();
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(expected.get(0)).isEqualTo("42|-12345|7|-12|12.375|-1.5|12|ab|xyz|hid|<cnv>|UPP|AAAA|99");
+        assertThat(expected.get(1)).isEqualTo("-999|999999|-99|127|0.5|0.0|null|x|abc|def|<ghi>|ABC|AAAA|1");
+        assertThat(expected.get(3)).startsWith("ERR Invalid character 'x' at index 2 of number \"00x1\"");
+        assertThat(expected.get(4)).startsWith("ERR The mandatory field defined at the position 14 is empty");
+        assertThat(expected.get(5)).startsWith("ERR Size of the record: 22");
+    }
+
+    @Test
+    public void shouldBindConstructorArgumentsLikeReflection() throws Exception {
+        final String[] lines = { "0042abcdxy", "-001    zz", "004" };
+
+        final List<String> expected = unmarshal(Immutable.class, BindingStrategy.REFLECTION, format -> { }, lines);
+        final List<String> actual = unmarshal(Immutable.class, BindingStrategy.BYTECODE, format -> { }, lines);
+        assertThat(TracingFormat.generated).isTrue();
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(expected.get(0)).isEqualTo("42|abcd|<xy>");
+    }
+
+    @Test
+    public void shouldBindProjectionLikeReflection() throws Exception {
+        for(final boolean validate : new boolean[] { true, false }) {
+            final Consumer<BindyFixedLengthDataFormat<Object, Void, Void>> projection = format -> {
+                format.setProjection(Arrays.asList("i", "text", "converted"), null);
+                format.setValidateUnprojectedFields(validate);
+            };
+
+            final List<String> expected = unmarshal(Primitives.class, BindingStrategy.REFLECTION, projection, LINES);
+            final List<String> actual = unmarshal(Primitives.class, BindingStrategy.BYTECODE, projection, LINES);
+            assertThat(TracingFormat.generated).isTrue();
+
+            assertThat(actual).isEqualTo(expected);
+            assertThat(expected.get(0)).isEqualTo("42|0|0|0|0.0|0.0|null|ab|null|null|<cnv>|null|null|null");
+            // the missing required field is only reported when the unprojected fields are validated
+            assertThat(expected.get(4).startsWith("ERR ")).isEqualTo(validate);
+        }
+    }
+
+    @Test
+    public void shouldFallBackToReflectionWithoutFixedLength() throws Exception {
+        final String[] lines = { "12bob;xy", "07;zz", "x1a;bc" };
+
+        final List<String> expected = unmarshal(Delimited.class, BindingStrategy.REFLECTION, format -> { }, lines);
+        final List<String> actual = unmarshal(Delimited.class, BindingStrategy.BYTECODE, format -> { }, lines);
+        assertThat(TracingFormat.generated).isFalse();
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(expected.get(0)).isEqualTo("12|<bob>|xy");
+    }
+
+    /**
+     * @return the string of the entry of each line, or <code>ERR</code> and the message of the error
+     */
+    @SuppressWarnings("unchecked")
+    private static List<String> unmarshal(final Class<?> type, final BindingStrategy strategy,
+            final Consumer<BindyFixedLengthDataFormat<Object, Void, Void>> configuration, final String... lines) {
+
+        TracingFormat.generated = false;
+        final List<String> results = new ArrayList<>();
+        for(final String line : lines) {
+            final BindyFixedLengthDataFormat<Object, Void, Void> format = new BindyFixedLengthDataFormat<>((Class<Object>)type, Void.class, Void.class);
+            format.setBindingStrategy(strategy);
+            configuration.accept(format);
+            try {
+                results.add(String.valueOf(format.unmarshal(new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8))).getEntries().get(0)));
+            }
+            catch(final Exception e) {
+                results.add("ERR " + e.getMessage());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Tells whether a value was parsed from the binder generated for a record class.
+     */
+    public static class TracingFormat implements Format<String> {
+
+        static volatile boolean generated;
+
+        @Override
+        public String format(final String object) {
+            return object;
+        }
+
+        @Override
+        public String parse(final String string) {
+            for(final StackTraceElement element : new Throwable().getStackTrace()) {
+                if(element.getClassName().contains("$$BindyBinder")) {
+                    generated = true;
+                }
+            }
+            return "<" + string + ">";
+        }
+    }
+
+    @FixedLengthRecord(length = 56)
+    static class Primitives {
+
+        @DataField(pos = 1, length = 4)
+        int i;
+        @DataField(pos = 5, length = 6)
+        long l;
+        @DataField(pos = 11, length = 3)
+        short s;
+        @DataField(pos = 14, length = 3)
+        byte b;
+        @DataField(pos = 17, length = 6)
+        double d;
+        @DataField(pos = 23, length = 5)
+        float f;
+        @DataField(pos = 28, length = 4, trim = true)
+        Integer boxed;
+        @DataField(pos = 32, length = 5, trim = true, align = "L")
+        String text;
+        @DataField(pos = 37, length = 3, trim = true)
+        public String open;
+        @DataField(pos = 40, length = 3)
+        private String hidden;
+        @DataField(pos = 43, length = 3)
+        @BindyConverter(TracingFormat.class)
+        String converted;
+        @DataField(pos = 46, length = 3, method = "toUpperCase")
+        String upper;
+        @DataField(pos = 49, length = 4, cacheSize = 8)
+        String cached;
+        @DataField(pos = 53, length = 4, required = true, trim = true)
+        Long required;
+
+        @Override
+        public String toString() {
+            return i + "|" + l + "|" + s + "|" + b + "|" + d + "|" + f + "|" + boxed + "|" + text + "|" + open + "|" + hidden + "|" + converted
+                    + "|" + upper + "|" + cached + "|" + required;
+        }
+    }
+
+    @FixedLengthRecord(length = 10)
+    static class Immutable {
+
+        @DataField(pos = 1, length = 4)
+        final int number;
+        @DataField(pos = 5, length = 4, trim = true)
+        final String text;
+        @DataField(pos = 9, length = 2)
+        @BindyConverter(TracingFormat.class)
+        final String converted;
+
+        @BindyConstructor({ "number", "text", "converted" })
+        Immutable(final int number, final String text, final String converted) {
+            this.number = number;
+            this.text = text;
+            this.converted = converted;
+        }
+
+        @Override
+        public String toString() {
+            return number + "|" + text + "|" + converted;
+        }
+    }
+
+    @FixedLengthRecord
+    static class Delimited {
+
+        @DataField(pos = 1, length = 2)
+        int number;
+        @DataField(pos = 3, delimiter = ";")
+        @BindyConverter(TracingFormat.class)
+        String name;
+        @DataField(pos = 4, length = 2)
+        String tail;
+
+        @Override
+        public String toString() {
+            return number + "|" + name + "|" + tail;
+        }
+    }
+
+}
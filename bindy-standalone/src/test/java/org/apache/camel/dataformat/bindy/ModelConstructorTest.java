@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.apache.camel.dataformat.bindy.annotation.BindyConstructor;
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+import org.apache.camel.dataformat.bindy.annotation.FixedLengthRecord;
+import org.apache.camel.dataformat.bindy.fixed.BindyFixedLengthDataFormat;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Creates model classes through their {@link BindyConstructor}: the test classes are compiled with
+ * <code>-parameters</code>, so the constructors may leave the names of the fields out.
+ */
+public class ModelConstructorTest {
+
+    @Test
+    public void shouldPassTheFieldsByTheNamesOfTheParameters() throws Exception {
+        final ModelConstructor constructor = ModelConstructor.of(Named.class);
+        assertThat(constructor.parameterCount).isEqualTo(3);
+        // the fields are declared in another order than the parameters
+        assertThat(constructor.argument(Named.class.getDeclaredField("text"))).isEqualTo(0);
+        assertThat(constructor.argument(Named.class.getDeclaredField("number"))).isEqualTo(1);
+        assertThat(constructor.argument(Named.class.getDeclaredField("active"))).isEqualTo(2);
+        assertThat(constructor.argument(Named.class.getDeclaredField("count"))).isEqualTo(-1);
+
+        for(final BindingStrategy strategy : BindingStrategy.values()) {
+            assertThat(unmarshal(Named.class, strategy, null, "0042abcdtrue ", "-001    false")).as(strategy.name())
+                    .containsExactly("abcd|42|true|1", "|-1|false|1");
+        }
+    }
+
+    @Test
+    public void shouldNotCreateClassesWithoutAnnotatedConstructor() {
+        assertThat(ModelConstructor.of(Mutable.class)).isNull();
+    }
+
+    @Test
+    public void shouldExplainUnknownParameterNames() throws Exception {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertThat(compiler).as("a JDK to compile without -parameters").isNotNull();
+
+        final Path dir = Files.createTempDirectory("bindy-constructor");
+        try {
+            final Path source = dir.resolve("Unnamed.java");
+            Files.write(source, ("public class Unnamed {\n"
+                    + "    @" + DataField.class.getName() + "(pos = 1, length = 4) final int number;\n"
+                    + "    @" + BindyConstructor.class.getName() + " public Unnamed(final int number) { this.number = number; }\n"
+                    + "}\n").getBytes(StandardCharsets.UTF_8));
+            final String classpath = new File(DataField.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+            assertThat(compiler.run(null, null, null, "-proc:none", "-classpath", classpath, "-d", dir.toString(), source.toString()))
+                    .isEqualTo(0);
+
+            try(URLClassLoader loader = new URLClassLoader(new URL[] { dir.toUri().toURL() }, getClass().getClassLoader())) {
+                final Class<?> unnamed = loader.loadClass("Unnamed");
+                assertThatThrownBy(() -> ModelConstructor.of(unnamed)).isInstanceOf(IllegalArgumentException.class)
+                        .hasMessage("The names of the parameters of public Unnamed(int) are not known:"
+                                + " list the fields in @BindyConstructor or compile with -parameters");
+            }
+        }
+        finally {
+            try(Stream<Path> files = Files.walk(dir)) {
+                files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    public void shouldRejectFieldsNotMatchingTheParameters() {
+        assertThatThrownBy(() -> ModelConstructor.of(MissingField.class)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("No field missing in " + MissingField.class.getName() + " for the parameter 1 of the constructor");
+        assertThatThrownBy(() -> ModelConstructor.of(MistypedField.class)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("The field " + field(MistypedField.class, "number") + " does not have the type of the parameter 0");
+        assertThatThrownBy(() -> ModelConstructor.of(UnannotatedField.class)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The field " + field(UnannotatedField.class, "plain") + " passed to the constructor must be annotated with @DataField");
+        assertThatThrownBy(() -> ModelConstructor.of(UnpassedField.class)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("The field " + field(UnpassedField.class, "text") + " is not passed to the constructor");
+        assertThatThrownBy(() -> ModelConstructor.of(WrongCount.class)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageEndingWith(" has 2 parameters but 1 field names");
+        assertThatThrownBy(() -> ModelConstructor.of(TwoConstructors.class)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("More than one constructor of " + TwoConstructors.class.getName() + " is annotated with @BindyConstructor");
+    }
+
+    @Test
+    public void shouldPassDefaultsForTheParametersOfUnprojectedFields() throws Exception {
+        final Object[] arguments = new Object[3];
+        assertThat(ModelConstructor.of(Named.class).newInstance(arguments)).hasToString("null|0|false|1");
+        assertThat(Arrays.asList(arguments)).containsExactly(null, 0, false);
+
+        for(final BindingStrategy strategy : BindingStrategy.values()) {
+            assertThat(unmarshal(Named.class, strategy, Arrays.asList("text"), "0042abcdtrue ")).as(strategy.name())
+                    .containsExactly("abcd|0|false|1");
+        }
+    }
+
+    private static String field(final Class<?> type, final String name) {
+        try {
+            return type.getDeclaredField(name).toString();
+        }
+        catch(final NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the string of the entry of each line
+     */
+    @SuppressWarnings("unchecked")
+    private static List<String> unmarshal(final Class<?> type, final BindingStrategy strategy, final List<String> projection,
+            final String... lines) throws Exception {
+
+        final List<String> results = new ArrayList<>();
+        for(final String line : lines) {
+            final BindyFixedLengthDataFormat<Object, Void, Void> format = new BindyFixedLengthDataFormat<>((Class<Object>)type, Void.class, Void.class);
+            format.setBindingStrategy(strategy);
+            format.setProjection(projection, null);
+            results.add(String.valueOf(format.unmarshal(new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8))).getEntries().get(0)));
+        }
+        return results;
+    }
+
+    @FixedLengthRecord(length = 13)
+    static class Named {
+
+        @DataField(pos = 1, length = 4)
+        final int number;
+        @DataField(pos = 5, length = 4, trim = true)
+        final String text;
+        @DataField(pos = 9, length = 5, trim = true, align = "L")
+        final boolean active;
+        /** not bound, set by the constructor */
+        final int count;
+
+        @BindyConstructor
+        Named(final String text, final int number, final boolean active) {
+            this.number = number;
+            this.text = text;
+            this.active = active;
+            this.count = 1;
+        }
+
+        @Override
+        public String toString() {
+            return text + "|" + number + "|" + active + "|" + count;
+        }
+    }
+
+    @FixedLengthRecord(length = 4)
+    static class Mutable {
+
+        @DataField(pos = 1, length = 4)
+        int number;
+    }
+
+    static class MissingField {
+
+        @DataField(pos = 1, length = 4)
+        final int number;
+
+        @BindyConstructor
+        MissingField(final int number, final String missing) {
+            this.number = number;
+        }
+    }
+
+    static class MistypedField {
+
+        @DataField(pos = 1, length = 4)
+        final int number;
+
+        @BindyConstructor
+        MistypedField(final long number) {
+            this.number = (int)number;
+        }
+    }
+
+    static class UnannotatedField {
+
+        @DataField(pos = 1, length = 4)
+        final int number;
+        final String plain;
+
+        @BindyConstructor
+        UnannotatedField(final int number, final String plain) {
+            this.number = number;
+            this.plain = plain;
+        }
+    }
+
+    static class UnpassedField {
+
+        @DataField(pos = 1, length = 4)
+        final int number;
+        @DataField(pos = 5, length = 4)
+        String text;
+
+        @BindyConstructor
+        UnpassedField(final int number) {
+            this.number = number;
+        }
+    }
+
+    static class WrongCount {
+
+        @DataField(pos = 1, length = 4)
+        final int number;
+
+        @BindyConstructor("number")
+        WrongCount(final int number, final int other) {
+            this.number = number;
+        }
+    }
+
+    static class TwoConstructors {
+
+        @DataField(pos = 1, length = 4)
+        final int number;
+
+        @BindyConstructor
+        TwoConstructors(final int number) {
+            this.number = number;
+        }
+
+        @BindyConstructor
+        TwoConstructors(final long number) {
+            this.number = (int)number;
+        }
+    }
+
+}
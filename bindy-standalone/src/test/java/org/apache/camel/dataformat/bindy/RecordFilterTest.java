@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+import org.apache.camel.dataformat.bindy.annotation.FixedLengthRecord;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Resolves filters against a model and applies them to raw records, including records shorter than the model.
+ */
+public class RecordFilterTest {
+
+    @Test
+    public void shouldCompareTheRawCharsOfTheField() throws Exception {
+        final RecordFilter equalTo = resolve(RecordFilter.field("status").equalTo("OK "));
+        assertThat(equalTo.accept("01OK name ")).isTrue();
+        assertThat(equalTo.accept("01 OKname ")).isFalse();
+        // the chars are not trimmed
+        assertThat(resolve(RecordFilter.field("status").equalTo("OK")).accept("01OK name ")).isFalse();
+
+        final RecordFilter startsWith = resolve(RecordFilter.field("name").startsWith("na"));
+        assertThat(startsWith.accept("01OK name ")).isTrue();
+        assertThat(startsWith.accept("01OK  name")).isFalse();
+        assertThat(startsWith.accept("nameOKxxxx")).isFalse();
+
+        final List<String> seen = new ArrayList<>();
+        final RecordFilter matches = resolve(RecordFilter.field("name").matches(chars -> seen.add(chars.toString())));
+        assertThat(matches.accept("01OK name ")).isTrue();
+        assertThat(seen).containsExactly("name ");
+    }
+
+    @Test
+    public void shouldCutTheFieldAtTheEndOfTheRecord() throws Exception {
+        final List<String> seen = new ArrayList<>();
+        final RecordFilter matches = resolve(RecordFilter.field("status").matches(chars -> seen.add(chars.toString())));
+        for(final String record : new String[] { "01OK ", "01OK", "01O", "01", "0", "" }) {
+            matches.accept(record);
+        }
+        assertThat(seen).containsExactly("OK ", "OK", "O", "", "", "");
+
+        final RecordFilter equalTo = resolve(RecordFilter.field("status").equalTo("OK "));
+        final RecordFilter startsWith = resolve(RecordFilter.field("status").startsWith("OK"));
+        final RecordFilter empty = resolve(RecordFilter.field("status").equalTo(""));
+        for(final String record : new String[] { "01O", "01", "" }) {
+            assertThat(equalTo.accept(record)).as(record).isFalse();
+            assertThat(startsWith.accept(record)).as(record).isFalse();
+        }
+        assertThat(equalTo.accept("01OK")).isFalse();
+        assertThat(startsWith.accept("01OK")).isTrue();
+        assertThat(empty.accept("01")).isTrue();
+        assertThat(empty.accept("01O")).isFalse();
+    }
+
+    @Test
+    public void shouldCombineConditions() throws Exception {
+        final RecordFilter ok = RecordFilter.field("status").equalTo("OK ");
+        final RecordFilter first = RecordFilter.position(1).equalTo("01");
+        final String[] records = { "01OK name ", "02OK name ", "01KO name ", "02KO name " };
+
+        final RecordFilter and = resolve(ok.and(first));
+        final RecordFilter or = resolve(ok.or(first));
+        final RecordFilter negate = resolve(ok.negate());
+        final RecordFilter nested = resolve(ok.and(first.negate()).or(first.and(ok.negate())));
+        final List<String> results = new ArrayList<>();
+        for(final String record : records) {
+            results.add(and.accept(record) + " " + or.accept(record) + " " + negate.accept(record) + " " + nested.accept(record));
+        }
+        assertThat(results).containsExactly("true true false false", "false true false true", "false true true true",
+                "false false true false");
+    }
+
+    @Test
+    public void shouldOnlyAcceptRecordsOnceResolved() {
+        final RecordFilter ok = RecordFilter.field("status").equalTo("OK ");
+        assertThatThrownBy(() -> ok.accept("01OK name ")).isInstanceOf(IllegalStateException.class)
+                .hasMessage("The filter on the field status has not been resolved");
+        assertThatThrownBy(() -> ok.or(record -> true).accept("01OK name ")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> RecordFilter.position(3).equalTo("OK ").negate().accept("01OK name ")).isInstanceOf(IllegalStateException.class)
+                .hasMessage("The filter on the field at the position 3 has not been resolved");
+    }
+
+    @Test
+    public void shouldResolveFieldsByNameOrPosition() throws Exception {
+        final BindyFixedLengthFactory factory = new BindyFixedLengthFactory(Status.class);
+        assertThat(factory.position("status")).isEqualTo(3);
+        assertThat(factory.fixedOffset(1)).isEqualTo(1);
+        assertThat(factory.fixedOffset(3)).isEqualTo(3);
+        assertThat(factory.fixedOffset(6)).isEqualTo(6);
+        assertThat(factory.fixedLength(6)).isEqualTo(5);
+        assertThat(resolve(RecordFilter.position(3).equalTo("OK ")).accept("01OK name ")).isTrue();
+
+        assertThatThrownBy(() -> resolve(RecordFilter.field("missing").equalTo("x"))).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No @DataField named missing in the model of " + Status.class.getName());
+        assertThatThrownBy(() -> resolve(RecordFilter.position(2).equalTo("x"))).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No @DataField at the position 2 in the model of " + Status.class.getName());
+        assertThatThrownBy(() -> factory.fixedOffset(2)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No @DataField at the position 2 in the model of " + Status.class.getName());
+    }
+
+    @Test
+    public void shouldRejectFieldsWithoutFixedOffset() throws Exception {
+        final BindyFixedLengthFactory delimited = new BindyFixedLengthFactory(Delimited.class);
+        assertThat(delimited.fixedOffset(2)).isEqualTo(3);
+        assertThat(delimited.fixedLength(2)).isEqualTo(0);
+        assertThatThrownBy(() -> delimited.fixedOffset(3)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The offset of the @DataField at the position 3 is not fixed: it follows the field "
+                        + Delimited.class.getDeclaredField("name"));
+        assertThatThrownBy(() -> RecordFilter.field("name").equalTo("x").resolve(delimited)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The @DataField at the position 2 has no fixed length");
+        assertThatThrownBy(() -> RecordFilter.field("tail").equalTo("x").resolve(delimited)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("The offset of the @DataField at the position 3 is not fixed");
+
+        final BindyFixedLengthFactory variable = new BindyFixedLengthFactory(VariableLength.class);
+        assertThat(variable.fixedLength(1)).isEqualTo(2);
+        assertThat(variable.fixedLength(2)).isEqualTo(0);
+        assertThatThrownBy(() -> RecordFilter.field("text").equalTo("x").resolve(variable)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The @DataField at the position 2 has no fixed length");
+        assertThatThrownBy(() -> RecordFilter.field("tail").equalTo("x").resolve(variable)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The offset of the @DataField at the position 3 is not fixed: it follows the field "
+                        + VariableLength.class.getDeclaredField("text"));
+    }
+
+    private static RecordFilter resolve(final RecordFilter filter) throws Exception {
+        return filter.resolve(new BindyFixedLengthFactory(Status.class));
+    }
+
+    @FixedLengthRecord(length = 10)
+    static class Status {
+
+        @DataField(pos = 1, length = 2)
+        String code;
+        @DataField(pos = 3, length = 3)
+        String status;
+        @DataField(pos = 6, length = 5)
+        String name;
+    }
+
+    @FixedLengthRecord
+    static class Delimited {
+
+        @DataField(pos = 1, length = 2)
+        String code;
+        @DataField(pos = 2, delimiter = ";")
+        String name;
+        @DataField(pos = 3, length = 2)
+        String tail;
+    }
+
+    @FixedLengthRecord
+    static class VariableLength {
+
+        @DataField(pos = 1, length = 2)
+        int length;
+        @DataField(pos = 2, lengthPos = 1)
+        String text;
+        @DataField(pos = 3, length = 2)
+        String tail;
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+import org.apache.camel.dataformat.bindy.annotation.FixedLengthRecord;
+import org.apache.camel.dataformat.bindy.fixed.BindyFixedLengthDataFormat;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the records share the String instances of repeated values when the pool is enabled, whether the records
+ * are read as chars (UTF-8) or as bytes (single byte charsets), and the statistics of the pool.
+ */
+public class StringPoolTest {
+
+    private static final int COUNT = 300;
+
+    /** estimated size of a String of 2 Latin-1 chars, see {@link ValueCache#getSavedBytes()} */
+    private static final long TWO_CHARS_SIZE = 48;
+
+    @Test
+    public void shouldShareTheInstancesOfRepeatedValues() throws Exception {
+        for(final Charset charset : new Charset[] { StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, StandardCharsets.US_ASCII }) {
+            final List<Pooled> entries = format(charset, 16).unmarshal(input(charset)).getEntries();
+            assertThat(entries).hasSize(COUNT);
+            for(int i = 3; i < COUNT; i++) {
+                assertThat(entries.get(i).code).as(charset + " code " + i).isSameAs(entries.get(i % 3).code);
+                assertThat(entries.get(i).name).as(charset + " name " + i).isSameAs(entries.get(i % 2).name);
+            }
+            assertThat(entries.get(0).code).isEqualTo("OK");
+            assertThat(entries.get(1).name).isEqualTo("cd");
+        }
+    }
+
+    @Test
+    public void shouldCreateAStringPerRecordWithoutPool() throws Exception {
+        for(final Charset charset : new Charset[] { StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1 }) {
+            final BindyFixedLengthDataFormat<Pooled, Void, Void> format = format(charset, 0);
+            final List<Pooled> entries = format.unmarshal(input(charset)).getEntries();
+            assertThat(entries.get(3).code).isEqualTo(entries.get(0).code);
+            assertThat(entries.get(3).code).as(charset.name()).isNotSameAs(entries.get(0).code);
+            assertThat(format.getValueCaches()).isEmpty();
+        }
+    }
+
+    @Test
+    public void shouldReportTheHitRatioAndTheSavedBytes() throws Exception {
+        for(final Charset charset : new Charset[] { StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1 }) {
+            final BindyFixedLengthDataFormat<Pooled, Void, Void> format = format(charset, 16);
+            format.unmarshal(input(charset));
+
+            // only the String fields are pooled, the pool size overrides the value cache size
+            final Map<String, ValueCache> caches = format.getValueCaches();
+            assertThat(caches.keySet()).as(charset.name()).containsExactly("code", "name");
+
+            final ValueCache code = caches.get("code");
+            assertThat(code.getSize()).isEqualTo(16);
+            assertThat(code.getMisses()).isEqualTo(3L);
+            assertThat(code.getHitRatio()).isEqualTo((COUNT - 3) / (double)COUNT);
+            assertThat(code.getSavedBytes()).isEqualTo((COUNT - 3) * TWO_CHARS_SIZE);
+
+            // the value is trimmed before it is looked up
+            final ValueCache name = caches.get("name");
+            assertThat(name.getMisses()).isEqualTo(2L);
+            assertThat(name.getHitRatio()).isEqualTo((COUNT - 2) / (double)COUNT);
+            assertThat(name.getSavedBytes()).isEqualTo((COUNT - 2) * TWO_CHARS_SIZE);
+        }
+    }
+
+    @Test
+    public void shouldNotSaveBytesForOtherTypes() {
+        final ValueCache cache = new ValueCache(8);
+        assertThat(cache.getHitRatio()).isEqualTo(0.0);
+
+        cache.put("0042", 0, 4, ValueCache.hash("0042", 0, 4), 42);
+        assertThat(cache.get("0042", 0, 4, ValueCache.hash("0042", 0, 4))).isEqualTo(42);
+        assertThat(cache.getHitRatio()).isEqualTo(1.0);
+        assertThat(cache.getSavedBytes()).isEqualTo(0L);
+    }
+
+    private static ByteArrayInputStream input(final Charset charset) {
+        final String[] codes = { "OK", "KO", "NA" };
+        final String[] names = { "ab  ", "cd  " };
+        final StringBuilder content = new StringBuilder();
+        for(int i = 0; i < COUNT; i++) {
+            content.append(String.format("%06d%s%s\n", i, codes[i % 3], names[i % 2]));
+        }
+        return new ByteArrayInputStream(content.toString().getBytes(charset));
+    }
+
+    private static BindyFixedLengthDataFormat<Pooled, Void, Void> format(final Charset charset, final int stringPoolSize) {
+        final BindyFixedLengthDataFormat<Pooled, Void, Void> format = new BindyFixedLengthDataFormat<>(Pooled.class, Void.class, Void.class);
+        format.setCharset(charset);
+        format.setStringPoolSize(stringPoolSize);
+        return format;
+    }
+
+    @FixedLengthRecord(length = 12)
+    static class Pooled {
+
+        @DataField(pos = 1, length = 6)
+        int id;
+        @DataField(pos = 7, length = 2)
+        String code;
+        @DataField(pos = 9, length = 4, trim = true, align = "L")
+        String name;
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+import org.apache.camel.dataformat.bindy.annotation.FixedLengthRecord;
+import org.apache.camel.dataformat.bindy.fixed.BindyFixedLengthDataFormat;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the counters, the size and the eviction of a {@link ValueCache}, and that cached fields are bound as without
+ * cache, also in parallel.
+ */
+public class ValueCacheTest {
+
+    @Test
+    public void shouldCountHitsAndMisses() {
+        final ValueCache cache = new ValueCache(8);
+        assertThat(get(cache, "x20200131y", 1, 9)).isNull();
+        put(cache, "x20200131y", 1, 9, LocalDate.of(2020, 1, 31));
+        assertThat(get(cache, "20200131", 0, 8)).isEqualTo(LocalDate.of(2020, 1, 31));
+        assertThat(get(cache, "--20200131", 2, 10)).isEqualTo(LocalDate.of(2020, 1, 31));
+        assertThat(get(cache, "2020013", 0, 7)).isNull();
+
+        assertThat(cache.getHits()).isEqualTo(2L);
+        assertThat(cache.getMisses()).isEqualTo(2L);
+    }
+
+    @Test
+    public void shouldRoundTheSizeUpToAPowerOfTwo() {
+        final int[][] sizes = { { 0, 4 }, { 1, 4 }, { 3, 4 }, { 4, 4 }, { 5, 8 }, { 8, 8 }, { 9, 16 }, { 1000, 1024 }, { 1024, 1024 } };
+        for(final int[] size : sizes) {
+            assertThat(new ValueCache(size[0]).getSize()).as("size " + size[0]).isEqualTo(size[1]);
+        }
+    }
+
+    @Test
+    public void shouldEvictTheOlderValueOfAPair() {
+        // Strings with the same hash go to the same pair of slots, however large the cache
+        final String[] keys = { "AaAa", "AaBB", "BBAa", "BBBB" };
+        for(final String key : keys) {
+            assertThat(ValueCache.hash(key, 0, 4)).isEqualTo(keys[0].hashCode());
+        }
+        final ValueCache cache = new ValueCache(1024);
+        put(cache, keys[0], 0, 4, 0);
+        put(cache, keys[1], 0, 4, 1);
+        assertThat(get(cache, keys[0], 0, 4)).isEqualTo(0);
+        assertThat(get(cache, keys[1], 0, 4)).isEqualTo(1);
+
+        put(cache, keys[2], 0, 4, 2);
+        assertThat(get(cache, keys[0], 0, 4)).isNull();
+        assertThat(get(cache, keys[1], 0, 4)).isEqualTo(1);
+        assertThat(get(cache, keys[2], 0, 4)).isEqualTo(2);
+        assertThat(get(cache, keys[3], 0, 4)).isNull();
+    }
+
+    @Test
+    public void shouldOnlyCacheImmutableTypes() {
+        for(final Class<?> type : new Class<?>[] { int.class, Integer.class, String.class, LocalDate.class, BindingStrategy.class }) {
+            assertThat(ValueCache.isCacheable(type)).as(type.getName()).isTrue();
+        }
+        for(final Class<?> type : new Class<?>[] { Date.class, StringBuilder.class, Object.class, int[].class }) {
+            assertThat(ValueCache.isCacheable(type)).as(type.getName()).isFalse();
+        }
+    }
+
+    @Test
+    public void shouldBindCachedFieldsLikeUncachedOnes() throws Exception {
+        final String content = records(3000);
+
+        final BindyFixedLengthDataFormat<Cached, Void, Void> cached = format(1024);
+        final List<Cached> entries = cached.unmarshal(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))).getEntries();
+        assertThat(entries.toString()).isEqualTo(format(0).unmarshal(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)))
+                .getEntries().toString());
+
+        final Map<String, ValueCache> caches = cached.getValueCaches();
+        assertThat(caches.keySet()).containsExactly("date", "status");
+        assertThat(caches.get("date").getMisses()).isEqualTo(31L);
+        assertThat(caches.get("date").getHits()).isEqualTo(3000L - 31);
+        assertThat(caches.get("status").getMisses()).isEqualTo(3L);
+        assertThat(caches.get("status").getHits()).isEqualTo(3000L - 3);
+        assertThat(format(0).getValueCaches()).isEmpty();
+    }
+
+    @Test
+    public void shouldBindCachedFieldsInParallel() throws Exception {
+        // more than one chunk of the parallel unmarshal
+        final int count = 200_000;
+        final Path file = Files.createTempFile("bindy-cache", ".txt");
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Files.write(file, records(count).getBytes(StandardCharsets.UTF_8));
+            final String expected = format(0).unmarshal(file).getEntries().toString();
+
+            // a small cache, so that the threads also race on evictions
+            final BindyFixedLengthDataFormat<Cached, Void, Void> cached = format(8);
+            assertThat(cached.unmarshalParallel(file, pool).getEntries().toString()).isEqualTo(expected);
+            for(final ValueCache cache : cached.getValueCaches().values()) {
+                assertThat(cache.getHits() + cache.getMisses()).isEqualTo((long)count);
+                assertThat(cache.getHits()).isGreaterThan(0L);
+            }
+        }
+        finally {
+            pool.shutdown();
+            Files.delete(file);
+        }
+    }
+
+    private static Object get(final ValueCache cache, final String source, final int start, final int end) {
+        return cache.get(source, start, end, ValueCache.hash(source, start, end));
+    }
+
+    private static void put(final ValueCache cache, final String source, final int start, final int end, final Object value) {
+        cache.put(source, start, end, ValueCache.hash(source, start, end), value);
+    }
+
+    /**
+     * @return the records, which repeat 31 dates and 3 statuses
+     */
+    private static String records(final int count) {
+        final String[] statuses = { "OK", "KO", "NA" };
+        final StringBuilder content = new StringBuilder();
+        for(int i = 0; i < count; i++) {
+            content.append(String.format("%06d202001%02d%s\n", i % 1_000_000, 1 + i % 31, statuses[i % 3]));
+        }
+        return content.toString();
+    }
+
+    private static BindyFixedLengthDataFormat<Cached, Void, Void> format(final int valueCacheSize) {
+        final BindyFixedLengthDataFormat<Cached, Void, Void> format = new BindyFixedLengthDataFormat<>(Cached.class, Void.class, Void.class);
+        format.setValueCacheSize(valueCacheSize);
+        return format;
+    }
+
+    @FixedLengthRecord(length = 16)
+    static class Cached {
+
+        @DataField(pos = 1, length = 6, cacheSize = 0)
+        int id;
+        @DataField(pos = 7, length = 8, pattern = "yyyyMMdd")
+        LocalDate date;
+        @DataField(pos = 15, length = 2)
+        String status;
+
+        @Override
+        public String toString() {
+            return id + ":" + date + ":" + status;
+        }
+    }
+
+}
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.accessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+
+import org.apache.camel.api.RuntimeCamelException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks which accessor is picked for the visibility of each class and field, and that all of them behave like
+ * plain reflection.
+ */
+public class AccessorsTest {
+
+    public static class PublicModel {
+
+        public int number;
+        public long amount;
+        public double rate;
+        public float ratio;
+        public short code;
+        public byte flags;
+        public char letter;
+        public boolean active;
+        public Long boxed;
+        public String text;
+        public final int constant;
+        public static final int STATIC_CONSTANT = 1;
+
+        public PublicModel() {
+            this.constant = 1;
+        }
+    }
+
+    static class PackagePrivateModel {
+    }
+
+    public static class PrivateConstructorModel {
+
+        private PrivateConstructorModel() {
+        }
+    }
+
+    public abstract static class AbstractModel {
+    }
+
+    public static class NoDefaultConstructorModel {
+
+        public NoDefaultConstructorModel(final int number) {
+        }
+    }
+
+    static class ConstructorModel {
+
+        final int number;
+        final long amount;
+        final String text;
+
+        private ConstructorModel(final int number, final long amount, final String text) {
+            if(number < 0) {
+                throw new IllegalArgumentException("negative " + number);
+            }
+            this.number = number;
+            this.amount = amount;
+            this.text = text;
+        }
+
+        ConstructorModel(final String text) throws IOException {
+            throw new IOException(text);
+        }
+    }
+
+    @Test
+    public void shouldSpinAnInstantiatorForAPublicClass() {
+        final Instantiator instantiator = Accessors.instantiator(PublicModel.class);
+
+        assertThat(instantiator instanceof MethodHandleInstantiator).isFalse();
+        assertThat(instantiator instanceof ReflectionInstantiator).isFalse();
+        assertThat(instantiator.getClass().isSynthetic()).isTrue();
+        assertThat(instantiator.newInstance()).isInstanceOf(PublicModel.class);
+        assertThat(instantiator.newInstance()).isNotSameAs(instantiator.newInstance());
+    }
+
+    @Test
+    public void shouldUseAMethodHandleForAnInaccessibleConstructor() {
+        final Instantiator packagePrivate = Accessors.instantiator(PackagePrivateModel.class);
+        assertThat(packagePrivate).isInstanceOf(MethodHandleInstantiator.class);
+        assertThat(packagePrivate.newInstance()).isInstanceOf(PackagePrivateModel.class);
+
+        final Instantiator privateConstructor = Accessors.instantiator(PrivateConstructorModel.class);
+        assertThat(privateConstructor).isInstanceOf(MethodHandleInstantiator.class);
+        assertThat(privateConstructor.newInstance()).isInstanceOf(PrivateConstructorModel.class);
+    }
+
+    @Test
+    public void shouldUseAMethodHandleForAClassNotVisibleFromTheAccessors() throws Exception {
+        final Class<?> isolated = new IsolatingClassLoader(PublicModel.class).loadClass(PublicModel.class.getName());
+        assertThat(isolated).isNotSameAs(PublicModel.class);
+
+        final Instantiator instantiator = Accessors.instantiator(isolated);
+        assertThat(instantiator).isInstanceOf(MethodHandleInstantiator.class);
+        assertThat(instantiator.newInstance().getClass()).isSameAs(isolated);
+    }
+
+    @Test
+    public void shouldFallBackToReflectionWithoutAConstructorToCall() {
+        final Instantiator abstractModel = Accessors.instantiator(AbstractModel.class);
+        assertThat(abstractModel).isInstanceOf(ReflectionInstantiator.class);
+        assertThatThrownBy(abstractModel::newInstance).isInstanceOf(RuntimeCamelException.class)
+                .hasCauseInstanceOf(InstantiationException.class);
+
+        final Instantiator noDefaultConstructor = Accessors.instantiator(NoDefaultConstructorModel.class);
+        assertThat(noDefaultConstructor).isInstanceOf(ReflectionInstantiator.class);
+        assertThatThrownBy(noDefaultConstructor::newInstance).isInstanceOf(RuntimeCamelException.class);
+    }
+
+    @Test
+    public void shouldCallAConstructorWithArguments() throws Exception {
+        final ArgumentsInstantiator instantiator = Accessors.instantiator(
+                ConstructorModel.class.getDeclaredConstructor(int.class, long.class, String.class));
+
+        final ConstructorModel model = (ConstructorModel)instantiator.newInstance(new Object[] { 1, 2L, "text" });
+        assertThat(model.number).isEqualTo(1);
+        assertThat(model.amount).isEqualTo(2L);
+        assertThat(model.text).isEqualTo("text");
+
+        // unchecked exceptions are thrown as they are, checked ones wrapped
+        assertThatThrownBy(() -> instantiator.newInstance(new Object[] { -1, 2L, null })).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("negative -1");
+        final ArgumentsInstantiator failing = Accessors.instantiator(ConstructorModel.class.getDeclaredConstructor(String.class));
+        assertThatThrownBy(() -> failing.newInstance(new Object[] { "failed" })).isInstanceOf(RuntimeCamelException.class)
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void shouldSetFieldsThroughMethodHandles() throws Exception {
+        final PublicModel model = new PublicModel();
+
+        final FieldSetter number = setter("number");
+        assertThat(number).isInstanceOf(MethodHandleSetter.class);
+        number.setInt(model, 42);
+        assertThat(model.number).isEqualTo(42);
+        number.set(model, 43);
+        assertThat(model.number).isEqualTo(43);
+
+        setter("amount").setLong(model, Long.MAX_VALUE);
+        assertThat(model.amount).isEqualTo(Long.MAX_VALUE);
+        setter("rate").setDouble(model, 1.5);
+        assertThat(model.rate).isEqualTo(1.5);
+        setter("ratio").setFloat(model, 2.5f);
+        assertThat(model.ratio).isEqualTo(2.5f);
+        setter("code").setShort(model, (short)-3);
+        assertThat(model.code).isEqualTo((short)-3);
+        setter("flags").setByte(model, (byte)4);
+        assertThat(model.flags).isEqualTo((byte)4);
+        setter("letter").setChar(model, 'x');
+        assertThat(model.letter).isEqualTo('x');
+        setter("active").setBoolean(model, true);
+        assertThat(model.active).isTrue();
+
+        setter("boxed").setLong(model, 5L);
+        assertThat(model.boxed).isEqualTo(5L);
+        setter("boxed").set(model, null);
+        assertThat(model.boxed).isNull();
+        setter("text").set(model, "text");
+        assertThat(model.text).isEqualTo("text");
+    }
+
+    @Test
+    public void shouldConvertLikeReflection() throws Exception {
+        final PublicModel model = new PublicModel();
+
+        // widening conversions, as by Field.setInt and Field.set
+        setter("amount").setInt(model, 7);
+        assertThat(model.amount).isEqualTo(7L);
+        setter("amount").set(model, 8);
+        assertThat(model.amount).isEqualTo(8L);
+        setter("rate").setLong(model, 9L);
+        assertThat(model.rate).isEqualTo(9.0);
+
+        // no narrowing conversions
+        assertThatThrownBy(() -> setter("number").setLong(model, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(model.number).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldRejectNullAndWrongValuesLikeReflection() throws Exception {
+        final PublicModel model = new PublicModel();
+
+        for(final String name : new String[] { "number", "amount", "active", "letter" }) {
+            final Field field = PublicModel.class.getField(name);
+            final Throwable expected = catchThrowable(() -> field.set(model, null));
+            assertThat(expected).isInstanceOf(IllegalArgumentException.class);
+
+            assertThatThrownBy(() -> Accessors.setter(field).set(model, null)).as(name).isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage(expected.getMessage());
+            assertThatThrownBy(() -> new ReflectionSetter(field).set(model, null)).as(name).isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage(expected.getMessage());
+        }
+
+        final Field number = PublicModel.class.getField("number");
+        final Throwable expected = catchThrowable(() -> number.set(model, "text"));
+        assertThatThrownBy(() -> Accessors.setter(number).set(model, "text")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(expected.getMessage());
+        final Field text = PublicModel.class.getField("text");
+        assertThatThrownBy(() -> Accessors.setter(text).set(model, 1)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(catchThrowable(() -> text.set(model, 1)).getMessage());
+    }
+
+    @Test
+    public void shouldFallBackToReflectionForAFieldWhichCannotBeWritten() throws Exception {
+        final FieldSetter staticConstant = setter("STATIC_CONSTANT");
+        assertThat(staticConstant).isInstanceOf(ReflectionSetter.class);
+        assertThatThrownBy(() -> staticConstant.set(null, 2)).isInstanceOf(RuntimeCamelException.class)
+                .hasCauseInstanceOf(IllegalAccessException.class);
+
+        // a final instance field can be set once accessible, through either
+        final PublicModel model = new PublicModel();
+        setter("constant").setInt(model, 2);
+        assertThat(PublicModel.class.getField("constant").getInt(model)).isEqualTo(2);
+    }
+
+    private static FieldSetter setter(final String name) throws NoSuchFieldException {
+        return Accessors.setter(PublicModel.class.getField(name));
+    }
+
+    /**
+     * Defines its own copy of a class, which the class loader of the accessors does not see.
+     */
+    private static final class IsolatingClassLoader extends ClassLoader {
+
+        private final Class<?> isolated;
+
+        IsolatingClassLoader(final Class<?> isolated) {
+            super(isolated.getClassLoader());
+            this.isolated = isolated;
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if( !name.equals(isolated.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized(getClassLoadingLock(name)) {
+                final Class<?> loaded = findLoadedClass(name);
+                if(loaded != null) {
+                    return loaded;
+                }
+                final String resource = name.replace('.', '/') + ".class";
+                try(InputStream in = getParent().getResourceAsStream(resource)) {
+                    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    final byte[] buf = new byte[4096];
+                    for(int n; (n = in.read(buf)) > 0;) {
+                        bytes.write(buf, 0, n);
+                    }
+                    return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+                }
+                catch(final IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+    }
+
+}
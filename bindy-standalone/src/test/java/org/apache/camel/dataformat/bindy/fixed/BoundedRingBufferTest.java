@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the bounds of the ring buffer, and that concurrent producers and consumers hand over each element once, in
+ * the order of each producer.
+ */
+public class BoundedRingBufferTest {
+
+    @Test
+    public void shouldHoldUpToItsCapacity() {
+        final BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(5);
+
+        assertThat(buffer.poll()).isNull();
+        // rounded up to a power of two
+        for(int i = 0; i < 8; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(8)).isFalse();
+
+        // in order, over several laps
+        for(int i = 0; i < 100; i++) {
+            assertThat(buffer.poll()).isEqualTo(i);
+            assertThat(buffer.offer(i + 8)).isTrue();
+        }
+        for(int i = 100; i < 108; i++) {
+            assertThat(buffer.poll()).isEqualTo(i);
+        }
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    public void shouldHandOverEachElementOnce() throws Exception {
+        final int producers = 4;
+        final int consumers = 4;
+        final int count = 100000;
+        final BoundedRingBuffer<long[]> buffer = new BoundedRingBuffer<>(16);
+        final AtomicInteger received = new AtomicInteger();
+
+        final List<Thread> threads = new ArrayList<>();
+        for(int p = 0; p < producers; p++) {
+            final int producer = p;
+            threads.add(new Thread(() -> {
+                for(int i = 0; i < count; i++) {
+                    final long[] element = { producer, i };
+                    for(int attempt = 0; !buffer.offer(element); attempt++) {
+                        BoundedRingBuffer.idle(attempt);
+                    }
+                }
+            }));
+        }
+        final int[][] seen = new int[consumers][];
+        final List<String> failures = new ArrayList<>();
+        for(int c = 0; c < consumers; c++) {
+            final int consumer = c;
+            seen[c] = new int[producers * count];
+            threads.add(new Thread(() -> {
+                // last element of each producer taken by this consumer
+                final long[] last = new long[producers];
+                Arrays.fill(last, -1);
+                while(received.get() < producers * count) {
+                    final long[] element = buffer.poll();
+                    if(element == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    received.incrementAndGet();
+                    final int producer = (int)element[0];
+                    if(element[1] <= last[producer]) {
+                        synchronized(failures) {
+                            failures.add("element " + element[1] + " of producer " + producer + " taken after " + last[producer]);
+                        }
+                    }
+                    last[producer] = element[1];
+                    seen[consumer][producer * count + (int)element[1]]++;
+                }
+            }));
+        }
+        for(final Thread thread : threads) {
+            thread.start();
+        }
+        for(final Thread thread : threads) {
+            thread.join(60000);
+            assertThat(thread.isAlive()).isFalse();
+        }
+
+        assertThat(failures).isEmpty();
+        for(int i = 0; i < producers * count; i++) {
+            int times = 0;
+            for(int c = 0; c < consumers; c++) {
+                times += seen[c][i];
+            }
+            assertThat(times).as("element " + i).isEqualTo(1);
+        }
+        assertThat(buffer.poll()).isNull();
+    }
+
+}
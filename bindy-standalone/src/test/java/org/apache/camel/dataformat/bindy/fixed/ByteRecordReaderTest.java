@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+import org.apache.camel.dataformat.bindy.annotation.FixedLengthRecord;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Splits raw bytes into records with buffers of a few bytes, and compares the records and the bound models with the
+ * ones of the char path, which decodes the input first.
+ */
+public class ByteRecordReaderTest {
+
+    private static final Charset[] CHARSETS = { StandardCharsets.US_ASCII, StandardCharsets.ISO_8859_1, Charset.forName("windows-1252") };
+
+    @Test
+    public void shouldSplitRecordsOnBytes() throws Exception {
+        final byte[] input = "ab\ncd\r\nef\rgh".getBytes(StandardCharsets.ISO_8859_1);
+        for(int bufferSize = 1; bufferSize <= 4; bufferSize++) {
+            assertThat(records(input, StandardCharsets.ISO_8859_1, "", bufferSize)).containsExactly("ab", "cd", "ef", "gh");
+            assertThat(records(new byte[] { 'a', '\r', '\n', '\r', '\n', 'b', '\n' }, StandardCharsets.ISO_8859_1, "", bufferSize))
+                    .containsExactly("a", "", "b");
+            assertThat(records("a<>b<><>c<>".getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.ISO_8859_1, "<>", bufferSize))
+                    .containsExactly("a", "b", "", "c");
+        }
+    }
+
+    @Test
+    public void shouldDecodeTheTerminatorsOfTheCharset() throws Exception {
+        // 0x85 is NEL in ISO-8859-1, an ellipsis in windows-1252
+        final byte[] input = { 'a', (byte)0x85, 'b', (byte)0xE9 };
+        assertThat(records(input, StandardCharsets.ISO_8859_1, "", 2)).containsExactly("a", "bé");
+        assertThat(records(input, Charset.forName("windows-1252"), "", 2)).containsExactly("a…bé");
+        // a non-ASCII literal end of line
+        assertThat(records(new byte[] { 'a', (byte)0xA7, 'b', (byte)0xA7 }, StandardCharsets.ISO_8859_1, "§", 1)).containsExactly("a", "b");
+    }
+
+    @Test
+    public void shouldReadLikeTheCharPath() throws Exception {
+        final Random random = new Random(42);
+        final byte[] parts = { 'a', 'b', ' ', '\n', '\r', '|', '<', '>', (byte)0x85, (byte)0xE9, (byte)0x80, (byte)0xFF };
+        for(final Charset charset : CHARSETS) {
+            for(final String eol : new String[] { "", "|", "<>", "\r\n" }) {
+                for(int i = 0; i < 1000; i++) {
+                    final byte[] input = new byte[random.nextInt(30)];
+                    for(int j = 0; j < input.length; j++) {
+                        input[j] = parts[random.nextInt(parts.length)];
+                    }
+                    final int bufferSize = 1 + random.nextInt(4);
+
+                    final List<String> expected = new ArrayList<>();
+                    try(RecordReader reader = new CharRecordReader(new InputStreamReader(new ByteArrayInputStream(input), charset), eol, bufferSize)) {
+                        for(CharSequence record; (record = reader.readRecord()) != null;) {
+                            expected.add(record.toString());
+                        }
+                    }
+                    assertThat(records(input, charset, eol, bufferSize)).as(charset + " " + eol + " " + new String(input, charset))
+                            .isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldBindLikeTheCharPath() throws Exception {
+        final Random random = new Random(42);
+        for(final Charset charset : CHARSETS) {
+            final CharsetEncoder encoder = charset.newEncoder();
+            for(int i = 0; i < 200; i++) {
+                final StringBuilder content = new StringBuilder();
+                for(int line = random.nextInt(20); line >= 0; line--) {
+                    for(int j = 0; j < 6; j++) {
+                        char c;
+                        do {
+                            c = (char)(' ' + random.nextInt(0x2100));
+                        }
+                        while( !encoder.canEncode(c) || c == '\u0085' || c == '\u2028' || c == '\u2029');
+                        content.append(c);
+                    }
+                    content.append(random.nextBoolean() ? "\n" : "\r\n");
+                }
+
+                // UTF-8 is not a single-byte charset, it is decoded before being split
+                final String expected = unmarshal(content.toString(), StandardCharsets.UTF_8);
+                assertThat(expected.startsWith("ERR")).as(expected).isFalse();
+                assertThat(unmarshal(content.toString(), charset)).as(charset + " " + content).isEqualTo(expected);
+            }
+        }
+    }
+
+    private static List<String> records(final byte[] input, final Charset charset, final String eol, final int bufferSize) throws IOException {
+        final List<String> records = new ArrayList<>();
+        try(RecordReader reader = new StreamRecordReader(new ByteArrayInputStream(input), eol, SingleByteDecoder.of(charset), bufferSize)) {
+            for(CharSequence record; (record = reader.readRecord()) != null;) {
+                assertThat(record).isInstanceOf(ByteRecord.class);
+                records.add(record.toString());
+            }
+        }
+        return records;
+    }
+
+    private static String unmarshal(final String content, final Charset charset) {
+        final BindyFixedLengthDataFormat<Text, Object, Object> format = new BindyFixedLengthDataFormat<>(Text.class, null, null);
+        format.setCharset(charset);
+        try {
+            return format.unmarshal(new ByteArrayInputStream(content.getBytes(charset))).getEntries().toString();
+        }
+        catch(final Exception e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    @FixedLengthRecord(length = 6)
+    static class Text {
+
+        @DataField(pos = 1, length = 2)
+        String first;
+        @DataField(pos = 3, length = 4, trim = true)
+        String second;
+
+        @Override
+        public String toString() {
+            return first + ":" + second;
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the bounds of a record in the middle of a buffer, and of its slices.
+ */
+public class ByteRecordTest {
+
+    private final ByteRecord record = new ByteRecord(ByteBuffer.wrap("xxabécdxx".getBytes(StandardCharsets.ISO_8859_1)), 2, 5,
+            SingleByteDecoder.of(StandardCharsets.ISO_8859_1));
+
+    @Test
+    public void shouldReadTheCharsOfItsRange() {
+        assertThat(record.length()).isEqualTo(5);
+        assertThat(record.toString()).isEqualTo("abécd");
+        assertThat(record.charAt(0)).isEqualTo('a');
+        assertThat(record.charAt(2)).isEqualTo('é');
+        assertThat(record.charAt(4)).isEqualTo('d');
+
+        assertThatThrownBy(() -> record.charAt(-1)).isInstanceOf(IndexOutOfBoundsException.class).hasMessage("index -1, length 5");
+        assertThatThrownBy(() -> record.charAt(5)).isInstanceOf(IndexOutOfBoundsException.class).hasMessage("index 5, length 5");
+    }
+
+    @Test
+    public void shouldSliceWithinItsRange() {
+        assertThat(record.subSequence(0, 5)).isSameAs(record);
+        assertThat(record.subSequence(1, 4).toString()).isEqualTo("béc");
+        assertThat(record.subSequence(5, 5).toString()).isEqualTo("");
+
+        final CharSequence slice = record.subSequence(1, 4);
+        assertThat(slice.subSequence(1, 3).toString()).isEqualTo("éc");
+        assertThat(slice.charAt(2)).isEqualTo('c');
+        assertThatThrownBy(() -> slice.charAt(3)).isInstanceOf(IndexOutOfBoundsException.class).hasMessage("index 3, length 3");
+        assertThatThrownBy(() -> slice.subSequence(0, 4)).isInstanceOf(IndexOutOfBoundsException.class)
+                .hasMessage("begin 0, end 4, length 3");
+
+        assertThatThrownBy(() -> record.subSequence(-1, 2)).isInstanceOf(IndexOutOfBoundsException.class)
+                .hasMessage("begin -1, end 2, length 5");
+        assertThatThrownBy(() -> record.subSequence(3, 2)).isInstanceOf(IndexOutOfBoundsException.class)
+                .hasMessage("begin 3, end 2, length 5");
+        assertThatThrownBy(() -> record.subSequence(0, 6)).isInstanceOf(IndexOutOfBoundsException.class)
+                .hasMessage("begin 0, end 6, length 5");
+    }
+
+}
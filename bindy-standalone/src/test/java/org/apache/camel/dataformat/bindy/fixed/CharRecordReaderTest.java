@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Splits inputs with buffers of a few chars, so that terminators and records straddle the refills, and compares the
+ * records with the lines and tokens of the {@link Scanner} the reader replaces.
+ */
+public class CharRecordReaderTest {
+
+    @Test
+    public void shouldSplitLinesOnAllDefaultTerminators() throws Exception {
+        for(int bufferSize = 1; bufferSize <= 4; bufferSize++) {
+            assertThat(lines("a\nb\rc\r\nd\u2028e\u2029f\u0085g", bufferSize)).containsExactly("a", "b", "c", "d", "e", "f", "g");
+        }
+    }
+
+    @Test
+    public void shouldSkipTheLineFeedOfACarriageReturnAfterARefill() throws Exception {
+        // with a buffer of 3 the \r is the last char of the first fill, the \n the first one of the next
+        assertThat(lines("ab\r\ncd", 3)).containsExactly("ab", "cd");
+        assertThat(lines("ab\r\r\ncd", 3)).containsExactly("ab", "", "cd");
+        assertThat(lines("ab\r\n\ncd", 3)).containsExactly("ab", "", "cd");
+        // the \n skipped after a \r does not start an empty record at the end of the input
+        assertThat(lines("ab\r\n", 3)).containsExactly("ab");
+    }
+
+    @Test
+    public void shouldNotEmitATrailingRecordForATerminatorAtTheEnd() throws Exception {
+        for(int bufferSize = 1; bufferSize <= 4; bufferSize++) {
+            assertThat(lines("ab\n", bufferSize)).containsExactly("ab");
+            assertThat(lines("ab\r", bufferSize)).containsExactly("ab");
+            assertThat(lines("ab", bufferSize)).containsExactly("ab");
+            assertThat(lines("", bufferSize)).isEmpty();
+            assertThat(tokens("ab|", "|", bufferSize)).containsExactly("ab");
+            assertThat(tokens("ab<>", "<>", bufferSize)).containsExactly("ab");
+            assertThat(tokens("", "<>", bufferSize)).isEmpty();
+        }
+    }
+
+    @Test
+    public void shouldEmitEmptyRecordsBetweenConsecutiveTerminators() throws Exception {
+        for(int bufferSize = 1; bufferSize <= 4; bufferSize++) {
+            assertThat(lines("a\n\n\nb", bufferSize)).containsExactly("a", "", "", "b");
+            assertThat(lines("\n\na", bufferSize)).containsExactly("", "", "a");
+            assertThat(tokens("a<><><>b", "<>", bufferSize)).containsExactly("a", "", "", "b");
+            // one terminator is skipped before each record, including the first one
+            assertThat(tokens("<><>a", "<>", bufferSize)).containsExactly("", "a");
+        }
+    }
+
+    @Test
+    public void shouldMatchALiteralEndOfLineSplitAcrossARefill() throws Exception {
+        assertThat(tokens("abc<>de", "<>", 4)).containsExactly("abc", "de");
+        assertThat(tokens("ab<<>c", "<>", 3)).containsExactly("ab<", "c");
+        assertThat(tokens("a<=>b<=c<=>", "<=>", 3)).containsExactly("a", "b<=c");
+        // the terminator is longer than the requested buffer
+        assertThat(tokens("a<=>b", "<=>", 1)).containsExactly("a", "b");
+    }
+
+    @Test
+    public void shouldGrowTheBufferForARecordLongerThanTheBuffer() throws Exception {
+        final StringBuilder longRecord = new StringBuilder();
+        for(int i = 0; i < 1000; i++) {
+            longRecord.append((char)('a' + i % 26));
+        }
+        for(int bufferSize = 1; bufferSize <= 4; bufferSize++) {
+            assertThat(lines("x\n" + longRecord + "\r\ny", bufferSize)).containsExactly("x", longRecord.toString(), "y");
+            assertThat(tokens("x<>" + longRecord + "<>y", "<>", bufferSize)).containsExactly("x", longRecord.toString(), "y");
+        }
+    }
+
+    @Test
+    public void shouldReadLinesLikeTheScanner() throws Exception {
+        final Random random = new Random(42);
+        final String[] parts = { "a", "bc", " ", "\t", "\n", "\r", "\r\n", "\u2028", "\u2029", "\u0085" };
+        for(int i = 0; i < 2000; i++) {
+            final String input = randomInput(random, parts);
+            final int bufferSize = 1 + random.nextInt(4);
+
+            assertThat(lines(input, bufferSize)).as(escape(input)).isEqualTo(scannerLines(input));
+            assertThat(nonEmptyLines(new CharRecordReader(new TrickleReader(input, random), "", bufferSize)))
+                    .as(escape(input)).isEqualTo(scannerNonEmptyLines(input, null));
+        }
+    }
+
+    @Test
+    public void shouldReadTokensLikeTheScanner() throws Exception {
+        final Random random = new Random(42);
+        for(final String eol : new String[] { "|", "<>", "\r\n", "aba", "<=>" }) {
+            final String[] parts = { "a", "b", " ", "<", "=", ">", "|", "\r", "\n", eol, eol + eol };
+            for(int i = 0; i < 2000; i++) {
+                final String input = randomInput(random, parts);
+                final int bufferSize = 1 + random.nextInt(4);
+
+                assertThat(tokens(input, eol, bufferSize)).as(escape(input)).isEqualTo(scannerTokens(input, eol));
+                assertThat(nonEmptyLines(new CharRecordReader(new TrickleReader(input, random), eol, bufferSize)))
+                        .as(escape(input)).isEqualTo(scannerNonEmptyLines(input, eol));
+            }
+        }
+    }
+
+    private static String randomInput(final Random random, final String[] parts) {
+        final StringBuilder input = new StringBuilder();
+        for(int length = random.nextInt(20); length > 0; length--) {
+            input.append(parts[random.nextInt(parts.length)]);
+        }
+        return input.toString();
+    }
+
+    private static List<String> lines(final String input, final int bufferSize) throws IOException {
+        return records(new CharRecordReader(new StringReader(input), "", bufferSize));
+    }
+
+    private static List<String> tokens(final String input, final String eol, final int bufferSize) throws IOException {
+        return records(new CharRecordReader(new StringReader(input), eol, bufferSize));
+    }
+
+    private static List<String> records(final RecordReader reader) throws IOException {
+        final List<String> records = new ArrayList<>();
+        try(RecordReader in = reader) {
+            for(CharSequence record; (record = in.readRecord()) != null;) {
+                records.add(record.toString());
+            }
+        }
+        return records;
+    }
+
+    /**
+     * @return the non-empty records and the number of records read up to each of them, as by {@link RecordSequence}
+     */
+    private static List<String> nonEmptyLines(final RecordReader reader) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        int count = 0;
+        try(RecordReader in = reader) {
+            for(CharSequence record; (record = in.readRecord()) != null;) {
+                ++count;
+                if( !RecordSequence.isBlank(record)) {
+                    lines.add(count + ":" + record);
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static List<String> scannerLines(final String input) {
+        final List<String> lines = new ArrayList<>();
+        try(Scanner scanner = new Scanner(input)) {
+            while(scanner.hasNextLine()) {
+                lines.add(scanner.nextLine());
+            }
+        }
+        return lines;
+    }
+
+    private static List<String> scannerTokens(final String input, final String eol) {
+        final List<String> tokens = new ArrayList<>();
+        try(Scanner scanner = new Scanner(input)) {
+            scanner.useDelimiter(Pattern.quote(eol));
+            while(scanner.hasNext()) {
+                tokens.add(scanner.next());
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * The loop the data format ran on a {@link Scanner} before the record readers.
+     */
+    private static List<String> scannerNonEmptyLines(final String input, final String eol) {
+        final List<String> lines = new ArrayList<>();
+        try(Scanner scanner = new Scanner(input)) {
+            final boolean isEolSet = eol != null;
+            if(isEolSet) {
+                scanner.useDelimiter(Pattern.quote(eol));
+            }
+            int count = 0;
+            for(;;) {
+                String line = "";
+                while(org.apache.camel.util.ObjectHelper.isEmpty(line) && ((isEolSet && scanner.hasNext()) || ( !isEolSet && scanner.hasNextLine()))) {
+                    count++;
+                    line = isEolSet ? scanner.next() : scanner.nextLine();
+                }
+                if(org.apache.camel.util.ObjectHelper.isEmpty(line)) {
+                    return lines;
+                }
+                lines.add(count + ":" + line);
+            }
+        }
+    }
+
+    private static String escape(final String input) {
+        final StringBuilder escaped = new StringBuilder();
+        for(final char c : input.toCharArray()) {
+            escaped.append(c >= ' ' && c < 0x7f ? String.valueOf(c) : String.format("\\u%04x", (int)c));
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Returns fewer chars than requested, down to one per read.
+     */
+    private static final class TrickleReader extends Reader {
+
+        private final String input;
+        private final Random random;
+        private int pos;
+
+        TrickleReader(final String input, final Random random) {
+            this.input = input;
+            this.random = random;
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) {
+            if(pos >= input.length()) {
+                return -1;
+            }
+            final int n = Math.min(1 + random.nextInt(len), input.length() - pos);
+            input.getChars(pos, pos + n, cbuf, off);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
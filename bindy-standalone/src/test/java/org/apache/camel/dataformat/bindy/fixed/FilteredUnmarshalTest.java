@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import static org.apache.camel.dataformat.bindy.fixed.UnmarshalFixture.describe;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.dataformat.bindy.BindyStream;
+import org.apache.camel.dataformat.bindy.Format;
+import org.apache.camel.dataformat.bindy.RecordFilter;
+import org.apache.camel.dataformat.bindy.annotation.BindyConverter;
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+import org.apache.camel.dataformat.bindy.annotation.FixedLengthRecord;
+import org.apache.camel.dataformat.bindy.fixed.UnmarshalFixture.Footer;
+import org.apache.camel.dataformat.bindy.fixed.UnmarshalFixture.Header;
+import org.apache.camel.dataformat.bindy.fixed.UnmarshalFixture.RecordingHandler;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Filters the entries in every unmarshal mode, and checks that the rejected ones are neither created nor bound while
+ * the header and the footer are never filtered.
+ */
+public class FilteredUnmarshalTest {
+
+    /** rejects the header and the footer too, if they were filtered */
+    private static final RecordFilter KEEP = RecordFilter.field("text").equalTo("keep");
+
+    @Test
+    public void shouldOnlyBindTheAcceptedEntries() throws Exception {
+        final StringBuilder content = new StringBuilder("HEAD1\n");
+        for(int i = 0; i < 300; i++) {
+            content.append(String.format("%04d", i)).append(i % 3 == 0 ? "keep" : "drop").append('\n');
+        }
+        content.append("FOOT2\n");
+
+        final String expected = describe(() -> format(KEEP).unmarshal(stream(content.toString())));
+        assertThat(expected).startsWith("header:HEAD1 [0:keep, 3:keep, 6:keep, ").endsWith(", 297:keep] footer:FOOT2");
+
+        for(final Map.Entry<String, Unmarshal> mode : modes(KEEP).entrySet()) {
+            Counted.created.set(0);
+            CountingFormat.parsed.set(0);
+            assertThat(mode.getValue().call(content.toString())).as(mode.getKey()).isEqualTo(expected);
+            // only the 100 accepted entries are created and bound
+            assertThat(Counted.created.get()).as(mode.getKey()).isEqualTo(100);
+            assertThat(CountingFormat.parsed.get()).as(mode.getKey()).isEqualTo(100);
+        }
+    }
+
+    @Test
+    public void shouldAcceptFilteringOutAllEntries() throws Exception {
+        final String content = "HEAD1\n0000drop\n0001drop\nFOOT2\n";
+        for(final Map.Entry<String, Unmarshal> mode : modes(KEEP).entrySet()) {
+            assertThat(mode.getValue().call(content)).as(mode.getKey()).isEqualTo("header:HEAD1 [] footer:FOOT2");
+            assertThat(mode.getValue().call("HEAD1\nFOOT2\n")).as(mode.getKey()).isEqualTo("header:HEAD1 [] footer:FOOT2");
+        }
+    }
+
+    @Test
+    public void shouldStillRejectAnInputWithoutEntriesWithoutFilter() throws Exception {
+        for(final Map.Entry<String, Unmarshal> mode : modes(null).entrySet()) {
+            // the iterator is documented to be empty instead
+            final String expected = mode.getKey().equals("iterator") ? "header:HEAD1 [] footer:FOOT2" : "ERR No records have been defined in the file";
+            assertThat(mode.getValue().call("HEAD1\nFOOT2\n")).as(mode.getKey()).endsWith(expected);
+        }
+    }
+
+    /**
+     * @return the unmarshal modes, by name, each describing its result like {@link UnmarshalFixture#describe}
+     */
+    private static Map<String, Unmarshal> modes(final RecordFilter filter) {
+        final Map<String, Unmarshal> modes = new LinkedHashMap<>();
+        modes.put("stream", content -> describe(() -> format(filter).unmarshal(stream(content))));
+        modes.put("file", content -> onFile(content, file -> describe(() -> format(filter).unmarshal(file))));
+        modes.put("parallel", content -> onFile(content, file -> describe(() -> format(filter).unmarshalParallel(file, ForkJoinPool.commonPool(), 16))));
+        modes.put("pipelined", content -> describe(() -> format(filter).unmarshalPipelined(stream(content), 4)));
+        modes.put("iterator", content -> {
+            try(BindyStream<Object, Object, Object> records = format(filter).unmarshalStream(stream(content))) {
+                final List<Object> entries = new ArrayList<>();
+                records.forEachRemaining(entries::add);
+                return records.getHeader() + " " + entries + " " + records.getFooter();
+            }
+            catch(final Exception e) {
+                return "ERR " + e.getMessage();
+            }
+        });
+        modes.put("handler", content -> calls(content, handler -> format(filter).unmarshal(stream(content), handler)));
+        modes.put("pipelined handler", content -> calls(content, handler -> format(filter).unmarshalPipelined(stream(content), 4, handler)));
+        return modes;
+    }
+
+    /**
+     * @return the calls of the handler in the form of {@link UnmarshalFixture#describe}
+     */
+    private static String calls(final String content, final HandlerCall call) {
+        final List<String> calls = new ArrayList<>();
+        String error = "";
+        try {
+            call.unmarshal(new RecordingHandler(calls, null));
+        }
+        catch(final Exception e) {
+            error = " ERR " + e.getMessage();
+        }
+        final List<String> entries = new ArrayList<>();
+        for(final String entry : calls.subList(1, calls.size() - (error.isEmpty() ? 2 : 1))) {
+            entries.add(entry.substring(entry.indexOf(' ') + 1));
+        }
+        return calls.get(0) + " " + entries + " " + calls.get(calls.size() - (error.isEmpty() ? 2 : 1)) + error;
+    }
+
+    private static String onFile(final String content, final FileCall call) throws Exception {
+        final Path file = Files.createTempFile("bindy-filter", ".txt");
+        try {
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+            return call.unmarshal(file);
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    private static InputStream stream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BindyFixedLengthDataFormat<Object, Object, Object> format(final RecordFilter filter) {
+        final BindyFixedLengthDataFormat<Object, Object, Object> format = new BindyFixedLengthDataFormat<>((Class<Object>)(Class<?>)Counted.class,
+                (Class<Object>)(Class<?>)Header.class, (Class<Object>)(Class<?>)Footer.class);
+        format.setFilter(filter);
+        return format;
+    }
+
+    interface Unmarshal {
+
+        String call(String content) throws Exception;
+    }
+
+    interface HandlerCall {
+
+        void unmarshal(RecordingHandler handler) throws Exception;
+    }
+
+    interface FileCall {
+
+        String unmarshal(Path file) throws Exception;
+    }
+
+    /**
+     * Counts the values parsed.
+     */
+    public static class CountingFormat implements Format<String> {
+
+        static final AtomicInteger parsed = new AtomicInteger();
+
+        @Override
+        public String format(final String object) {
+            return object;
+        }
+
+        @Override
+        public String parse(final String string) {
+            parsed.incrementAndGet();
+            return string;
+        }
+    }
+
+    @FixedLengthRecord(length = 8, header = Header.class, footer = Footer.class)
+    static class Counted {
+
+        static final AtomicInteger created = new AtomicInteger();
+
+        @DataField(pos = 1, length = 4)
+        int number;
+        @DataField(pos = 5, length = 4)
+        @BindyConverter(CountingFormat.class)
+        String text;
+
+        Counted() {
+            created.incrementAndGet();
+        }
+
+        @Override
+        public String toString() {
+            return number + ":" + text;
+        }
+    }
+
+}
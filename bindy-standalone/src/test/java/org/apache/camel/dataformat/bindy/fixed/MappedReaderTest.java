@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Decodes multi-byte charsets in windows smaller than a character, and compares the result with the decoding of the
+ * whole content.
+ */
+public class MappedReaderTest {
+
+    private static final Charset[] CHARSETS = { StandardCharsets.UTF_8, StandardCharsets.UTF_16, StandardCharsets.UTF_16LE, Charset.forName("EUC-JP") };
+
+    @Test
+    public void shouldDecodeCharsSpanningTheWindows() throws Exception {
+        // 1 to 4 bytes per char in UTF-8, a surrogate pair in UTF-16
+        final String text = "aé€😀b\n日本";
+        for(final Charset charset : new Charset[] { StandardCharsets.UTF_8, StandardCharsets.UTF_16 }) {
+            final byte[] bytes = text.getBytes(charset);
+            for(int windowSize = 0; windowSize <= 8; windowSize++) {
+                assertThat(read(bytes, 0, bytes.length, charset, windowSize, 3)).as(charset + " window " + windowSize).isEqualTo(text);
+            }
+        }
+    }
+
+    @Test
+    public void shouldDecodeLikeTheCharset() throws Exception {
+        final Random random = new Random(42);
+        final String chars = "ab \n\ré€日本😀";
+        for(final Charset charset : CHARSETS) {
+            for(int i = 0; i < 200; i++) {
+                final StringBuilder text = new StringBuilder();
+                for(int length = random.nextInt(40); length > 0; length--) {
+                    final int c = random.nextInt(chars.length() - 1);
+                    // keep the surrogate pair together
+                    text.append(c == chars.length() - 2 ? chars.substring(c) : chars.substring(c, c + 1));
+                }
+                final String expected = text.toString();
+                if( !charset.newEncoder().canEncode(expected)) {
+                    continue;
+                }
+                final byte[] bytes = expected.getBytes(charset);
+
+                assertThat(read(bytes, 0, bytes.length, charset, 1 + random.nextInt(8), 1 + random.nextInt(8)))
+                        .as(charset + " " + expected).isEqualTo(new String(bytes, charset));
+            }
+        }
+    }
+
+    @Test
+    public void shouldOnlyDecodeItsRegion() throws Exception {
+        final byte[] bytes = "xxabcdefxx".getBytes(StandardCharsets.UTF_8);
+        for(int windowSize = 1; windowSize <= 8; windowSize++) {
+            assertThat(read(bytes, 2, 8, StandardCharsets.UTF_8, windowSize, 4)).isEqualTo("abcdef");
+            assertThat(read(bytes, 5, 5, StandardCharsets.UTF_8, windowSize, 4)).isEqualTo("");
+        }
+    }
+
+    private static String read(final byte[] bytes, final int start, final int end, final Charset charset, final int windowSize,
+            final int chunk) throws IOException {
+
+        final Path file = Files.createTempFile("bindy-mapped", ".txt");
+        try {
+            Files.write(file, bytes);
+            final StringBuilder text = new StringBuilder();
+            try(Reader reader = new MappedReader(FileChannel.open(file, StandardOpenOption.READ), start, end, charset, windowSize)) {
+                final char[] buf = new char[chunk];
+                for(int n; (n = reader.read(buf, 0, buf.length)) >= 0;) {
+                    text.append(buf, 0, n);
+                }
+            }
+            return text.toString();
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+}
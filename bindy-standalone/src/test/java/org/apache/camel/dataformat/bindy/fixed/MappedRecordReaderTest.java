@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+import org.apache.camel.dataformat.bindy.annotation.FixedLengthRecord;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Maps files in windows of a few bytes, so that records span the window boundaries or do not fit in one window,
+ * and compares the records with the ones read from a stream.
+ */
+public class MappedRecordReaderTest {
+
+    @Test
+    public void shouldReadRecordsSpanningTheWindows() throws Exception {
+        final byte[] content = "abc\ndefgh\r\nij\rk".getBytes(StandardCharsets.ISO_8859_1);
+        for(int windowSize = 1; windowSize <= 8; windowSize++) {
+            assertThat(mapped(content, 0, content.length, "", windowSize)).as("window " + windowSize)
+                    .containsExactly("abc", "defgh", "ij", "k");
+            assertThat(mapped("a<>bcdef<><>g<>".getBytes(StandardCharsets.ISO_8859_1), 0, 15, "<>", windowSize)).as("window " + windowSize)
+                    .containsExactly("a", "bcdef", "", "g");
+        }
+    }
+
+    @Test
+    public void shouldGrowTheWindowForARecordLongerThanTheWindow() throws Exception {
+        final StringBuilder longRecord = new StringBuilder();
+        for(int i = 0; i < 5000; i++) {
+            longRecord.append((char)('a' + i % 26));
+        }
+        final byte[] content = ("x\n" + longRecord + "\ny\n" + longRecord).getBytes(StandardCharsets.ISO_8859_1);
+        for(final int windowSize : new int[] { 1, 2, 3, 16, 1000 }) {
+            assertThat(mapped(content, 0, content.length, "", windowSize)).as("window " + windowSize)
+                    .containsExactly("x", longRecord.toString(), "y", longRecord.toString());
+        }
+    }
+
+    @Test
+    public void shouldReadLikeTheStream() throws Exception {
+        final Random random = new Random(42);
+        final byte[] parts = { 'a', 'b', ' ', '\n', '\r', '|', (byte)0xE9 };
+        for(final String eol : new String[] { "", "|", "\r\n" }) {
+            for(int i = 0; i < 500; i++) {
+                final byte[] content = new byte[random.nextInt(40)];
+                for(int j = 0; j < content.length; j++) {
+                    content[j] = parts[random.nextInt(parts.length)];
+                }
+                // a region of the file, as read by a chunk of the parallel unmarshal
+                final int start = content.length == 0 ? 0 : random.nextInt(content.length);
+                final int end = start + random.nextInt(content.length - start + 1);
+                final int windowSize = 1 + random.nextInt(8);
+
+                final List<String> expected = new ArrayList<>();
+                try(RecordReader reader = new StreamRecordReader(new ByteArrayInputStream(content, start, end - start), eol,
+                        SingleByteDecoder.of(StandardCharsets.ISO_8859_1), 4)) {
+                    for(CharSequence record; (record = reader.readRecord()) != null;) {
+                        expected.add(record.toString());
+                    }
+                }
+                assertThat(mapped(content, start, end, eol, windowSize)).as(eol + " " + new String(content, StandardCharsets.ISO_8859_1))
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void shouldUnmarshalWithSmallWindows() throws Exception {
+        final Random random = new Random(42);
+        final StringBuilder content = new StringBuilder();
+        for(int i = 0; i < 200; i++) {
+            content.append(String.format("%04d", i)).append(random.nextBoolean() ? "éü" : "ab").append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+
+        for(final Charset charset : new Charset[] { StandardCharsets.ISO_8859_1, StandardCharsets.UTF_8, StandardCharsets.UTF_16 }) {
+            final Path file = Files.createTempFile("bindy-mapped", ".txt");
+            try {
+                Files.write(file, content.toString().getBytes(charset));
+                final BindyFixedLengthDataFormat<Line, Object, Object> format = new BindyFixedLengthDataFormat<>(Line.class, null, null);
+                format.setCharset(charset);
+
+                final String expected = format.unmarshal(new ByteArrayInputStream(content.toString().getBytes(charset))).getEntries().toString();
+                for(final int windowSize : new int[] { 1, 2, 3, 7, 64 }) {
+                    assertThat(format.unmarshal(file, windowSize).getEntries().toString()).as(charset + " window " + windowSize)
+                            .isEqualTo(expected);
+                }
+            }
+            finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static List<String> mapped(final byte[] content, final int start, final int end, final String eol, final int windowSize)
+            throws IOException {
+
+        final Path file = Files.createTempFile("bindy-mapped", ".txt");
+        try {
+            Files.write(file, content);
+            final List<String> records = new ArrayList<>();
+            try(RecordReader reader = new MappedRecordReader(FileChannel.open(file, StandardOpenOption.READ), start, end, eol,
+                    SingleByteDecoder.of(StandardCharsets.ISO_8859_1), windowSize)) {
+                for(CharSequence record; (record = reader.readRecord()) != null;) {
+                    records.add(record.toString());
+                }
+            }
+            return records;
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @FixedLengthRecord(length = 6)
+    static class Line {
+
+        @DataField(pos = 1, length = 4)
+        int number;
+        @DataField(pos = 5, length = 2, trim = true)
+        String text;
+
+        @Override
+        public String toString() {
+            return number + ":" + text;
+        }
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import static org.apache.camel.dataformat.bindy.fixed.UnmarshalFixture.describe;
+import static org.apache.camel.dataformat.bindy.fixed.UnmarshalFixture.format;
+import static org.apache.camel.dataformat.bindy.fixed.UnmarshalFixture.sequential;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+import org.apache.camel.dataformat.bindy.annotation.FixedLengthRecord;
+import org.apache.camel.dataformat.bindy.fixed.UnmarshalFixture.Framed;
+import org.apache.camel.dataformat.bindy.fixed.UnmarshalFixture.Plain;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unmarshals random files in chunks of a few bytes, and compares the results with the ones of the sequential parse,
+ * including the errors.
+ */
+public class ParallelUnmarshallerTest {
+
+    private static final String[] TERMINATORS = { "\n", "\r", "\r\n" };
+
+    @Test
+    public void shouldUnmarshalLikeTheSequentialParse() throws Exception {
+        final Random random = new Random(42);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for(int i = 0; i < 300; i++) {
+                final boolean framed = random.nextBoolean();
+                final String content = randomFile(random, framed, random.nextInt(4) == 0);
+                final Class<?> type = framed ? Framed.class : Plain.class;
+
+                assertThat(parallel(type, StandardCharsets.UTF_8, content, pool, 1 + random.nextInt(64)))
+                        .as(content).isEqualTo(sequential(type, StandardCharsets.UTF_8, content));
+                assertThat(parallel(type, StandardCharsets.ISO_8859_1, content, pool, 1 + random.nextInt(64)))
+                        .as(content).isEqualTo(sequential(type, StandardCharsets.ISO_8859_1, content));
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldReportTheFirstInvalidRecord() throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final StringBuilder content = new StringBuilder();
+            for(int i = 0; i < 200; i++) {
+                content.append(i == 20 || i == 150 ? "00x1abcd" : String.format("%04dabcd", i)).append('\n');
+            }
+            final String result = parallel(Plain.class, StandardCharsets.UTF_8, content.toString(), pool, 16);
+
+            assertThat(result).isEqualTo(sequential(Plain.class, StandardCharsets.UTF_8, content.toString()));
+            assertThat(result).startsWith("ERR Invalid character 'x' at index 2 of number \"00x1\"");
+            assertThat(result).contains("line: 21");
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldFallBackToTheSequentialParse() throws Exception {
+        final Random random = new Random(42);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for(int i = 0; i < 50; i++) {
+                final String content = randomFile(random, false, random.nextInt(4) == 0);
+
+                // a custom end of line
+                final String custom = content.replace("\r\n", "|").replace('\r', '|').replace('\n', '|');
+                assertThat(ParallelUnmarshaller.supports(StandardCharsets.UTF_8, "|")).isFalse();
+                assertThat(parallel(CustomEol.class, StandardCharsets.UTF_8, custom, pool, 8))
+                        .as(custom).isEqualTo(sequential(CustomEol.class, StandardCharsets.UTF_8, custom));
+
+                // a charset in which the bytes of a line terminator can be part of another char
+                assertThat(ParallelUnmarshaller.supports(StandardCharsets.UTF_16, "")).isFalse();
+                assertThat(parallel(Plain.class, StandardCharsets.UTF_16, content, pool, 8))
+                        .as(content).isEqualTo(sequential(Plain.class, StandardCharsets.UTF_16, content));
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @return a file of records separated by random line terminators and blank lines, with a header and a footer if
+     *         framed, and records which do not bind if invalid
+     */
+    private static String randomFile(final Random random, final boolean framed, final boolean invalid) {
+        final StringBuilder content = new StringBuilder();
+        if(framed) {
+            content.append("HEAD").append(random.nextInt(10)).append(terminator(random));
+        }
+        for(int i = random.nextInt(60); i >= 0; i--) {
+            switch(random.nextInt(invalid ? 12 : 10)) {
+            case 0:
+                content.append(random.nextBoolean() ? "" : "   ");
+                break;
+            case 10:
+                content.append(String.format("%03dxabcd", i));
+                break;
+            case 11:
+                content.append(String.format("%04dab", i));
+                break;
+            default:
+                content.append(String.format("%04d%04d", i, random.nextInt(10000)));
+                break;
+            }
+            content.append(terminator(random));
+        }
+        if(framed) {
+            content.append("FOOT").append(random.nextInt(10));
+        }
+        else {
+            content.append(String.format("%04dlast", random.nextInt(10000)));
+        }
+        if(random.nextBoolean()) {
+            content.append(terminator(random));
+        }
+        return content.toString();
+    }
+
+    private static String terminator(final Random random) {
+        return TERMINATORS[random.nextInt(TERMINATORS.length)];
+    }
+
+    private static String parallel(final Class<?> type, final Charset charset, final String content, final ForkJoinPool pool,
+            final int minChunkSize) throws Exception {
+
+        final Path file = Files.createTempFile("bindy-parallel", ".txt");
+        try {
+            Files.write(file, content.getBytes(charset));
+            return describe(() -> format(type, charset).unmarshalParallel(file, pool, minChunkSize));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @FixedLengthRecord(length = 8, eol = "|")
+    static class CustomEol {
+
+        @DataField(pos = 1, length = 4)
+        int number;
+        @DataField(pos = 5, length = 4)
+        String text;
+
+        @Override
+        public String toString() {
+            return number + ":" + text;
+        }
+    }
+
+}
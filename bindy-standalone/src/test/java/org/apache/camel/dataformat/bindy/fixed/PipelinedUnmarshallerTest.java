@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import static org.apache.camel.dataformat.bindy.fixed.UnmarshalFixture.format;
+import static org.apache.camel.dataformat.bindy.fixed.UnmarshalFixture.sequentialCalls;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.dataformat.bindy.fixed.UnmarshalFixture.Framed;
+import org.apache.camel.dataformat.bindy.fixed.UnmarshalFixture.Plain;
+import org.apache.camel.dataformat.bindy.fixed.UnmarshalFixture.RecordingHandler;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the pipeline with more records than the capacity of its buffers and workers which finish out of order, and
+ * compares the calls of the handler with the ones of the sequential parse.
+ */
+public class PipelinedUnmarshallerTest {
+
+    private static final int CAPACITY = 8;
+
+    @Test
+    public void shouldCallTheHandlerInFileOrder() throws Exception {
+        final String content = records(1000, -1);
+
+        final List<String> expected = sequentialCalls(Plain.class, StandardCharsets.UTF_8, content, null);
+        for(final int workers : new int[] { 1, 2, 4, 8 }) {
+            assertThat(pipelined(Plain.class, content, workers, null)).isEqualTo(expected);
+        }
+        assertThat(expected).hasSize(1001);
+        assertThat(expected.get(0)).isEqualTo("1 0:abcd");
+        assertThat(expected.get(1000)).isEqualTo("complete");
+    }
+
+    @Test
+    public void shouldThrowTheBindErrorAfterThePreviousRecords() throws Exception {
+        final String content = records(1000, 300);
+
+        final List<String> expected = sequentialCalls(Plain.class, StandardCharsets.UTF_8, content, null);
+        assertThat(pipelined(Plain.class, content, 4, null)).isEqualTo(expected);
+        // the entries of the lines 1 to 300, then the error of the line 301
+        assertThat(expected).hasSize(301);
+        assertThat(expected.get(299)).isEqualTo("300 299:abcd");
+        assertThat(expected.get(300)).startsWith("ERR Invalid character 'x' at index 3 of number \"300x\"");
+        assertThat(expected.get(300)).contains("line: 301");
+    }
+
+    @Test
+    public void shouldStopTheWorkersWhenTheHandlerFails() throws Exception {
+        final String content = records(100000, -1);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // the run must return, not wait for the workers blocked on the results the handler does not consume
+            final Future<List<String>> result = executor.submit(() -> pipelined(Plain.class, content, 4, 10));
+            final List<String> calls = result.get(30, TimeUnit.SECONDS);
+
+            assertThat(calls).isEqualTo(sequentialCalls(Plain.class, StandardCharsets.UTF_8, content, 10));
+            assertThat(calls.get(calls.size() - 1)).isEqualTo("ERR handler failed on 10");
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        assertNoPipelineThreads();
+    }
+
+    @Test
+    public void shouldCloseTheInputWhenTheHandlerFails() throws Exception {
+        final BlockingInputStream input = new BlockingInputStream(records(100, -1).getBytes(StandardCharsets.UTF_8));
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // the reader is blocked on the input which does not end, closing the input stops it
+            final Future<List<String>> result = executor.submit(() -> {
+                final List<String> calls = new ArrayList<>();
+                try {
+                    format(Plain.class, StandardCharsets.UTF_8).unmarshalPipelined(input, 4, CAPACITY, new RecordingHandler(calls, 10));
+                }
+                catch(final Exception e) {
+                    calls.add("ERR " + e.getMessage());
+                }
+                return calls;
+            });
+            final List<String> calls = result.get(30, TimeUnit.SECONDS);
+
+            assertThat(calls).hasSize(10);
+            assertThat(calls.get(9)).isEqualTo("ERR handler failed on 10");
+            assertThat(input.closed.getCount()).isEqualTo(0L);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        assertNoPipelineThreads();
+    }
+
+    @Test
+    public void shouldPassTheHeaderAndTheFooterToTheHandler() throws Exception {
+        final String content = "HEAD1\n" + records(100, -1) + "FOOT2\n";
+
+        final List<String> expected = sequentialCalls(Framed.class, StandardCharsets.UTF_8, content, null);
+        assertThat(pipelined(Framed.class, content, 4, null)).isEqualTo(expected);
+        assertThat(expected).hasSize(103);
+        assertThat(expected.get(0)).isEqualTo("header:HEAD1");
+        assertThat(expected.get(1)).isEqualTo("2 0:abcd");
+        assertThat(expected.get(101)).isEqualTo("footer:FOOT2");
+        assertThat(expected.get(102)).isEqualTo("complete");
+    }
+
+    @Test
+    public void shouldRejectAnInputWithoutEntries() throws Exception {
+        assertThat(sequentialCalls(Plain.class, StandardCharsets.UTF_8, "", null))
+                .containsExactly("ERR No records have been defined in the file");
+        assertThat(pipelined(Plain.class, "", 4, null)).containsExactly("ERR No records have been defined in the file");
+
+        final String content = "HEAD1\n\nFOOT2\n";
+        final List<String> expected = sequentialCalls(Framed.class, StandardCharsets.UTF_8, content, null);
+        assertThat(pipelined(Framed.class, content, 4, null)).isEqualTo(expected);
+        assertThat(expected).containsExactly("header:HEAD1", "footer:FOOT2", "ERR No records have been defined in the file");
+    }
+
+    private static void assertNoPipelineThreads() {
+        for(final Thread thread : Thread.getAllStackTraces().keySet()) {
+            assertThat(thread.isAlive() && thread.getName().startsWith("bindy-")).as(thread.getName()).isFalse();
+        }
+    }
+
+    /**
+     * @return the records, the one at the given index with an invalid number
+     */
+    private static String records(final int count, final int invalid) {
+        final StringBuilder content = new StringBuilder();
+        for(int i = 0; i < count; i++) {
+            content.append(i == invalid ? String.format("%03dxabcd", i) : String.format("%04dabcd", i)).append('\n');
+        }
+        return content.toString();
+    }
+
+    private static List<String> pipelined(final Class<?> type, final String content, final int workers, final Integer failOn) {
+        final List<String> calls = new ArrayList<>();
+        try {
+            format(type, StandardCharsets.UTF_8).unmarshalPipelined(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), workers,
+                    CAPACITY, new RecordingHandler(calls, failOn));
+        }
+        catch(final Exception e) {
+            calls.add("ERR " + e.getMessage());
+        }
+        return calls;
+    }
+
+    /**
+     * Returns the content, then blocks until the stream is closed.
+     */
+    private static final class BlockingInputStream extends InputStream {
+
+        private final byte[] content;
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private int pos;
+
+        BlockingInputStream(final byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if(pos < content.length) {
+                final int n = Math.min(len, content.length - pos);
+                System.arraycopy(content, pos, b, off, n);
+                pos += n;
+                return n;
+            }
+            try {
+                closed.await();
+            }
+            catch(final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Stream closed");
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the decoding tables with the decoders of the charsets, for heap and direct buffers.
+ */
+public class SingleByteDecoderTest {
+
+    @Test
+    public void shouldOnlyDecodeSingleByteCharsets() {
+        assertThat(SingleByteDecoder.of(StandardCharsets.US_ASCII)).isNotNull();
+        assertThat(SingleByteDecoder.of(StandardCharsets.ISO_8859_1)).isNotNull();
+        assertThat(SingleByteDecoder.of(Charset.forName("windows-1252"))).isNotNull();
+        assertThat(SingleByteDecoder.of(StandardCharsets.UTF_8)).isNull();
+        assertThat(SingleByteDecoder.of(StandardCharsets.UTF_16)).isNull();
+    }
+
+    @Test
+    public void shouldDecodeLikeTheCharset() {
+        final byte[] all = new byte[256];
+        for(int i = 0; i < all.length; i++) {
+            all[i] = (byte)i;
+        }
+        for(final String name : new String[] { "US-ASCII", "ISO-8859-1", "ISO-8859-15", "windows-1252", "IBM037" }) {
+            final Charset charset = Charset.forName(name);
+            final SingleByteDecoder decoder = SingleByteDecoder.of(charset);
+            final String expected = new String(all, charset);
+
+            for(int i = 0; i < all.length; i++) {
+                assertThat(decoder.charAt(all[i])).as(name + " " + i).isEqualTo(expected.charAt(i));
+            }
+            final ByteBuffer direct = ByteBuffer.allocateDirect(all.length);
+            direct.put(all).flip();
+            for(final ByteBuffer bytes : new ByteBuffer[] { ByteBuffer.wrap(all), direct }) {
+                assertThat(decoder.decode(bytes, 0, all.length)).as(name).isEqualTo(expected);
+                assertThat(decoder.decode(bytes, 200, 50)).as(name).isEqualTo(expected.substring(200, 250));
+                assertThat(bytes.position()).isEqualTo(0);
+            }
+        }
+    }
+
+    @Test
+    public void shouldDecodeNonAsciiBytes() {
+        final SingleByteDecoder latin1 = SingleByteDecoder.of(StandardCharsets.ISO_8859_1);
+        final SingleByteDecoder windows = SingleByteDecoder.of(Charset.forName("windows-1252"));
+        final byte[] bytes = { 'x', (byte)0xE9, (byte)0x80, (byte)0xFF };
+
+        assertThat(latin1.decode(ByteBuffer.wrap(bytes), 1, 3)).isEqualTo("é\u0080ÿ");
+        assertThat(windows.decode(ByteBuffer.wrap(bytes), 1, 3)).isEqualTo("é€ÿ");
+        // a heap buffer which does not start at the beginning of its array
+        final ByteBuffer slice = ByteBuffer.wrap(bytes, 1, 3).slice();
+        assertThat(latin1.decode(slice, 0, 2)).isEqualTo("é\u0080");
+        assertThat(windows.decode(slice, 1, 2)).isEqualTo("€ÿ");
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.camel.dataformat.bindy.BindyExchange;
+import org.apache.camel.dataformat.bindy.Format;
+import org.apache.camel.dataformat.bindy.RecordHandler;
+import org.apache.camel.dataformat.bindy.annotation.BindyConverter;
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+import org.apache.camel.dataformat.bindy.annotation.FixedLengthRecord;
+
+/**
+ * Models and sequential reference results shared by the tests of the parallel and the pipelined unmarshal.
+ */
+final class UnmarshalFixture {
+
+    private UnmarshalFixture() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static BindyFixedLengthDataFormat<Object, Object, Object> format(final Class<?> type, final Charset charset) {
+        final BindyFixedLengthDataFormat<Object, Object, Object> format = type == Framed.class
+                ? new BindyFixedLengthDataFormat<>((Class<Object>)type, (Class<Object>)(Class<?>)Header.class, (Class<Object>)(Class<?>)Footer.class)
+                : new BindyFixedLengthDataFormat<>((Class<Object>)type, null, null);
+        format.setCharset(charset);
+        return format;
+    }
+
+    /**
+     * @return the result of the sequential unmarshal, see {@link #describe(Unmarshal)}
+     */
+    static String sequential(final Class<?> type, final Charset charset, final String content) {
+        return describe(() -> format(type, charset).unmarshal(new ByteArrayInputStream(content.getBytes(charset))));
+    }
+
+    /**
+     * @return the calls of the sequential push-style unmarshal to a {@link RecordingHandler}
+     */
+    static List<String> sequentialCalls(final Class<?> type, final Charset charset, final String content, final Integer failOn) {
+        final List<String> calls = new ArrayList<>();
+        try {
+            format(type, charset).unmarshal(new ByteArrayInputStream(content.getBytes(charset)), new RecordingHandler(calls, failOn));
+        }
+        catch(final Exception e) {
+            calls.add("ERR " + e.getMessage());
+        }
+        return calls;
+    }
+
+    /**
+     * @return the header, entries and footer of the exchange, or <code>ERR</code> and the message of the error
+     */
+    static String describe(final Unmarshal unmarshal) {
+        try {
+            final BindyExchange<Object, Object, Object> exchange = unmarshal.call();
+            return exchange.getHeader() + " " + exchange.getEntries() + " " + exchange.getFooter();
+        }
+        catch(final Exception e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    interface Unmarshal {
+
+        BindyExchange<Object, Object, Object> call() throws Exception;
+    }
+
+    /**
+     * Records the calls, and fails on the entry of the given line.
+     */
+    static final class RecordingHandler implements RecordHandler<Object, Object, Object> {
+
+        private final List<String> calls;
+        private final Integer failOn;
+
+        RecordingHandler(final List<String> calls, final Integer failOn) {
+            this.calls = calls;
+            this.failOn = failOn;
+        }
+
+        @Override
+        public void onHeader(final Object header) {
+            calls.add(String.valueOf(header));
+        }
+
+        @Override
+        public void onEntry(final Object entry, final int lineNumber) {
+            if(failOn != null && lineNumber == failOn) {
+                throw new IllegalStateException("handler failed on " + lineNumber);
+            }
+            calls.add(lineNumber + " " + entry);
+        }
+
+        @Override
+        public void onFooter(final Object footer) {
+            calls.add(String.valueOf(footer));
+        }
+
+        @Override
+        public void onComplete() {
+            calls.add("complete");
+        }
+    }
+
+    /**
+     * Delays some of the records, so that concurrent binds finish out of order.
+     */
+    public static class JitterFormat implements Format<String> {
+
+        @Override
+        public String format(final String object) {
+            return object;
+        }
+
+        @Override
+        public String parse(final String string) {
+            if(ThreadLocalRandom.current().nextInt(8) == 0) {
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextInt(100_000));
+            }
+            return string;
+        }
+    }
+
+    @FixedLengthRecord(length = 8)
+    static class Plain {
+
+        @DataField(pos = 1, length = 4)
+        int number;
+        @DataField(pos = 5, length = 4)
+        @BindyConverter(JitterFormat.class)
+        String text;
+
+        @Override
+        public String toString() {
+            return number + ":" + text;
+        }
+    }
+
+    @FixedLengthRecord(length = 8, header = Header.class, footer = Footer.class)
+    static class Framed {
+
+        @DataField(pos = 1, length = 4)
+        int number;
+        @DataField(pos = 5, length = 4)
+        @BindyConverter(JitterFormat.class)
+        String text;
+
+        @Override
+        public String toString() {
+            return number + ":" + text;
+        }
+    }
+
+    @FixedLengthRecord(length = 5)
+    static class Header {
+
+        @DataField(pos = 1, length = 5)
+        String text;
+
+        @Override
+        public String toString() {
+            return "header:" + text;
+        }
+    }
+
+    @FixedLengthRecord(length = 5)
+    static class Footer {
+
+        @DataField(pos = 1, length = 5)
+        String text;
+
+        @Override
+        public String toString() {
+            return "footer:" + text;
+        }
+    }
+
+}
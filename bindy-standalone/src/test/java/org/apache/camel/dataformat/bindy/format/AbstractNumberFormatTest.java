@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.format;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.apache.camel.dataformat.bindy.Format;
+import org.apache.camel.dataformat.bindy.FormatFactory;
+import org.apache.camel.dataformat.bindy.FormattingOptions;
+import org.apache.camel.dataformat.bindy.format.factories.DefaultFactoryRegistry;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the number parsers of {@link AbstractNumberFormat} that work on the chars of a record, against the
+ * parsers of the JDK.
+ */
+public class AbstractNumberFormatTest {
+
+    @Test
+    public void shouldParseTheBoundariesOfEachType() throws Exception {
+        assertThat(parse(byte.class, "-128")).isEqualTo((byte)-128);
+        assertThat(parse(byte.class, "127")).isEqualTo((byte)127);
+        assertThatThrownBy(() -> parse(byte.class, "128")).isInstanceOf(FormatException.class)
+                .hasMessage("Number \"128\" is out of the range [-128, 127]");
+        assertThatThrownBy(() -> parse(byte.class, "-129")).isInstanceOf(FormatException.class)
+                .hasMessage("Number \"-129\" is out of the range [-128, 127]");
+
+        assertThat(parse(short.class, "-32768")).isEqualTo((short)-32768);
+        assertThat(parse(short.class, "32767")).isEqualTo((short)32767);
+        assertThatThrownBy(() -> parse(short.class, "32768")).isInstanceOf(FormatException.class)
+                .hasMessage("Number \"32768\" is out of the range [-32768, 32767]");
+
+        assertThat(parse(int.class, "-2147483648")).isEqualTo(Integer.MIN_VALUE);
+        assertThat(parse(int.class, "2147483647")).isEqualTo(Integer.MAX_VALUE);
+        assertThatThrownBy(() -> parse(int.class, "2147483648")).isInstanceOf(FormatException.class)
+                .hasMessage("Number \"2147483648\" is out of the range [-2147483648, 2147483647]");
+        assertThatThrownBy(() -> parse(int.class, "-2147483649")).isInstanceOf(FormatException.class)
+                .hasMessage("Number \"-2147483649\" is out of the range [-2147483648, 2147483647]");
+
+        assertThat(parse(long.class, "-9223372036854775808")).isEqualTo(Long.MIN_VALUE);
+        assertThat(parse(long.class, "9223372036854775807")).isEqualTo(Long.MAX_VALUE);
+        assertThat(parse(long.class, "9223372036854775807-")).isEqualTo(-Long.MAX_VALUE);
+        assertThatThrownBy(() -> parse(long.class, "9223372036854775808")).isInstanceOf(FormatException.class)
+                .hasMessage("Number \"9223372036854775808\" is out of the range [-9223372036854775808, 9223372036854775807]");
+        assertThatThrownBy(() -> parse(long.class, "-9223372036854775809")).isInstanceOf(FormatException.class)
+                .hasMessage("Number \"-9223372036854775809\" is out of the range [-9223372036854775808, 9223372036854775807]");
+        assertThatThrownBy(() -> parse(long.class, "99999999999999999999")).isInstanceOf(FormatException.class)
+                .hasMessage("Number \"99999999999999999999\" is out of the range [-9223372036854775808, 9223372036854775807]");
+        // leading zeros do not count towards the range
+        assertThat(parse(byte.class, "0000000000000000000000127")).isEqualTo((byte)127);
+    }
+
+    @Test
+    public void shouldParseThePaddingAndTheSigns() throws Exception {
+        assertThat(parseLong("0042-")).isEqualTo(-42L);
+        assertThat(parseLong("+5")).isEqualTo(5L);
+        assertThat(parseLong("5+")).isEqualTo(5L);
+        assertThat(parseLong(" 7 ")).isEqualTo(7L);
+        assertThat(parseLong("  -0  ")).isEqualTo(0L);
+
+        assertThatThrownBy(() -> parseLong("--1")).isInstanceOf(FormatException.class)
+                .hasMessage("Invalid character '-' at index 1 of number \"--1\"");
+        assertThatThrownBy(() -> parseLong("1-2")).isInstanceOf(FormatException.class)
+                .hasMessage("Invalid character '-' at index 1 of number \"1-2\"");
+        assertThatThrownBy(() -> parseLong("-1-")).isInstanceOf(FormatException.class)
+                .hasMessage("Invalid character '-' at index 2 of number \"-1-\"");
+        assertThatThrownBy(() -> parseLong("1 2")).isInstanceOf(FormatException.class)
+                .hasMessage("Invalid character ' ' at index 1 of number \"1 2\"");
+        assertThatThrownBy(() -> parseLong("")).isInstanceOf(FormatException.class)
+                .hasMessage("No digits in number \"\"");
+        assertThatThrownBy(() -> parseLong("   ")).isInstanceOf(FormatException.class)
+                .hasMessage("No digits in number \"   \"");
+        assertThatThrownBy(() -> parseLong("-")).isInstanceOf(FormatException.class)
+                .hasMessage("No digits in number \"-\"");
+        assertThatThrownBy(() -> parseLong(" + ")).isInstanceOf(FormatException.class)
+                .hasMessage("No digits in number \" + \"");
+    }
+
+    @Test
+    public void shouldParseOnlyTheGivenChars() throws Exception {
+        final String record = "x0042-y";
+
+        assertThat(AbstractNumberFormat.parseLong(record, 1, 6, Long.MIN_VALUE, Long.MAX_VALUE)).isEqualTo(-42L);
+        assertThat(AbstractNumberFormat.parseDecimal(record, 1, 6, 0, false)).isEqualTo(-42D);
+        assertThatThrownBy(() -> AbstractNumberFormat.parseLong(record, 0, 6, Long.MIN_VALUE, Long.MAX_VALUE))
+                .isInstanceOf(FormatException.class).hasMessage("Invalid character 'x' at index 0 of number \"x0042-\"");
+    }
+
+    @Test
+    public void shouldParseDecimalsLikeTheJdk() throws Exception {
+        final Random random = new Random(42);
+        for(int i = 0; i < 100000; i++) {
+            final String number = randomNumber(random);
+            final int sign = random.nextInt(5);
+            final String record = pad(random, signed(sign, number));
+            final String message = "parsing \"" + record + "\"";
+
+            final double expectedDouble = Double.parseDouble(sign < 2 ? "-" + number : number);
+            final double actualDouble = AbstractNumberFormat.parseDecimal(record, 0, record.length(), 0, false);
+            assertThat(Double.doubleToRawLongBits(actualDouble)).as(message).isEqualTo(Double.doubleToRawLongBits(expectedDouble));
+
+            final double expectedFloat = Float.parseFloat(sign < 2 ? "-" + number : number);
+            final double actualFloat = AbstractNumberFormat.parseDecimal(record, 0, record.length(), 0, true);
+            assertThat(Double.doubleToRawLongBits(actualFloat)).as(message).isEqualTo(Double.doubleToRawLongBits(expectedFloat));
+        }
+    }
+
+    @Test
+    public void shouldRejectInvalidDecimals() {
+        for(final String invalid : new String[] { "", " ", "-", ".", "--1", "1-2", "1.2.3", "1,5", "0x10", "1e" }) {
+            assertThatThrownBy(() -> AbstractNumberFormat.parseDecimal(invalid, 0, invalid.length(), 0, false))
+                    .isInstanceOf(FormatException.class).hasMessage("Invalid number \"" + invalid + "\"");
+        }
+    }
+
+    @Test
+    public void shouldParseUnscaledValues() {
+        assertThat(parseUnscaled("-12.5", 2)).isEqualTo(-1250L);
+        assertThat(parseUnscaled(" 12.5- ", 2)).isEqualTo(-1250L);
+        assertThat(parseUnscaled("+7", 0)).isEqualTo(7L);
+        assertThat(parseUnscaled("12.", 0)).isEqualTo(12L);
+        assertThat(parseUnscaled(".5", 4)).isEqualTo(5000L);
+        assertThat(parseUnscaled("0000000000000000000000001", 0)).isEqualTo(1L);
+
+        // 18 digits, with the decimals appended to those written
+        assertThat(parseUnscaled("999999999999999999", 0)).isEqualTo(999999999999999999L);
+        assertThat(parseUnscaled("9999999999999999-", 2)).isEqualTo(-999999999999999900L);
+        assertThat(parseUnscaled("99999999999999.9", 4)).isEqualTo(999999999999999000L);
+
+        // 19 digits and more decimals than given are left to the slow path
+        assertThat(parseUnscaled("1000000000000000000", 0)).isEqualTo(AbstractNumberFormat.NOT_UNSCALED);
+        assertThat(parseUnscaled("99999999999999999", 2)).isEqualTo(AbstractNumberFormat.NOT_UNSCALED);
+        assertThat(parseUnscaled("999999999999999.9", 4)).isEqualTo(AbstractNumberFormat.NOT_UNSCALED);
+        assertThat(parseUnscaled("12.555", 2)).isEqualTo(AbstractNumberFormat.NOT_UNSCALED);
+        for(final String invalid : new String[] { "", " ", "-", ".", "--1", "1-2", "1.2.3", "1e5" }) {
+            assertThat(parseUnscaled(invalid, 2)).isEqualTo(AbstractNumberFormat.NOT_UNSCALED);
+        }
+    }
+
+    @Test
+    public void shouldParseBigDecimalsLikeTheJdk() throws Exception {
+        final Random random = new Random(42);
+        for(final boolean implied : new boolean[] { false, true }) {
+            for(final int precision : new int[] { 0, 2, 4 }) {
+                final Format<?> format = format(new FormattingOptions().forClazz(BigDecimal.class).withPrecision(precision)
+                        .withImpliedDecimalSeparator(implied));
+                for(int i = 0; i < 20000; i++) {
+                    final String number = randomNumber(random);
+                    final int sign = random.nextInt(5);
+                    final String record = pad(random, signed(sign, number));
+                    final String message = "parsing \"" + record + "\" with precision " + precision + (implied ? " implied" : "");
+
+                    Object expected;
+                    try {
+                        final BigDecimal value = new BigDecimal(sign < 2 ? "-" + number : number);
+                        expected = implied ? value.divide(BigDecimal.TEN.pow(precision), precision, RoundingMode.HALF_EVEN) : value.setScale(precision);
+                    }
+                    catch(final ArithmeticException e) {
+                        expected = e.getClass();
+                    }
+                    Object actual;
+                    try {
+                        actual = format.parse(record, 0, record.length());
+                    }
+                    catch(final ArithmeticException e) {
+                        actual = e.getClass();
+                    }
+                    assertThat(actual).as(message).isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldParseImpliedDecimalsLikeTheJdk() throws Exception {
+        final Random random = new Random(42);
+        for(final int precision : new int[] { 2, 4 }) {
+            for(int i = 0; i < 50000; i++) {
+                final String number = randomNumber(random);
+                final int sign = random.nextInt(5);
+                final String record = pad(random, signed(sign, number));
+                final String message = "parsing \"" + record + "\" with " + precision + " implied decimals";
+                final BigDecimal expected = new BigDecimal(sign < 2 ? "-" + number : number).divide(BigDecimal.TEN.pow(precision));
+
+                final double actualDouble = AbstractNumberFormat.parseDecimal(record, 0, record.length(), precision, false);
+                assertThat(actualDouble).as(message).isEqualTo(expected.doubleValue());
+
+                final double actualFloat = AbstractNumberFormat.parseDecimal(record, 0, record.length(), precision, true);
+                assertThat(actualFloat).as(message).isEqualTo((double)expected.floatValue());
+            }
+        }
+    }
+
+    @Test
+    public void shouldParseImpliedDecimalsAroundTheMaximumOfDigits() throws Exception {
+        for(final String digits : new String[] { "12345678901234567", "123456789012345678", "1234567890123456789" }) {
+            for(final int precision : new int[] { 0, 2, 4 }) {
+                final Format<?> format = format(new FormattingOptions().forClazz(BigDecimal.class).withPrecision(precision)
+                        .withImpliedDecimalSeparator(true));
+                final BigDecimal expected = new BigDecimal(digits).divide(BigDecimal.TEN.pow(precision));
+
+                assertThat(format.parse(digits, 0, digits.length())).isEqualTo(expected);
+                assertThat(format.parse("-" + digits, 0, digits.length() + 1)).isEqualTo(expected.negate());
+                assertThat(format.parse(digits + "-", 0, digits.length() + 1)).isEqualTo(expected.negate());
+                assertThat(AbstractNumberFormat.parseDecimal(digits, 0, digits.length(), precision, false)).isEqualTo(expected.doubleValue());
+            }
+        }
+    }
+
+    private static long parseUnscaled(final String string, final int decimals) {
+        return AbstractNumberFormat.parseUnscaled(string, 0, string.length(), decimals);
+    }
+
+    private static long parseLong(final String string) throws FormatException {
+        return AbstractNumberFormat.parseLong(string, 0, string.length(), Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private static Object parse(final Class<?> type, final String string) throws Exception {
+        return format(new FormattingOptions().forClazz(type)).parse(string);
+    }
+
+    private static Format<?> format(final FormattingOptions options) throws Exception {
+        final FormatFactory factory = new FormatFactory();
+        factory.setFactoryRegistry(new DefaultFactoryRegistry());
+        return factory.getFormat(options);
+    }
+
+    /**
+     * @return digits with a separator, an exponent or leading zeros at random, in the syntax of
+     *         {@link Double#parseDouble(String)}
+     */
+    private static String randomNumber(final Random random) {
+        final StringBuilder number = new StringBuilder();
+        final int zeros = random.nextInt(4) == 0 ? random.nextInt(4) : 0;
+        for(int i = 0; i < zeros; i++) {
+            number.append('0');
+        }
+        final int digits = 1 + random.nextInt(20);
+        for(int i = 0; i < digits; i++) {
+            number.append((char)('0' + random.nextInt(10)));
+        }
+        if(random.nextBoolean()) {
+            number.insert(random.nextInt(number.length() + 1), '.');
+        }
+        if(random.nextInt(10) == 0) {
+            number.append('e').append(random.nextInt(40) - 20);
+        }
+        return number.toString();
+    }
+
+    /**
+     * @return the number with a minus before or after it, a plus or no sign
+     */
+    private static String signed(final int sign, final String number) {
+        switch(sign) {
+        case 0:
+            return "-" + number;
+        case 1:
+            return number + "-";
+        case 2:
+            return "+" + number;
+        default:
+            return number;
+        }
+    }
+
+    private static String pad(final Random random, final String number) {
+        final StringBuilder padded = new StringBuilder(number);
+        for(int i = random.nextInt(3); i > 0; i--) {
+            padded.insert(0, ' ');
+        }
+        for(int i = random.nextInt(3); i > 0; i--) {
+            padded.append(' ');
+        }
+        return padded.toString();
+    }
+
+}
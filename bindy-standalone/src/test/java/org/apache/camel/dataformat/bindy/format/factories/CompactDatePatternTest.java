@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.format.factories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+
+import org.apache.camel.dataformat.bindy.Format;
+import org.apache.camel.dataformat.bindy.FormatFactory;
+import org.apache.camel.dataformat.bindy.FormattingOptions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the values read from the digits of a {@link CompactDatePattern} are those of the general formatters,
+ * and that the values the formatters resolve or reject are left to them.
+ */
+public class CompactDatePatternTest {
+
+    private static final List<String> DATE_PATTERNS = Arrays.asList("ddMMyyyy", "yyyyMMdd", "ddMMyy");
+    private static final List<String> DATE_TIME_PATTERNS = Arrays.asList("ddMMyyyyHHmmss", "yyyyMMddHHmmss", "ddMMyyHHmmss");
+
+    private static final String[] INVALID_DATES = {
+        "29022019", "29021900", "31042020", "31062020", "31092020", "31112020", "32012020", "00012020", "01002020",
+        "01132020", "01010000", "0101202 ", "01-12020"
+    };
+
+    @Test
+    public void shouldCompileOnlyTheCompactPatterns() {
+        for(final String pattern : DATE_PATTERNS) {
+            assertThat(CompactDatePattern.compile(pattern)).isNotNull();
+            assertThat(CompactDatePattern.compile(pattern + "HHmmss")).isNotNull();
+            assertThat(CompactDatePattern.compile(pattern).hasTwoDigitYear()).isEqualTo(pattern.equals("ddMMyy"));
+        }
+        assertThat(CompactDatePattern.compile("HHmmss")).isNotNull();
+        for(final String pattern : new String[] { null, "dd/MM/yyyy", "MMddyyyy", "yyMMdd", "HHmm", "ddMMyyyyHHmm", "ddMMyyyy HHmmss", "HHmmssddMMyyyy" }) {
+            assertThat(CompactDatePattern.compile(pattern)).isNull();
+        }
+    }
+
+    @Test
+    public void shouldLeaveInvalidDatesToTheFormatter() throws Exception {
+        final CompactDatePattern compact = CompactDatePattern.compile("ddMMyyyy");
+        assertThat(compact.localDate("29022020", 0, 8)).isEqualTo(LocalDate.of(2020, 2, 29));
+        assertThat(compact.localDate("29022000", 0, 8)).isEqualTo(LocalDate.of(2000, 2, 29));
+
+        final Format<?> format = format(LocalDate.class, "ddMMyyyy");
+        for(final String date : INVALID_DATES) {
+            assertThat(compact.localDate(date, 0, date.length())).as(date).isNull();
+            assertThat(outcome(() -> format.parse(date, 0, date.length())))
+                    .as(date).isEqualTo(outcome(() -> LocalDate.parse(date, DateTimeFormatter.ofPattern("ddMMyyyy"))));
+        }
+        // a value of another length than the pattern is not read from its digits
+        assertThat(compact.localDate("x29022020", 1, 8)).isNull();
+    }
+
+    @Test
+    public void shouldReadTwoDigitYearsInTheBaseYear() throws Exception {
+        final CompactDatePattern compact = CompactDatePattern.compile("ddMMyy");
+
+        assertThat(compact.localDate("010100", 0, 6)).isEqualTo(LocalDate.of(2000, 1, 1));
+        assertThat(compact.localDate("311299", 0, 6)).isEqualTo(LocalDate.of(2099, 12, 31));
+        assertThat(compact.localDate("290200", 0, 6)).isEqualTo(LocalDate.of(2000, 2, 29));
+        assertThat(compact.localDate("290201", 0, 6)).isNull();
+        assertThat(format(LocalDate.class, "ddMMyy").parse("150370", 0, 6)).isEqualTo(LocalDate.parse("150370", DateTimeFormatter.ofPattern("ddMMyy")));
+    }
+
+    @Test
+    public void shouldLeaveInvalidTimesToTheFormatter() throws Exception {
+        final CompactDatePattern compact = CompactDatePattern.compile("HHmmss");
+        assertThat(compact.localTime("000000", 0, 6)).isEqualTo(LocalTime.MIDNIGHT);
+        assertThat(compact.localTime("235959", 0, 6)).isEqualTo(LocalTime.of(23, 59, 59));
+
+        final Format<?> format = format(LocalTime.class, "HHmmss");
+        for(final String time : new String[] { "240000", "126000", "120060", "2400  ", "1a0000" }) {
+            assertThat(compact.localTime(time, 0, time.length())).as(time).isNull();
+            assertThat(outcome(() -> format.parse(time, 0, time.length())))
+                    .as(time).isEqualTo(outcome(() -> LocalTime.parse(time, DateTimeFormatter.ofPattern("HHmmss"))));
+        }
+    }
+
+    @Test
+    public void shouldReadADateFollowedByATime() throws Exception {
+        final CompactDatePattern compact = CompactDatePattern.compile("ddMMyyyyHHmmss");
+
+        assertThat(compact.localDateTime("29022020235959", 0, 14)).isEqualTo(LocalDateTime.of(2020, 2, 29, 23, 59, 59));
+        assertThat(compact.localDate("29022020235959", 0, 14)).isEqualTo(LocalDate.of(2020, 2, 29));
+        assertThat(compact.localTime("29022020235959", 0, 14)).isEqualTo(LocalTime.of(23, 59, 59));
+        // an invalid date or time leaves the whole value to the formatter
+        assertThat(compact.localDateTime("29022019235959", 0, 14)).isNull();
+        assertThat(compact.localDate("29022020240000", 0, 14)).isNull();
+        assertThat(compact.localTime("31042020120000", 0, 14)).isNull();
+        // the date part alone is not a value of the pattern
+        assertThat(compact.localDate("29022020", 0, 8)).isNull();
+    }
+
+    @Test
+    public void shouldParseLikeTheFormatters() throws Exception {
+        final Random random = new Random(42);
+        for(final String pattern : DATE_PATTERNS) {
+            final Format<?> format = format(LocalDate.class, pattern);
+            final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+            for(int i = 0; i < 5000; i++) {
+                final String value = value(pattern, randomDate(random), "");
+                assertThat(outcome(() -> format.parse(value, 0, value.length())))
+                        .as(pattern + " " + value).isEqualTo(outcome(() -> LocalDate.parse(value, formatter)));
+            }
+        }
+        for(final String pattern : DATE_TIME_PATTERNS) {
+            final Format<?> dateTimeFormat = format(LocalDateTime.class, pattern);
+            final Format<?> dateFormat = format(LocalDate.class, pattern);
+            final Format<?> timeFormat = format(LocalTime.class, pattern);
+            final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+            for(int i = 0; i < 5000; i++) {
+                final String value = value(pattern, randomDate(random), randomTime(random));
+                assertThat(outcome(() -> dateTimeFormat.parse(value, 0, value.length())))
+                        .as(pattern + " " + value).isEqualTo(outcome(() -> LocalDateTime.parse(value, formatter)));
+                assertThat(outcome(() -> dateFormat.parse(value, 0, value.length())))
+                        .as(pattern + " " + value).isEqualTo(outcome(() -> LocalDate.parse(value, formatter)));
+                assertThat(outcome(() -> timeFormat.parse(value, 0, value.length())))
+                        .as(pattern + " " + value).isEqualTo(outcome(() -> LocalTime.parse(value, formatter)));
+            }
+        }
+        final Format<?> format = format(LocalTime.class, "HHmmss");
+        for(int i = 0; i < 5000; i++) {
+            final String value = randomTime(random);
+            assertThat(outcome(() -> format.parse(value, 0, value.length())))
+                    .as("HHmmss " + value).isEqualTo(outcome(() -> LocalTime.parse(value, DateTimeFormatter.ofPattern("HHmmss"))));
+        }
+    }
+
+    @Test
+    public void shouldParseDatesLikeSimpleDateFormat() throws Exception {
+        final Random random = new Random(42);
+        // a fixed offset is read from the digits, the others and years before 1583 are left to SimpleDateFormat
+        for(final String timezone : new String[] { "UTC", "GMT+02:00", "GMT-05:30", "Europe/Paris" }) {
+            for(final String pattern : Arrays.asList("ddMMyyyy", "yyyyMMdd", "ddMMyy", "ddMMyyyyHHmmss", "yyyyMMddHHmmss", "HHmmss")) {
+                final Format<?> format = format(new FormattingOptions().forClazz(Date.class).withPattern(pattern).withTimezone(timezone));
+                final SimpleDateFormat expected = new SimpleDateFormat(pattern);
+                expected.setTimeZone(TimeZone.getTimeZone(timezone));
+                expected.setLenient(false);
+
+                for(int i = 0; i < 2000; i++) {
+                    final String value = value(pattern, randomDate(random), randomTime(random));
+                    assertThat(outcome(() -> format.parse(value, 0, value.length())))
+                            .as(timezone + " " + pattern + " " + value).isEqualTo(outcome(() -> expected.parse(value)));
+                }
+                for(final String date : INVALID_DATES) {
+                    final String value = value(pattern, date, "240000");
+                    assertThat(outcome(() -> format.parse(value, 0, value.length())))
+                            .as(timezone + " " + pattern + " " + value).isEqualTo(outcome(() -> expected.parse(value)));
+                }
+            }
+        }
+    }
+
+    private static Format<?> format(final Class<?> type, final String pattern) throws Exception {
+        return format(new FormattingOptions().forClazz(type).withPattern(pattern).withTimezone(""));
+    }
+
+    private static Format<?> format(final FormattingOptions options) throws Exception {
+        final FormatFactory factory = new FormatFactory();
+        factory.setFactoryRegistry(new DefaultFactoryRegistry());
+        return factory.getFormat(options);
+    }
+
+    /**
+     * @return the value of the call, or the type and message of its exception
+     */
+    private static Object outcome(final Callable<?> call) {
+        try {
+            return call.call();
+        }
+        catch(final Exception e) {
+            return e.getClass().getName() + ": " + e.getMessage();
+        }
+    }
+
+    /**
+     * @return the value in the pattern of the <code>ddMMyyyy</code> date and <code>HHmmss</code> time
+     */
+    private static String value(final String pattern, final String date, final String time) {
+        final String day = date.substring(0, 2);
+        final String month = date.substring(2, 4);
+        final String year = date.substring(4, 8);
+        final StringBuilder value = new StringBuilder();
+        if(pattern.startsWith("ddMMyyyy")) {
+            value.append(day).append(month).append(year);
+        }
+        else if(pattern.startsWith("yyyyMMdd")) {
+            value.append(year).append(month).append(day);
+        }
+        else if(pattern.startsWith("ddMMyy")) {
+            value.append(day).append(month).append(year, 2, 4);
+        }
+        if(pattern.endsWith("HHmmss")) {
+            value.append(time);
+        }
+        return value.toString();
+    }
+
+    /**
+     * @return a date in <code>ddMMyyyy</code>, mostly around the ends of the months and the years
+     */
+    private static String randomDate(final Random random) {
+        final int[] years = { 1, 1500, 1582, 1583, 1900, 1970, 1999, 2000, 2019, 2020, 2024, 2100, 9999 };
+        final int day = random.nextBoolean() ? 27 + random.nextInt(6) : random.nextInt(33);
+        final int month = random.nextInt(14);
+        final int year = random.nextBoolean() ? years[random.nextInt(years.length)] : random.nextInt(10000);
+        return String.format("%02d%02d%04d", day, month, year);
+    }
+
+    /**
+     * @return a time in <code>HHmmss</code>, including the hour 24 and the minute and second 60
+     */
+    private static String randomTime(final Random random) {
+        return String.format("%02d%02d%02d", random.nextInt(25), random.nextInt(61), random.nextInt(61));
+    }
+
+}
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.format.factories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.camel.dataformat.bindy.Format;
+import org.apache.camel.dataformat.bindy.FormatFactory;
+import org.apache.camel.dataformat.bindy.FormattingOptions;
+import org.apache.camel.dataformat.bindy.annotation.EnumCode;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Looks up the codes of enums in the dense table and in the hash table of {@link EnumCodes}, and compares the
+ * lookups of random chars with those of a map of the codes.
+ */
+public class EnumCodesTest {
+
+    /** codes of one or two ASCII chars, in the dense table */
+    enum Dense {
+        @EnumCode({"A", "01"})
+        ACTIVE,
+        @EnumCode("C")
+        CLOSED,
+        X
+    }
+
+    /** longer codes, in the hash table */
+    enum Hashed {
+        @EnumCode({"ACT", "A", "ACTV"})
+        ACTIVE,
+        @EnumCode("CLOSED")
+        CLOSED,
+        @EnumCode(unknown = true)
+        OTHER
+    }
+
+    /** codes of one non-ASCII char, in the hash table */
+    enum International {
+        @EnumCode({"é", "ü1"})
+        ACCENTED,
+        @EnumCode("Straße")
+        STREET,
+        @EnumCode(value = "?", unknown = true)
+        UNKNOWN
+    }
+
+    /** constants with a body are subclasses of the enum */
+    enum WithBodies {
+        @EnumCode("1")
+        ONE {
+            @Override
+            int value() {
+                return 1;
+            }
+        },
+        @EnumCode("2")
+        TWO {
+            @Override
+            int value() {
+                return 2;
+            }
+        };
+
+        abstract int value();
+    }
+
+    enum Duplicate {
+        @EnumCode("Y")
+        X,
+        Y
+    }
+
+    enum TwoUnknowns {
+        @EnumCode(unknown = true)
+        A,
+        @EnumCode(unknown = true)
+        B
+    }
+
+    @Test
+    public void shouldLookUpDenseCodes() {
+        final EnumCodes<Dense> codes = EnumCodes.of(Dense.class);
+
+        assertThat(codes.get("A", 0, 1)).isEqualTo(Dense.ACTIVE);
+        assertThat(codes.get("01", 0, 2)).isEqualTo(Dense.ACTIVE);
+        assertThat(codes.get("C", 0, 1)).isEqualTo(Dense.CLOSED);
+        assertThat(codes.get("X", 0, 1)).isEqualTo(Dense.X);
+        assertThat(codes.get("x01x", 1, 3)).isEqualTo(Dense.ACTIVE);
+        // the name of an annotated constant is not one of its codes
+        assertThat(codes.get("ACTIVE", 0, 6)).isNull();
+        for(final String miss : new String[] { "", "B", "0", "10", "AC", "é", "Aé", "éA", "001" }) {
+            assertThat(codes.get(miss, 0, miss.length())).as(miss).isNull();
+        }
+
+        assertThat(codes.format(Dense.ACTIVE)).isEqualTo("A");
+        assertThat(codes.format(Dense.X)).isEqualTo("X");
+        assertThatThrownBy(() -> codes.parse("B", 0, 1)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No enum constant " + Dense.class.getCanonicalName() + ".B");
+    }
+
+    @Test
+    public void shouldLookUpHashedCodes() {
+        final EnumCodes<Hashed> codes = EnumCodes.of(Hashed.class);
+
+        assertThat(codes.get("ACT", 0, 3)).isEqualTo(Hashed.ACTIVE);
+        assertThat(codes.get("A", 0, 1)).isEqualTo(Hashed.ACTIVE);
+        assertThat(codes.get("ACTV", 0, 4)).isEqualTo(Hashed.ACTIVE);
+        assertThat(codes.get("CLOSED", 0, 6)).isEqualTo(Hashed.CLOSED);
+        assertThat(codes.get("OTHER", 0, 5)).isEqualTo(Hashed.OTHER);
+        assertThat(codes.get("|CLOSED|", 1, 7)).isEqualTo(Hashed.CLOSED);
+        // the codes of no constant are the unknown constant
+        for(final String miss : new String[] { "", "AC", "ACTIVE", "CLOSE", "CLOSED ", "closed" }) {
+            assertThat(codes.get(miss, 0, miss.length())).as(miss).isEqualTo(Hashed.OTHER);
+            assertThat(codes.parse(miss, 0, miss.length())).as(miss).isEqualTo(Hashed.OTHER);
+        }
+
+        assertThat(codes.format(Hashed.ACTIVE)).isEqualTo("ACT");
+        assertThat(codes.format(Hashed.OTHER)).isEqualTo("OTHER");
+    }
+
+    @Test
+    public void shouldLookUpNonAsciiCodes() {
+        final EnumCodes<International> codes = EnumCodes.of(International.class);
+
+        assertThat(codes.get("é", 0, 1)).isEqualTo(International.ACCENTED);
+        assertThat(codes.get("ü1", 0, 2)).isEqualTo(International.ACCENTED);
+        assertThat(codes.get("Straße", 0, 6)).isEqualTo(International.STREET);
+        assertThat(codes.get("?", 0, 1)).isEqualTo(International.UNKNOWN);
+        assertThat(codes.get("e", 0, 1)).isEqualTo(International.UNKNOWN);
+        assertThat(codes.get("Strasse", 0, 7)).isEqualTo(International.UNKNOWN);
+        assertThat(codes.format(International.STREET)).isEqualTo("Straße");
+    }
+
+    @Test
+    public void shouldLookUpLikeAMapOfTheCodes() {
+        assertLookUpLikeAMap(Dense.class, "A01CX", 3);
+        assertLookUpLikeAMap(Hashed.class, "ACTVLOSEDHR", 7);
+        assertLookUpLikeAMap(International.class, "éü1Straße?", 7);
+    }
+
+    @Test
+    public void shouldRejectDuplicateCodes() {
+        assertThatThrownBy(() -> EnumCodes.of(Duplicate.class)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Code \"Y\" of " + Duplicate.class.getName() + ".Y is already the code of X");
+    }
+
+    @Test
+    public void shouldRejectTwoUnknownConstants() {
+        assertThatThrownBy(() -> EnumCodes.of(TwoUnknowns.class)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Both A and B of " + TwoUnknowns.class.getName() + " are the constant of the unknown codes");
+    }
+
+    @Test
+    public void shouldParseAndFormatThroughTheFactory() throws Exception {
+        final FormatFactory factory = new FormatFactory();
+        factory.setFactoryRegistry(new DefaultFactoryRegistry());
+
+        @SuppressWarnings("unchecked")
+        final Format<Dense> dense = (Format<Dense>)factory.getFormat(new FormattingOptions().forClazz(Dense.class));
+        assertThat(dense.parse("01")).isEqualTo(Dense.ACTIVE);
+        assertThat(dense.parse("[01]", 1, 3)).isEqualTo(Dense.ACTIVE);
+        assertThat(dense.format(Dense.ACTIVE)).isEqualTo("A");
+        assertThatThrownBy(() -> dense.parse("ACTIVE")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No enum constant " + Dense.class.getCanonicalName() + ".ACTIVE");
+
+        @SuppressWarnings("unchecked")
+        final Format<WithBodies> bodies = (Format<WithBodies>)factory.getFormat(new FormattingOptions().forClazz(WithBodies.class));
+        assertThat(bodies.parse("2")).isEqualTo(WithBodies.TWO);
+        assertThat(bodies.format(WithBodies.ONE)).isEqualTo("1");
+    }
+
+    /**
+     * Compares the lookups of random strings of the chars with those of a map of the codes of each constant.
+     */
+    private static <T extends Enum<T>> void assertLookUpLikeAMap(final Class<T> type, final String chars, final int maxLength) {
+        final Map<String, T> expected = new HashMap<>();
+        T unknown = null;
+        for(final T constant : type.getEnumConstants()) {
+            final EnumCode annotation;
+            try {
+                annotation = type.getDeclaredField(constant.name()).getAnnotation(EnumCode.class);
+            }
+            catch(final NoSuchFieldException e) {
+                throw new IllegalStateException(e);
+            }
+            final String[] codes = annotation != null && annotation.value().length > 0 ? annotation.value() : new String[] { constant.name() };
+            for(final String code : codes) {
+                expected.put(code, constant);
+            }
+            if(annotation != null && annotation.unknown()) {
+                unknown = constant;
+            }
+        }
+
+        final EnumCodes<T> codes = EnumCodes.of(type);
+        for(final String code : expected.keySet()) {
+            assertThat(codes.get(code, 0, code.length())).as(code).isEqualTo(expected.get(code));
+        }
+        final Random random = new Random(42);
+        for(int i = 0; i < 100000; i++) {
+            final StringBuilder code = new StringBuilder();
+            for(int length = random.nextInt(maxLength + 1); length > 0; length--) {
+                code.append(chars.charAt(random.nextInt(chars.length())));
+            }
+            final String padded = " " + code + " ";
+            assertThat(codes.get(padded, 1, padded.length() - 1)).as(code.toString()).isEqualTo(expected.getOrDefault(code.toString(), unknown));
+        }
+    }
+
+}
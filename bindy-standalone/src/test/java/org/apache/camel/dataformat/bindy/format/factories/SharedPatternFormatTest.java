@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.format.factories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.dataformat.bindy.Format;
+import org.apache.camel.dataformat.bindy.FormatFactory;
+import org.apache.camel.dataformat.bindy.FormattingOptions;
+import org.apache.camel.dataformat.bindy.format.NumberPatternFormat;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Uses one format from several threads, as the fields of a model share it, and changes its pattern or locale once the
+ * threads have cached their formatters.
+ */
+public class SharedPatternFormatTest {
+
+    private static final int THREADS = 8;
+    private static final int VALUES = 2000;
+
+    @Test
+    public void shouldParseDatesFromSeveralThreads() throws Exception {
+        for(final Class<?> type : new Class<?>[] { Date.class, LocalDate.class, LocalDateTime.class }) {
+            // not compact, so that the values go through the formatter
+            final Format<?> format = format(new FormattingOptions().forClazz(type).withPattern("dd/MM/yyyy HH:mm").withTimezone("UTC"));
+            final List<String> values = new ArrayList<>();
+            for(int i = 0; i < VALUES; i++) {
+                values.add(String.format("%02d/%02d/%04d %02d:%02d", 1 + i % 28, 1 + i % 12, 1900 + i % 200, i % 24, i % 60));
+            }
+            assertParsedLikeSequentially(format, values);
+        }
+        final Format<?> time = format(new FormattingOptions().forClazz(LocalTime.class).withPattern("HH:mm:ss").withTimezone("UTC"));
+        final List<String> times = new ArrayList<>();
+        for(int i = 0; i < VALUES; i++) {
+            times.add(String.format("%02d:%02d:%02d", i % 24, i % 60, (i / 60) % 60));
+        }
+        assertParsedLikeSequentially(time, times);
+    }
+
+    @Test
+    public void shouldUseTheNewPatternInEveryThread() throws Exception {
+        for(final Class<?> type : new Class<?>[] { Date.class, LocalDate.class, LocalDateTime.class }) {
+            final Format<?> format = format(new FormattingOptions().forClazz(type).withPattern("dd/MM/yyyy HH:mm").withTimezone("UTC"));
+            final String before = String.valueOf(format.parse("29/02/2020 10:30"));
+
+            final ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                // the other thread caches its formatter, then the pattern changes
+                assertThat(executor.submit(() -> String.valueOf(format.parse("29/02/2020 10:30"))).get()).isEqualTo(before);
+                setPattern(format, "yyyy-MM-dd HH:mm");
+                assertThat(executor.submit(() -> String.valueOf(format.parse("2020-02-29 10:30"))).get()).as(type.getName()).isEqualTo(before);
+                assertThat(String.valueOf(format.parse("2020-02-29 10:30"))).as(type.getName()).isEqualTo(before);
+            }
+            finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void shouldParseCompactDatesFromSeveralThreads() throws Exception {
+        final List<String> values = new ArrayList<>();
+        for(int i = 0; i < VALUES; i++) {
+            values.add(String.format("%02d%02d%04d%02d%02d%02d", 1 + i % 28, 1 + i % 12, 1900 + i % 200, i % 24, i % 60, (i / 60) % 60));
+        }
+        for(final Class<?> type : new Class<?>[] { Date.class, LocalDateTime.class }) {
+            assertParsedLikeSequentially(format(new FormattingOptions().forClazz(type).withPattern("ddMMyyyyHHmmss").withTimezone("UTC")), values);
+        }
+
+        // a compact pattern replacing the one of a formatter in use
+        for(final Class<?> type : new Class<?>[] { Date.class, LocalDate.class, LocalDateTime.class }) {
+            final boolean date = type == LocalDate.class;
+            final Format<?> format = format(new FormattingOptions().forClazz(type).withPattern(date ? "dd/MM/yyyy" : "dd/MM/yyyy HH:mm:ss")
+                    .withTimezone("UTC"));
+            final String before = String.valueOf(format.parse(date ? "29/02/2020" : "29/02/2020 10:30:15"));
+            assertParsedLikeSequentially(format, Collections.nCopies(THREADS, date ? "29/02/2020" : "29/02/2020 10:30:15"));
+
+            setPattern(format, date ? "yyyyMMdd" : "yyyyMMddHHmmss");
+            final List<String> compact = Collections.nCopies(THREADS, date ? "20200229" : "20200229103015");
+            assertParsedLikeSequentially(format, compact);
+            assertThat(String.valueOf(format.parse(compact.get(0)))).as(type.getName()).isEqualTo(before);
+        }
+    }
+
+    @Test
+    public void shouldParseNumbersFromSeveralThreads() throws Exception {
+        final List<String> values = new ArrayList<>();
+        for(int i = 0; i < VALUES; i++) {
+            values.add(String.format(Locale.ENGLISH, "%,d.%02d", i * 7919, i % 100));
+        }
+        for(final Class<?> type : new Class<?>[] { Double.class, Float.class, BigDecimal.class, Integer.class, Long.class }) {
+            assertParsedLikeSequentially(format(new FormattingOptions().forClazz(type).withPattern("#,##0.00").withLocale("en").withPrecision(2)
+                    .withRounding("HALF_UP")), values);
+        }
+    }
+
+    @Test
+    public void shouldUseTheNewNumberPatternAndLocaleInEveryThread() throws Exception {
+        @SuppressWarnings("unchecked")
+        final NumberPatternFormat<Double> format = (NumberPatternFormat<Double>)format(new FormattingOptions().forClazz(Double.class).withPattern("#,##0.00")
+                .withLocale("de"));
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // the other thread caches its number format, then the locale and the pattern change
+            assertThat(executor.submit(() -> format.parse("1.234,50")).get()).isEqualTo(1234.5);
+            format.setLocale(Locale.ENGLISH);
+            assertThat(executor.submit(() -> format.parse("1,234.50")).get()).isEqualTo(1234.5);
+            assertThat(executor.submit(() -> format.format(1234.5)).get()).isEqualTo("1,234.50");
+            format.setPattern("0.0#%");
+            assertThat(executor.submit(() -> format.parse("50.5%")).get()).isEqualTo(0.505);
+            assertThat(format.parse("50.5%")).isEqualTo(0.505);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Parses the values concurrently, each thread in another order, and compares the results with the sequential
+     * parse.
+     */
+    static void assertParsedLikeSequentially(final Format<?> format, final List<String> values) throws Exception {
+        final List<String> expected = new ArrayList<>();
+        for(final String value : values) {
+            expected.add(String.valueOf(format.parse(value)));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<List<String>>> results = new ArrayList<>();
+            for(int t = 0; t < THREADS; t++) {
+                final int offset = t * VALUES / THREADS;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    final String[] parsed = new String[values.size()];
+                    for(int i = 0; i < values.size(); i++) {
+                        final int index = (offset + i) % values.size();
+                        parsed[index] = String.valueOf(format.parse(values.get(index)));
+                    }
+                    return Arrays.asList(parsed);
+                }));
+            }
+            start.countDown();
+            for(final Future<List<String>> result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS)).isEqualTo(expected);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static Format<?> format(final FormattingOptions options) throws Exception {
+        final FormatFactory factory = new FormatFactory();
+        factory.setFactoryRegistry(new DefaultFactoryRegistry());
+        return factory.getFormat(options);
+    }
+
+    /**
+     * Calls the <code>setPattern</code> of the format, whose class is private to its factory.
+     */
+    private static void setPattern(final Format<?> format, final String pattern) throws Exception {
+        final Method setPattern = format.getClass().getMethod("setPattern", String.class);
+        setPattern.setAccessible(true);
+        setPattern.invoke(format, pattern);
+    }
+
+}
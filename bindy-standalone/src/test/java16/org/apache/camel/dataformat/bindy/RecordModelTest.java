@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.camel.dataformat.bindy.accessor.Records;
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+import org.apache.camel.dataformat.bindy.annotation.FixedLengthRecord;
+import org.apache.camel.dataformat.bindy.fixed.BindyFixedLengthDataFormat;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Binds Java records through their canonical constructor. Compiled by the <code>java16</code> profile, together with
+ * the Java 16 version of {@link Records} which the tests see instead of the one in the classes directory.
+ */
+public class RecordModelTest {
+
+    @FixedLengthRecord(length = 13)
+    record Point(
+            @DataField(pos = 9, length = 5, trim = true, align = "L") boolean active,
+            @DataField(pos = 1, length = 4) int number,
+            @DataField(pos = 5, length = 4, trim = true) String text) {
+
+        Point {
+            if(number < 0) {
+                throw new IllegalArgumentException("negative " + number);
+            }
+        }
+    }
+
+    @Test
+    public void shouldDescribeTheComponents() throws Exception {
+        assertThat(Arrays.asList(Records.componentNames(Point.class))).containsExactly("active", "number", "text");
+        assertThat(Records.componentNames(String.class)).isNull();
+
+        final ModelConstructor constructor = ModelConstructor.of(Point.class);
+        assertThat(constructor.parameterCount).isEqualTo(3);
+        assertThat(constructor.argument(Point.class.getDeclaredField("number"))).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldBindThroughTheCanonicalConstructor() throws Exception {
+        for(final BindingStrategy strategy : BindingStrategy.values()) {
+            assertThat(unmarshal(strategy, null, "0042abcdtrue ", "0007    false", "-001abcdtrue ")).as(strategy.name())
+                    .containsExactly("Point[active=true, number=42, text=abcd]", "Point[active=false, number=7, text=]", "ERR negative -1");
+        }
+    }
+
+    @Test
+    public void shouldPassDefaultsForTheComponentsOfUnprojectedFields() throws Exception {
+        for(final BindingStrategy strategy : BindingStrategy.values()) {
+            assertThat(unmarshal(strategy, Arrays.asList("text"), "0042abcdtrue ")).as(strategy.name())
+                    .containsExactly("Point[active=false, number=0, text=abcd]");
+        }
+    }
+
+    /**
+     * @return the string of the entry of each line, or <code>ERR</code> and the message of the error
+     */
+    private static List<String> unmarshal(final BindingStrategy strategy, final List<String> projection, final String... lines) {
+        final List<String> results = new ArrayList<>();
+        for(final String line : lines) {
+            final BindyFixedLengthDataFormat<Point, Void, Void> format = new BindyFixedLengthDataFormat<>(Point.class, Void.class, Void.class);
+            format.setBindingStrategy(strategy);
+            format.setProjection(projection, null);
+            try {
+                results.add(String.valueOf(format.unmarshal(new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8))).getEntries().get(0)));
+            }
+            catch(final Exception e) {
+                results.add("ERR " + e.getMessage());
+            }
+        }
+        return results;
+    }
+
+}
@@ -18,20 +18,17 @@ package io.github.valters.bindy.example;
 
 import static java.util.Objects.requireNonNull;
 
-import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.InputStream;
-import java.util.List;
 
-import org.apache.camel.dataformat.bindy.BindyExchange;
+import org.apache.camel.dataformat.bindy.RecordHandler;
 import org.apache.camel.dataformat.bindy.fixed.BindyFixedLengthDataFormat;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Bindy accepts an input stream: this parser handles providing the stream from the input file.
+ * Bindy accepts an input stream or a file path: this parser handles providing the input, and collects the parsed records.
  */
 public class ExampleParser {
 
@@ -52,9 +49,10 @@ public class ExampleParser {
                 "Please investigate the root cause. (For example, maybe error occurred during file transmission, or issue was caused by running out of disk space.)",
                 file);
 
-        try(InputStream in = new BufferedInputStream(new FileInputStream(file))) {
-
-            return parseStream(new ExampleParseContext(file), in);
+        try {
+            final ExampleParseContext ctx = new ExampleParseContext(file);
+            ExampleParser.PARSER.unmarshal(file.toPath(), handler(ctx));
+            return ctx;
         }
         catch(final Exception e) {
             throw new RuntimeException("Error, failed while parsing file [" + file + "], please see cause exception.", e);
@@ -64,29 +62,37 @@ public class ExampleParser {
 
     protected ExampleParseContext parseStream(final ExampleParseContext ctx, final InputStream in) throws Exception {
 
-        final BindyExchange<ExampleRecord, ExampleHeader, ExampleFooter> res = ExampleParser.PARSER.unmarshal(in);
-        ctx.header = res.getHeader();
-        ctx.footer = res.getFooter();
+        ExampleParser.PARSER.unmarshal(in, handler(ctx));
 
-        return translateList(ctx, res.getEntries());
+        return ctx;
     }
 
-    protected ExampleParseContext translateList(final ExampleParseContext context, final List<ExampleRecord> records) {
-
-        requireNonNull(records, "records argument may not be null");
+    private RecordHandler<ExampleRecord, ExampleHeader, ExampleFooter> handler(final ExampleParseContext ctx) {
 
-        log.info("start processing {} record(s)", records.size());
+        return new RecordHandler<ExampleRecord, ExampleHeader, ExampleFooter>() {
 
-        for(final ExampleRecord rec : records) {
+            @Override
+            public void onHeader(final ExampleHeader header) {
+                ctx.header = header;
+            }
 
-            requireNonNull(rec, "record may not be null");
+            @Override
+            public void onEntry(final ExampleRecord rec, final int lineNumber) {
+                requireNonNull(rec, "record may not be null");
 
-            context.entries.add(rec);
-        }
+                ctx.entries.add(rec);
+            }
 
-        log.info("{} record(s) parsed", context.entries.size());
+            @Override
+            public void onFooter(final ExampleFooter footer) {
+                ctx.footer = footer;
+            }
 
-        return context;
+            @Override
+            public void onComplete() {
+                log.info("{} record(s) parsed", ctx.entries.size());
+            }
+        };
     }
 
 }
@@ -48,7 +48,7 @@ public class ExampleRecord {
     @DataField(pos = 22, length = 7, paddingChar = '.')
     String field4;
 
-    @DataField(pos = 29, length = 8, paddingChar = '.')
+    @DataField(pos = 29, length = 7, paddingChar = '.')
     String field5;
 
 }
@@ -16,6 +16,7 @@
  */
 package io.github.valters.bindy.example;
 
+import org.apache.camel.dataformat.bindy.BindyStream;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -54,6 +55,37 @@ public class ExampleParserIT {
     }
 
 
+    @Test
+    public void shouldParseExampleFile() throws Exception {
+
+        ExampleParseContext ctx = service.parseFile(new File(getResource("sample.cnab").toURI()));
+
+        assertThat(ctx.header.field2).isEqualTo("IS.");
+        assertThat(ctx.footer.field2).isEqualTo("BE...");
+        assertThat(ctx.entries).hasSize(1);
+        assertThat(ctx.entries.get(0).field5).isEqualTo("ITSELF.");
+    }
+
+
+    @Test
+    public void shouldStreamExampleFixture() throws Exception {
+
+        try (BindyStream<ExampleRecord, ExampleHeader, ExampleFooter> records = ExampleParser.PARSER.unmarshalStream(getResource("sample.cnab").openStream())) {
+
+            assertThat(records.getHeader().field1).isEqualTo("THIS.");
+            assertThat(records.getFooter()).isNull();
+
+            assertThat(records.hasNext()).isTrue();
+            ExampleRecord rec = records.next();
+            assertThat(rec.field1).isEqualTo("AND....");
+            assertThat(records.getLineNumber()).isEqualTo(2);
+
+            assertThat(records.hasNext()).isFalse();
+            assertThat(records.getFooter().field1).isEqualTo("HERE...");
+        }
+    }
+
+
     public URL getResource(final String classpathResource) {
 
         return requireNonNull(Thread.currentThread().getContextClassLoader().getResource(classpathResource),